@@ -0,0 +1,71 @@
+package interview;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * GradeCalculator reduction kernels, scalar loops versus the Vector API.
+ * The jmh profile starts the JVM with the incubator module, so "vector"
+ * is VectorKernels; with -Dinterview.simd=false both rows are scalar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GradeKernelBenchmark {
+
+    @Param({"1000", "1000000"})
+    public int size;
+
+    @Param({"scalar", "vector"})
+    public String kernels;
+
+    private DoubleKernels impl;
+    private double[] gpas;
+    private double[] credits;
+
+    @Setup
+    public void setUp() {
+        impl = kernels.equals("scalar") ? DoubleKernels.scalar() : DoubleKernels.best();
+        Random random = new Random(1);
+        gpas = new double[size];
+        credits = new double[size];
+        for (int i = 0; i < size; i++) {
+            gpas[i] = random.nextInt(401) / 100.0;
+            credits[i] = 1 + random.nextInt(5);
+        }
+    }
+
+    @Benchmark
+    public double sum() {
+        return impl.sum(gpas);
+    }
+
+    @Benchmark
+    public double dot() {
+        return impl.dot(gpas, credits);
+    }
+
+    @Benchmark
+    public double minMax() {
+        return impl.min(gpas) + impl.max(gpas);
+    }
+
+    @Benchmark
+    public int countAtLeast() {
+        return impl.countAtLeast(gpas, 3.5);
+    }
+}
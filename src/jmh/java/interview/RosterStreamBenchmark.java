@@ -0,0 +1,67 @@
+package interview;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Filter and aggregate throughput of roster streams: copying getAllStudents()
+ * first versus streaming the roster directly, sequentially and in parallel.
+ * For scaling runs, vary the common pool size with
+ * -jvmArgsAppend -Djava.util.concurrent.ForkJoinPool.common.parallelism=N.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RosterStreamBenchmark {
+
+    @Param({"1000000"})
+    public int size;
+
+    private StudentManager manager;
+
+    @Setup
+    public void setUp() {
+        manager = new StudentManager();
+        for (int i = 0; i < size; i++) {
+            manager.addStudent(new Student("S" + i, 18 + i % 40, Math.floorMod(i * 7919, 401) / 100.0));
+        }
+    }
+
+    @Benchmark
+    public long copyThenFilter() {
+        return manager.getAllStudents().stream().filter(Student::isHonorRoll).count();
+    }
+
+    @Benchmark
+    public long streamFilter() {
+        return manager.stream().filter(Student::isHonorRoll).count();
+    }
+
+    @Benchmark
+    public long parallelStreamFilter() {
+        return manager.parallelStream().filter(Student::isHonorRoll).count();
+    }
+
+    @Benchmark
+    public double streamAverage() {
+        return manager.stream().mapToDouble(Student::getGpa).average().orElse(0);
+    }
+
+    @Benchmark
+    public double parallelStreamAverage() {
+        return manager.parallelStream().mapToDouble(Student::getGpa).average().orElse(0);
+    }
+}
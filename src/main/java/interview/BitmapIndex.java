@@ -0,0 +1,151 @@
+package interview;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compressed bitmaps over roster row numbers for the low-cardinality
+ * predicates: honor roll, passing, graduate type, PhD and each academic
+ * standing. Compound conditions become bitmap AND / OR / AND NOT and a
+ * count is the result's cardinality, so no Student method is called.
+ *
+ * The index is built on first use and then kept current: appends and setter
+ * changes update single bits, while removals and reloads (which renumber
+ * rows) mark it stale until the next lookup rebuilds it.
+ */
+final class BitmapIndex implements QueryIndex {
+    // Marks a student object that occupies more than one row
+    private static final int SHARED = -1;
+
+    private CompressedBitmap all;
+    private CompressedBitmap honors;
+    private CompressedBitmap passing;
+    private CompressedBitmap grad;
+    private CompressedBitmap phd;
+    private final CompressedBitmap[] standings = new CompressedBitmap[RosterSummary.STANDINGS.length];
+    private final Map<Student, Integer> rows = new IdentityHashMap<>();
+    private boolean current;
+
+    @Override
+    public String getName() {
+        return "bitmap";
+    }
+
+    // Rebuild from the roster if rows were renumbered since the last build
+    void refresh(List<Student> roster) {
+        if (current) {
+            return;
+        }
+        all = CompressedBitmap.range(0, roster.size());
+        honors = new CompressedBitmap();
+        passing = new CompressedBitmap();
+        grad = new CompressedBitmap();
+        phd = new CompressedBitmap();
+        for (int i = 0; i < standings.length; i++) {
+            standings[i] = new CompressedBitmap();
+        }
+        rows.clear();
+        for (int row = 0; row < roster.size(); row++) {
+            index(row, roster.get(row));
+        }
+        current = true;
+    }
+
+    // Rows are about to be renumbered (remove or load)
+    void invalidate() {
+        current = false;
+        rows.clear();
+    }
+
+    // A student was appended at the given row
+    void added(int row, Student student) {
+        if (current) {
+            all.add(row);
+            index(row, student);
+        }
+    }
+
+    // A student already in the roster had a field set
+    void changed(Student student, StudentField field) {
+        if (!current || field == StudentField.NAME || field == StudentField.AGE
+                || field == StudentField.THESIS_TITLE || field == StudentField.ADVISOR) {
+            return;
+        }
+        Integer row = rows.get(student);
+        if (row == null) {
+            return;
+        }
+        if (row == SHARED) {
+            invalidate();
+            return;
+        }
+        set(row, student);
+    }
+
+    // Rows of honor roll students (the index must be refreshed first)
+    CompressedBitmap getHonorRoll() {
+        return honors;
+    }
+
+    @Override
+    public CompressedBitmap lookup(Query.Comparison comparison) {
+        if (!current) {
+            return null;
+        }
+        Query.Op op = comparison.getOp();
+        switch (comparison.getField()) {
+            case HONORS:
+                return select(honors, op == Query.Op.EQ ? comparison.getBool() : !comparison.getBool());
+            case PASSING:
+                return select(passing, op == Query.Op.EQ ? comparison.getBool() : !comparison.getBool());
+            case PHD:
+                return select(phd, op == Query.Op.EQ ? comparison.getBool() : !comparison.getBool());
+            case TYPE: {
+                if (op != Query.Op.EQ && op != Query.Op.NE) {
+                    return null;
+                }
+                String type = comparison.getText();
+                CompressedBitmap matches = type.equalsIgnoreCase("grad") ? grad
+                        : type.equalsIgnoreCase("student") ? CompressedBitmap.andNot(all, grad)
+                        : new CompressedBitmap();
+                return select(matches, op == Query.Op.EQ);
+            }
+            case STANDING: {
+                if (op != Query.Op.EQ && op != Query.Op.NE) {
+                    return null;
+                }
+                CompressedBitmap matches = new CompressedBitmap();
+                for (int i = 0; i < standings.length; i++) {
+                    if (RosterSummary.STANDINGS[i].equalsIgnoreCase(comparison.getText())) {
+                        matches = standings[i];
+                    }
+                }
+                return select(matches, op == Query.Op.EQ);
+            }
+            default:
+                return null;
+        }
+    }
+
+    private CompressedBitmap select(CompressedBitmap matches, boolean wanted) {
+        return wanted ? matches : CompressedBitmap.andNot(all, matches);
+    }
+
+    private void index(int row, Student student) {
+        set(row, student);
+        rows.merge(student, row, (previous, ignored) -> SHARED);
+    }
+
+    private void set(int row, Student student) {
+        honors.set(row, student.isHonorRoll());
+        passing.set(row, student.isPassing());
+        boolean graduate = student instanceof GraduateStudent;
+        grad.set(row, graduate);
+        phd.set(row, graduate && ((GraduateStudent) student).isPhD());
+        String standing = student.getAcademicStanding();
+        for (int i = 0; i < standings.length; i++) {
+            standings[i].set(row, RosterSummary.STANDINGS[i].equals(standing));
+        }
+    }
+}
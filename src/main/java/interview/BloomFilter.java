@@ -0,0 +1,67 @@
+package interview;
+
+/**
+ * Bloom filter over 32-bit hash codes. mightContain() never returns false
+ * for a hash that was added; it returns true for a hash that was not added
+ * with roughly the false-positive rate the filter was sized for. Entries
+ * cannot be removed, so owners rebuild the filter when it fills up.
+ */
+final class BloomFilter {
+    private final long[] words;
+    private final long bits;
+    private final int hashes;
+    private final int capacity;
+    private int insertions;
+
+    BloomFilter(int capacity, double falsePositiveRate) {
+        if (capacity <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Invalid Bloom filter size: " + capacity + ", " + falsePositiveRate);
+        }
+        long m = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.words = new long[(int) ((m + 63) >>> 6)];
+        this.bits = words.length * 64L;
+        this.hashes = Math.max(1, (int) Math.round((double) bits / capacity * Math.log(2)));
+        this.capacity = capacity;
+    }
+
+    void add(int hash) {
+        long z = mix(hash);
+        int h1 = (int) z;
+        int h2 = (int) (z >>> 32);
+        for (int i = 0; i < hashes; i++) {
+            long bit = ((h1 + i * h2) & Integer.MAX_VALUE) % bits;
+            words[(int) (bit >>> 6)] |= 1L << bit;
+        }
+        insertions++;
+    }
+
+    boolean mightContain(int hash) {
+        long z = mix(hash);
+        int h1 = (int) z;
+        int h2 = (int) (z >>> 32);
+        for (int i = 0; i < hashes; i++) {
+            long bit = ((h1 + i * h2) & Integer.MAX_VALUE) % bits;
+            if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // More insertions than the filter was sized for: the false-positive rate is degrading
+    boolean isFull() {
+        return insertions > capacity;
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    // Spread the bits of a hash code (SplitMix64 finalizer)
+    private static long mix(int hash) {
+        long z = hash * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,203 @@
+package interview;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import interview.OperationStats.Operation;
+
+/**
+ * Writes roster checkpoints on a background thread so save requests cost
+ * the caller no more than pinning a {@link RosterSnapshot}.
+ *
+ * Each checkpoint serializes its snapshot into a temporary file next to the
+ * target, forces it to disk and renames it over the target in one atomic
+ * step ({@link RosterFile#replace}), so readers of the file only ever see a
+ * complete snapshot, then removes the delta files written against the file
+ * it replaced. At most one checkpoint is being written and one more waits
+ * per file (double buffering): a request that arrives while another is still
+ * waiting replaces that one's snapshot with its newer one and shares its
+ * future.
+ */
+final class Checkpointer {
+
+    private static final class Pending {
+        RosterSnapshot snapshot;
+        final CompletableFuture<RosterSummary> future = new CompletableFuture<>();
+    }
+
+    private final Supplier<RosterSnapshot> snapshots;
+    private final OperationStats stats;
+    private final ScheduledExecutorService worker;
+    private final Map<Path, Pending> pending = new LinkedHashMap<>();
+    private boolean writing;
+    private ScheduledFuture<?> schedule;
+    // Version of the last snapshot requested per file, so the schedule skips unchanged rosters
+    private final Map<Path, Long> requestedVersions = new LinkedHashMap<>();
+    private long written;
+    private long coalesced;
+    private long skipped;
+    private long failed;
+    private long lastNanos;
+    private Throwable lastError;
+
+    Checkpointer(Supplier<RosterSnapshot> snapshots, OperationStats stats) {
+        this.snapshots = snapshots;
+        this.stats = stats;
+        this.worker = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "roster-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Checkpoint the roster as it is now; completes once the file has been replaced
+     */
+    CompletableFuture<RosterSummary> request(Path target) {
+        return request(target, snapshots.get());
+    }
+
+    private synchronized CompletableFuture<RosterSummary> request(Path target, RosterSnapshot snapshot) {
+        requestedVersions.put(target, snapshot.getVersion());
+        Pending waiting = pending.get(target);
+        if (waiting != null) {
+            waiting.snapshot.close();
+            waiting.snapshot = snapshot;
+            coalesced++;
+            return waiting.future;
+        }
+        waiting = new Pending();
+        waiting.snapshot = snapshot;
+        pending.put(target, waiting);
+        if (!writing) {
+            writing = true;
+            worker.execute(this::drain);
+        }
+        return waiting.future;
+    }
+
+    // Worker loop: write waiting checkpoints until none are left
+    private void drain() {
+        while (true) {
+            Path target;
+            Pending next;
+            synchronized (this) {
+                Iterator<Map.Entry<Path, Pending>> it = pending.entrySet().iterator();
+                if (!it.hasNext()) {
+                    writing = false;
+                    notifyAll();
+                    return;
+                }
+                Map.Entry<Path, Pending> entry = it.next();
+                it.remove();
+                target = entry.getKey();
+                next = entry.getValue();
+            }
+            write(target, next);
+        }
+    }
+
+    private void write(Path target, Pending checkpoint) {
+        long start = System.nanoTime();
+        long statsStart = stats.start();
+        RosterPersistenceEvent event = RosterPersistenceEvent.start();
+        long version = checkpoint.snapshot.getVersion();
+        try (RosterSnapshot snapshot = checkpoint.snapshot) {
+            RosterSummary summary = RosterFile.replace(target, snapshot);
+            // The new base has its own id, so older deltas no longer apply to it
+            DeltaFile.deleteAll(target);
+            stats.record(Operation.CHECKPOINT, statsStart);
+            event.finish("checkpoint", target, summary.getCount());
+            synchronized (this) {
+                written++;
+                lastNanos = System.nanoTime() - start;
+            }
+            checkpoint.future.complete(summary);
+        } catch (IOException | RuntimeException e) {
+            synchronized (this) {
+                failed++;
+                lastError = e;
+                // Let the next scheduled round retry this version instead of skipping it
+                requestedVersions.remove(target, version);
+            }
+            checkpoint.future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Checkpoint every period, skipping rounds where the roster has not changed
+     * since the last request for the file (unless that checkpoint failed).
+     * Replaces any earlier schedule.
+     */
+    synchronized void schedule(Path target, long period, TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("Checkpoint period must be positive");
+        }
+        cancelSchedule();
+        schedule = worker.scheduleAtFixedRate(() -> {
+            RosterSnapshot snapshot = snapshots.get();
+            synchronized (this) {
+                Long last = requestedVersions.get(target);
+                if (last != null && last == snapshot.getVersion()) {
+                    skipped++;
+                    snapshot.close();
+                    return;
+                }
+            }
+            request(target, snapshot);
+        }, period, period, unit);
+    }
+
+    synchronized void cancelSchedule() {
+        if (schedule != null) {
+            schedule.cancel(false);
+            schedule = null;
+        }
+    }
+
+    synchronized boolean isScheduled() {
+        return schedule != null;
+    }
+
+    /**
+     * Wait until every requested checkpoint has been written (or has failed)
+     */
+    synchronized void awaitIdle() throws InterruptedException {
+        while (writing) {
+            wait();
+        }
+    }
+
+    synchronized long getWritten() {
+        return written;
+    }
+
+    synchronized long getCoalesced() {
+        return coalesced;
+    }
+
+    synchronized long getFailed() {
+        return failed;
+    }
+
+    synchronized Throwable getLastError() {
+        return lastError;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("Checkpoints: %d written, %d coalesced, %d unchanged rounds skipped, %d failed%s%s%s",
+                written, coalesced, skipped, failed,
+                written > 0 ? String.format(", last took %.1f ms", lastNanos / 1e6) : "",
+                schedule != null ? ", scheduled" : "",
+                writing ? ", writing" : "");
+    }
+}
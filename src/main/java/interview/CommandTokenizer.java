@@ -0,0 +1,56 @@
+package interview;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a command line into arguments with a single character scan.
+ *
+ * Whitespace separates arguments and double quotes group several words into
+ * one argument, so "addgrad Jane 25 3.9 \"AI Research\" \"Dr. Smith\" true"
+ * yields seven arguments. An instance reuses its buffers between lines and is
+ * not thread-safe.
+ */
+public final class CommandTokenizer {
+    private static final String[] NO_TOKENS = new String[0];
+
+    private final List<String> tokens = new ArrayList<>();
+    private final StringBuilder current = new StringBuilder(64);
+
+    /**
+     * Split a line into arguments, returning an empty array for a blank line
+     */
+    public String[] tokenize(CharSequence line) {
+        tokens.clear();
+        current.setLength(0);
+
+        boolean inQuotes = false;
+        boolean inToken = false;
+        int length = line.length();
+
+        for (int i = 0; i < length; i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                inQuotes = !inQuotes;
+                inToken = true;
+            } else if (!inQuotes && Character.isWhitespace(c)) {
+                if (inToken) {
+                    tokens.add(current.toString());
+                    current.setLength(0);
+                    inToken = false;
+                }
+            } else {
+                current.append(c);
+                inToken = true;
+            }
+        }
+
+        if (inQuotes) {
+            throw new IllegalArgumentException("Unterminated quote in: " + line);
+        }
+        if (inToken) {
+            tokens.add(current.toString());
+        }
+        return tokens.isEmpty() ? NO_TOKENS : tokens.toArray(NO_TOKENS);
+    }
+}
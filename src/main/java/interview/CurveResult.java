@@ -0,0 +1,64 @@
+package interview;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Output of GradeCurve.curveAll: curved scores and letter grades per
+ * section, the overall letter distribution and how fast it was produced.
+ */
+public final class CurveResult {
+    private final double[][] curved;
+    private final String[][] letters;
+    private final long[] letterCounts;
+    private final long scores;
+    private final long nanos;
+
+    CurveResult(double[][] curved, String[][] letters, long[] letterCounts, long scores, long nanos) {
+        this.curved = curved;
+        this.letters = letters;
+        this.letterCounts = letterCounts;
+        this.scores = scores;
+        this.nanos = nanos;
+    }
+
+    public int getSectionCount() {
+        return curved.length;
+    }
+
+    // Curved percentages of one section, in the order the scores were given
+    public double[] getCurvedScores(int section) {
+        return curved[section];
+    }
+
+    public String[] getLetterGrades(int section) {
+        return letters[section];
+    }
+
+    // Letter -> number of scores that earned it, best letter first, over all sections
+    public Map<String, Long> getDistribution() {
+        Map<String, Long> distribution = new LinkedHashMap<>();
+        for (int i = 0; i < letterCounts.length; i++) {
+            distribution.put(GradeCalculator.LETTER_GRADES[i], letterCounts[i]);
+        }
+        return distribution;
+    }
+
+    public long getScoreCount() {
+        return scores;
+    }
+
+    public long getElapsedNanos() {
+        return nanos;
+    }
+
+    public double getScoresPerSecond() {
+        return nanos > 0 ? scores * 1e9 / nanos : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Curved %d scores in %d sections in %.1f ms (%.0f scores/sec)",
+                scores, curved.length, nanos / 1e6, getScoresPerSecond());
+    }
+}
@@ -0,0 +1,197 @@
+package interview;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Required-GPA and Dean's List projection for a whole roster at once: the
+ * batch form of {@link GradeCalculator#calculateRequiredGPA} and
+ * {@link GradeCalculator#canMakeDeansList}.
+ *
+ * The roster is read once into primitive columns (name, current GPA,
+ * completed credits); the projection itself is a straight arithmetic
+ * pass over those columns, split across the common fork-join pool. Results
+ * are streamed out as CSV, one row per student, without building a string
+ * per value.
+ */
+public final class DeansListProjection {
+    // Rows are handed to the parallel pass in chunks of this size
+    private static final int CHUNK = 16_384;
+
+    private final String[] names;
+    private final double[] gpas;
+    private final int[] credits;
+    private final double[] required;
+    private final boolean[] feasible;
+    private final int remainingCredits;
+    private final double minimum;
+    private final int feasibleCount;
+    private final long nanos;
+
+    private DeansListProjection(String[] names, double[] gpas, int[] credits, double[] required, boolean[] feasible,
+                                int remainingCredits, double minimum, int feasibleCount, long nanos) {
+        this.names = names;
+        this.gpas = gpas;
+        this.credits = credits;
+        this.required = required;
+        this.feasible = feasible;
+        this.remainingCredits = remainingCredits;
+        this.minimum = minimum;
+        this.feasibleCount = feasibleCount;
+        this.nanos = nanos;
+    }
+
+    /**
+     * Project every student: the GPA needed over remainingCredits more credits
+     * to reach minimum, and whether that is at most 4.0. completedCredits
+     * gives each student's credits so far (e.g. Gradebook::getCredits).
+     */
+    public static DeansListProjection run(List<Student> roster, ToIntFunction<? super Student> completedCredits,
+                                          int remainingCredits, double minimum) {
+        if (remainingCredits < 0) {
+            throw new IllegalArgumentException("Remaining credits cannot be negative");
+        }
+        if (minimum < 0.0 || minimum > 4.0) {
+            throw new IllegalArgumentException("GPA must be between 0.0 and 4.0");
+        }
+        long start = System.nanoTime();
+        int n = roster.size();
+        String[] names = new String[n];
+        double[] gpas = new double[n];
+        int[] credits = new int[n];
+        for (int i = 0; i < n; i++) {
+            Student s = roster.get(i);
+            names[i] = s.getName();
+            gpas[i] = s.getGpa();
+            credits[i] = completedCredits.applyAsInt(s);
+            if (credits[i] < 0) {
+                throw new IllegalArgumentException("Credits cannot be negative: " + names[i]);
+            }
+        }
+
+        double[] required = new double[n];
+        boolean[] feasible = new boolean[n];
+        int feasibleCount = IntStream.range(0, (n + CHUNK - 1) / CHUNK).parallel()
+                .map(chunk -> project(gpas, credits, required, feasible, chunk * CHUNK,
+                        Math.min(n, (chunk + 1) * CHUNK), remainingCredits, minimum))
+                .sum();
+        return new DeansListProjection(names, gpas, credits, required, feasible, remainingCredits, minimum,
+                feasibleCount, System.nanoTime() - start);
+    }
+
+    // Project rows [from, to); returns how many can make the list
+    private static int project(double[] gpas, int[] credits, double[] required, boolean[] feasible,
+                               int from, int to, int remaining, double minimum) {
+        int count = 0;
+        if (remaining == 0) {
+            // No courses left: the current GPA has to stand on its own
+            for (int i = from; i < to; i++) {
+                required[i] = minimum;
+                feasible[i] = gpas[i] >= minimum;
+                count += feasible[i] ? 1 : 0;
+            }
+            return count;
+        }
+        for (int i = from; i < to; i++) {
+            double target = minimum * (credits[i] + remaining);
+            required[i] = (target - gpas[i] * credits[i]) / remaining;
+            feasible[i] = required[i] <= 4.0;
+            count += feasible[i] ? 1 : 0;
+        }
+        return count;
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public String getName(int row) {
+        return names[row];
+    }
+
+    // GPA needed over the remaining credits; at most 0 means already assured, above 4.0 means out of reach
+    public double getRequiredGpa(int row) {
+        return required[row];
+    }
+
+    public boolean canMakeDeansList(int row) {
+        return feasible[row];
+    }
+
+    public int getFeasibleCount() {
+        return feasibleCount;
+    }
+
+    public long getElapsedNanos() {
+        return nanos;
+    }
+
+    /**
+     * Stream the projection as CSV rows of name,gpa,credits,required_gpa,deans_list
+     * (names quoted when needed, RFC 4180); returns the number of rows written
+     */
+    public int writeTo(Writer writer) throws IOException {
+        StringBuilder line = new StringBuilder(64);
+        writer.write("name,gpa,credits,required_gpa,deans_list\n");
+        for (int i = 0; i < names.length; i++) {
+            line.setLength(0);
+            appendCsvField(line, names[i]).append(',');
+            appendHundredths(line, gpas[i]).append(',').append(credits[i]).append(',');
+            appendHundredths(line, required[i]).append(',').append(feasible[i]).append('\n');
+            writer.append(line);
+        }
+        writer.flush();
+        return names.length;
+    }
+
+    public int writeTo(Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            return writeTo(writer);
+        }
+    }
+
+    // A field quoted per RFC 4180 when it holds a comma, quote or line break
+    private static StringBuilder appendCsvField(StringBuilder sb, String field) {
+        boolean quote = false;
+        for (int i = 0; i < field.length() && !quote; i++) {
+            char c = field.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            return sb.append(field);
+        }
+        sb.append('"');
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == '"') {
+                sb.append('"');
+            }
+            sb.append(c);
+        }
+        return sb.append('"');
+    }
+
+    // Two decimal places without going through String.format
+    private static StringBuilder appendHundredths(StringBuilder sb, double value) {
+        long hundredths = Math.round(value * 100);
+        if (hundredths < 0) {
+            sb.append('-');
+            hundredths = -hundredths;
+        }
+        long fraction = hundredths % 100;
+        return sb.append(hundredths / 100).append('.').append(fraction < 10 ? "0" : "").append(fraction);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d of %d students can make the Dean's List (%.2f) with %d more credits; projected in %.1f ms",
+                feasibleCount, names.length, minimum, remainingCredits, nanos / 1e6);
+    }
+}
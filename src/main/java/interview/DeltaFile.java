@@ -0,0 +1,209 @@
+package interview;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incremental change files that extend a RosterFile base snapshot.
+ *
+ * A delta holds only the records changed since the previous delta (or the
+ * base), keyed by record id: base rows have ids 0..n-1 in file order and
+ * students added later get fresh ids. Deltas sit next to the base as
+ * {@code <base>.delta1}, {@code <base>.delta2}, ... and are applied in that
+ * order. Layout:
+ * <pre>
+ *   header  magic "RDLT", format version, base fingerprint, sequence number
+ *   body    Java serialization stream of (kind, id[, Student]) entries, ending with kind 0
+ * </pre>
+ * A delta names the base it extends by fingerprint (the base id in its
+ * footer), so deltas left over from an older base are ignored even when
+ * that base was rewritten with the same contents. Each file is written to a temporary name
+ * and renamed into place, so a delta is either complete or absent.
+ */
+final class DeltaFile {
+    static final int MAGIC = 0x52444C54; // "RDLT"
+    static final int VERSION = 1;
+    static final byte UPSERT = 1;
+    static final byte DELETE = 2;
+    private static final byte END = 0;
+    private static final int RESET_INTERVAL = 1024;
+
+    private DeltaFile() {
+    }
+
+    /**
+     * A base snapshot with its deltas applied
+     */
+    static final class Merged {
+        final List<Student> students;
+        final long[] ids;
+        final long fingerprint;
+        final int deltas;
+        final long deltaBytes;
+        final long nextId;
+
+        Merged(List<Student> students, long[] ids, long fingerprint, int deltas, long deltaBytes, long nextId) {
+            this.students = students;
+            this.ids = ids;
+            this.fingerprint = fingerprint;
+            this.deltas = deltas;
+            this.deltaBytes = deltaBytes;
+            this.nextId = nextId;
+        }
+    }
+
+    static Path deltaPath(Path base, int sequence) {
+        return base.resolveSibling(base.getFileName() + ".delta" + sequence);
+    }
+
+    /**
+     * Write the delta with the given sequence number; returns its size in bytes
+     */
+    static long write(Path base, long baseFingerprint, int sequence,
+                      Map<Long, Student> upserts, Collection<Long> deletes) throws IOException {
+        Path target = deltaPath(base, sequence);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                DataOutputStream header = new DataOutputStream(
+                        new BufferedOutputStream(Channels.newOutputStream(channel), RosterFile.BUFFER_SIZE));
+                header.writeInt(MAGIC);
+                header.writeInt(VERSION);
+                header.writeLong(baseFingerprint);
+                header.writeInt(sequence);
+                ObjectOutputStream out = new ObjectOutputStream(header);
+                int written = 0;
+                for (long id : deletes) {
+                    out.writeByte(DELETE);
+                    out.writeLong(id);
+                }
+                for (Map.Entry<Long, Student> upsert : upserts.entrySet()) {
+                    out.writeByte(UPSERT);
+                    out.writeLong(upsert.getKey());
+                    out.writeObject(upsert.getValue());
+                    if (++written % RESET_INTERVAL == 0) {
+                        out.reset();
+                    }
+                }
+                out.writeByte(END);
+                out.flush();
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return Files.size(target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Read a base snapshot and apply every delta written against it
+     */
+    static Merged read(Path base) throws IOException, ClassNotFoundException {
+        List<Student> rows = RosterFile.readAll(base);
+        long fingerprint;
+        try {
+            fingerprint = RosterFile.fingerprint(base);
+        } catch (StreamCorruptedException e) {
+            // Legacy base without a footer: no deltas can refer to it
+            return new Merged(rows, positionalIds(rows.size()), 0, 0, 0, rows.size());
+        }
+
+        Map<Long, Student> merged = new LinkedHashMap<>(Math.max(16, rows.size() * 4 / 3 + 1));
+        for (int i = 0; i < rows.size(); i++) {
+            merged.put((long) i, rows.get(i));
+        }
+        long nextId = rows.size();
+        int applied = 0;
+        long bytes = 0;
+        for (int sequence = 1; ; sequence++) {
+            Path delta = deltaPath(base, sequence);
+            if (!Files.exists(delta)) {
+                break;
+            }
+            try (DataInputStream header = new DataInputStream(
+                    new BufferedInputStream(Files.newInputStream(delta), RosterFile.BUFFER_SIZE))) {
+                if (header.readInt() != MAGIC || header.readInt() != VERSION) {
+                    throw new StreamCorruptedException("Not a roster delta: " + delta);
+                }
+                if (header.readLong() != fingerprint || header.readInt() != sequence) {
+                    break; // left over from an earlier base
+                }
+                ObjectInputStream in = new ObjectInputStream(header);
+                byte kind;
+                while ((kind = in.readByte()) != END) {
+                    long id = in.readLong();
+                    if (kind == DELETE) {
+                        merged.remove(id);
+                    } else if (kind == UPSERT) {
+                        Object record = in.readObject();
+                        if (!(record instanceof Student)) {
+                            throw new StreamCorruptedException("Unexpected record type in " + delta);
+                        }
+                        merged.put(id, (Student) record);
+                        nextId = Math.max(nextId, id + 1);
+                    } else {
+                        throw new StreamCorruptedException("Unknown delta entry " + kind + " in " + delta);
+                    }
+                }
+            }
+            applied++;
+            bytes += Files.size(delta);
+        }
+
+        List<Student> students = new ArrayList<>(merged.values());
+        long[] ids = new long[students.size()];
+        int i = 0;
+        for (long id : merged.keySet()) {
+            ids[i++] = id;
+        }
+        return new Merged(students, ids, fingerprint, applied, bytes, nextId);
+    }
+
+    /**
+     * Whether base has at least one delta written against it (stale ones do not count)
+     */
+    static boolean hasDeltas(Path base) throws IOException {
+        Path delta = deltaPath(base, 1);
+        if (!Files.exists(delta)) {
+            return false;
+        }
+        try (DataInputStream header = new DataInputStream(Files.newInputStream(delta))) {
+            return header.readInt() == MAGIC && header.readInt() == VERSION
+                    && header.readLong() == RosterFile.fingerprint(base) && header.readInt() == 1;
+        } catch (EOFException e) {
+            return false;
+        }
+    }
+
+    // Remove the deltas of a base, e.g. after it has been rewritten
+    static void deleteAll(Path base) throws IOException {
+        for (int sequence = 1; Files.deleteIfExists(deltaPath(base, sequence)); sequence++) {
+            // keep going until the first gap
+        }
+    }
+
+    private static long[] positionalIds(int n) {
+        long[] ids = new long[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = i;
+        }
+        return ids;
+    }
+}
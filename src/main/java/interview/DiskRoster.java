@@ -0,0 +1,349 @@
+package interview;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A roster that lives in a file instead of on the heap, with a bounded
+ * cache of recently used students in front of it.
+ *
+ * Layout: a header (magic "RSTL", format version) followed by an
+ * append-only log of records
+ * <pre>
+ *   length   int, bytes after this field
+ *   kind     PUT or DELETE
+ *   name     the student's name (writeUTF)
+ *   payload  PUT only: the serialized Student
+ * </pre>
+ * Opening the file scans the record headers to map each case-folded name
+ * to the offset of its latest PUT; a torn record at the tail (from a crash
+ * mid-write) is cut off. Only the name map stays in memory.
+ *
+ * Lookups go through a {@link ResultCache} keyed by name and tagged with
+ * the record offset, so an entry is only used while it matches the latest
+ * record. Students handed out are watched: setter changes and removals
+ * are written through to the file before the call returns. Names are keys,
+ * so a rename onto a name already in the roster replaces that record.
+ *
+ * Once a student is evicted, a later lookup reads a second copy of it.
+ * Each copy remembers the record it was read from or last wrote, and only
+ * writes while that is still the name's latest record: a copy superseded
+ * by another copy's write, or by a remove and re-add, is detached and its
+ * setter throws IllegalStateException instead of overwriting newer data.
+ */
+public final class DiskRoster implements Closeable {
+    static final int MAGIC = 0x5253544C; // "RSTL"
+    static final int VERSION = 1;
+    static final byte PUT = 1;
+    static final byte DELETE = 2;
+
+    private static final int HEADER_SIZE = 8;
+    // Fixed per-student heap overhead added to the serialized size when weighing cache entries
+    private static final int ENTRY_OVERHEAD = 64;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final Map<String, Long> offsets = new HashMap<>();
+    private final ResultCache cache;
+    private long end;
+    private long reads;
+    private long writes;
+
+    // Writes one handed-out student's record again whenever one of its setters changes it
+    private final class WriteThrough implements StudentListener {
+        // The record this copy was read from or last wrote
+        private long offset;
+        // Folded name of the student being renamed, between beforeChange and afterChange
+        private String renaming;
+
+        WriteThrough(long offset) {
+            this.offset = offset;
+        }
+
+        @Override
+        public void beforeChange(Student student, StudentField field) {
+            if (field == StudentField.NAME) {
+                renaming = student.getSortKey();
+            }
+        }
+
+        @Override
+        public void afterChange(Student student, StudentField field) {
+            try {
+                String key = field == StudentField.NAME ? renaming : student.getSortKey();
+                Long latest = offsets.get(key);
+                if (latest == null) {
+                    student.removeListener(this); // removed from the roster since it was handed out
+                    return;
+                }
+                if (latest != offset) {
+                    student.removeListener(this);
+                    throw new IllegalStateException("Stale copy of " + student.getName()
+                            + ": a newer record was written since it was read; look it up again");
+                }
+                if (!key.equals(student.getSortKey())) {
+                    delete(key);
+                }
+                offset = put(student);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not write " + student.getName() + " to " + path, e);
+            } finally {
+                renaming = null;
+            }
+        }
+    }
+
+    private DiskRoster(Path path, long cacheBytes) throws IOException {
+        this.path = path;
+        this.cache = new ResultCache(cacheBytes);
+        channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION);
+                header.flip();
+                writeFully(header, 0);
+                end = HEADER_SIZE;
+            } else {
+                scan();
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Open a disk roster, creating an empty one if the file does not exist.
+     * cacheBytes bounds the estimated heap used by cached students.
+     */
+    public static DiskRoster open(Path path, long cacheBytes) throws IOException {
+        return new DiskRoster(path, cacheBytes);
+    }
+
+    // Map every name to its latest record, truncating a torn tail
+    private void scan() throws IOException {
+        if (channel.size() < HEADER_SIZE || readFully(0, 4).getInt() != MAGIC) {
+            throw new StreamCorruptedException("Not a disk roster: " + path);
+        }
+        int version = readFully(4, 4).getInt();
+        if (version != VERSION) {
+            throw new StreamCorruptedException("Unsupported disk roster version: " + version);
+        }
+        long size = channel.size();
+        long offset = HEADER_SIZE;
+        channel.position(offset);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(
+                Channels.newInputStream(channel), RosterFile.BUFFER_SIZE));
+        while (offset + 4 <= size) {
+            int length = in.readInt();
+            if (length <= 0 || offset + 4 + length > size) {
+                break;
+            }
+            byte kind = in.readByte();
+            String name = in.readUTF();
+            int nameBytes = 2 + utfLength(name);
+            skipFully(in, length - 1 - nameBytes);
+            if (kind == PUT) {
+                offsets.put(Student.foldCase(name), offset);
+            } else if (kind == DELETE) {
+                offsets.remove(Student.foldCase(name));
+            } else {
+                throw new StreamCorruptedException("Unknown record kind " + kind + " at offset " + offset);
+            }
+            offset += 4 + length;
+        }
+        if (offset < size) {
+            channel.truncate(offset);
+        }
+        end = offset;
+    }
+
+    /**
+     * The student with this name (case-insensitive), or null
+     */
+    public Student findByName(String name) throws IOException {
+        String key = Student.foldCase(name);
+        Long offset = offsets.get(key);
+        if (offset == null) {
+            return null;
+        }
+        Student student = cache.get(key, offset);
+        if (student == null) {
+            byte[] record = readRecord(offset);
+            student = deserialize(record);
+            student.addListener(new WriteThrough(offset));
+            cache.put(key, offset, student, ENTRY_OVERHEAD + record.length);
+        }
+        return student;
+    }
+
+    /**
+     * Append a student; its name must not already be in the roster
+     */
+    public void add(Student student) throws IOException {
+        if (offsets.containsKey(student.getSortKey())) {
+            throw new IllegalArgumentException("Student already exists: " + student.getName());
+        }
+        student.addListener(new WriteThrough(put(student)));
+    }
+
+    /**
+     * Remove the student with this name; returns false if there was none
+     */
+    public boolean remove(String name) throws IOException {
+        String key = Student.foldCase(name);
+        if (!offsets.containsKey(key)) {
+            return false;
+        }
+        delete(key); // copies handed out detach on their next change
+        return true;
+    }
+
+    public int size() {
+        return offsets.size();
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public ResultCache getCache() {
+        return cache;
+    }
+
+    // Records read from the file (cache misses) and written to it
+    public long getReads() {
+        return reads;
+    }
+
+    public long getWrites() {
+        return writes;
+    }
+
+    // Bytes in the log, including records superseded by later writes
+    public long getFileSize() {
+        return end;
+    }
+
+    // One-line description of cache effectiveness and file traffic
+    public String getCacheSummary() {
+        return String.format("Record cache for %s: %d hits, %d misses (%.1f%% hit ratio), %d students, %d of %d bytes, %d evictions; %d reads, %d writes",
+                path, cache.getHits(), cache.getMisses(), 100 * cache.getHitRatio(), cache.getEntryCount(),
+                cache.getWeight(), cache.getMaxWeight(), cache.getEvictions(), reads, writes);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // Returns the offset of the new record
+    private long put(Student student) throws IOException {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream(256);
+        try (ObjectOutputStream oos = new ObjectOutputStream(payload)) {
+            oos.writeObject(student);
+        }
+        long offset = append(PUT, student.getName(), payload);
+        String key = student.getSortKey();
+        offsets.put(key, offset);
+        cache.remove(key); // any other copy cached under the name is now stale
+        cache.put(key, offset, student, ENTRY_OVERHEAD + payload.size());
+        return offset;
+    }
+
+    private void delete(String key) throws IOException {
+        append(DELETE, key, null);
+        offsets.remove(key);
+        cache.remove(key);
+    }
+
+    // Write one record at the end of the log, returning its offset
+    private long append(byte kind, String name, ByteArrayOutputStream payload) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + (payload == null ? 0 : payload.size()));
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0); // length, filled in below
+        out.writeByte(kind);
+        out.writeUTF(name);
+        if (payload != null) {
+            payload.writeTo(out);
+        }
+        out.flush();
+        ByteBuffer record = ByteBuffer.wrap(bytes.toByteArray());
+        record.putInt(0, record.remaining() - 4);
+        long offset = end;
+        writeFully(record, offset);
+        end += record.limit();
+        writes++;
+        return offset;
+    }
+
+    // The payload of the PUT record at this offset
+    private byte[] readRecord(long offset) throws IOException {
+        int length = readFully(offset, 4).getInt();
+        ByteBuffer record = readFully(offset + 4, length);
+        record.get(); // kind
+        int nameBytes = record.getShort() & 0xFFFF;
+        record.position(record.position() + nameBytes);
+        byte[] payload = new byte[record.remaining()];
+        record.get(payload);
+        reads++;
+        return payload;
+    }
+
+    private Student deserialize(byte[] payload) throws IOException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(payload))) {
+            Object record = in.readObject();
+            if (!(record instanceof Student)) {
+                throw new StreamCorruptedException("Unexpected record type in " + path);
+            }
+            return (Student) record;
+        } catch (ClassNotFoundException e) {
+            throw new InvalidClassException(e.getMessage());
+        }
+    }
+
+    private ByteBuffer readFully(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of disk roster " + path);
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    private static void skipFully(DataInputStream in, int n) throws IOException {
+        while (n > 0) {
+            int skipped = in.skipBytes(n);
+            if (skipped <= 0) {
+                in.readByte(); // throws EOFException at the end of the file
+                skipped = 1;
+            }
+            n -= skipped;
+        }
+    }
+
+    // Bytes writeUTF uses for the string, not counting its 2-byte length prefix
+    private static int utfLength(String s) {
+        int n = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            n += c >= 0x0001 && c <= 0x007F ? 1 : c <= 0x07FF ? 2 : 3;
+        }
+        return n;
+    }
+}
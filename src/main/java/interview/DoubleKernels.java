@@ -0,0 +1,61 @@
+package interview;
+
+/**
+ * Reduction kernels over double[] used by GradeCalculator: sum, dot
+ * product, min, max and threshold count.
+ *
+ * {@link #best()} picks the Vector API implementation when the JVM was
+ * started with {@code --add-modules jdk.incubator.vector}, and the scalar
+ * loops otherwise (or with {@code -Dinterview.simd=false}). Vector sums add
+ * lanes in a different order, so results may differ from the scalar ones in
+ * the last bits.
+ */
+interface DoubleKernels {
+
+    double sum(double[] values);
+
+    // Sum of a[i] * b[i] over the shorter of the two arrays
+    double dot(double[] a, double[] b);
+
+    // Smallest value; +Infinity for an empty array, NaN if any value is NaN
+    double min(double[] values);
+
+    // Largest value; -Infinity for an empty array, NaN if any value is NaN
+    double max(double[] values);
+
+    // Number of values >= threshold
+    int countAtLeast(double[] values, double threshold);
+
+    String name();
+
+    static DoubleKernels scalar() {
+        return ScalarKernels.INSTANCE;
+    }
+
+    /**
+     * The fastest implementation this JVM can run, chosen once
+     */
+    static DoubleKernels best() {
+        return Selected.KERNELS;
+    }
+
+    final class Selected {
+        static final DoubleKernels KERNELS = select();
+
+        private Selected() {
+        }
+
+        private static DoubleKernels select() {
+            if (!Boolean.parseBoolean(System.getProperty("interview.simd", "true"))
+                    || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+                return ScalarKernels.INSTANCE;
+            }
+            try {
+                // Loaded by name so the scalar path never touches the incubator module
+                return (DoubleKernels) Class.forName("interview.VectorKernels").getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                return ScalarKernels.INSTANCE;
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package interview;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exact duplicate detection for StudentManager's dedup mode, keyed by
+ * Student.equals/hashCode. A Bloom filter answers most checks for new
+ * records ("definitely not seen") without touching the hash table; only
+ * probable matches go on to the exact lookup.
+ *
+ * Rows are grouped by hash code and removed by identity, so the table stays
+ * correct when students change (the owner removes a student before a setter
+ * runs and adds it back afterwards) and when the roster already holds equal
+ * students.
+ */
+final class DuplicateFilter {
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final Map<Integer, List<Student>> byHash = new HashMap<>();
+    private int rows;
+    private BloomFilter bloom;
+    private long definitelyNew;
+    private long exactChecks;
+
+    DuplicateFilter(Iterable<Student> roster) {
+        for (Student s : roster) {
+            insert(s, s.hashCode());
+        }
+        rebuildBloom();
+    }
+
+    /**
+     * Record the student and return true, or return false if an equal
+     * student is already present
+     */
+    boolean admit(Student student) {
+        int hash = student.hashCode();
+        if (bloom.mightContain(hash)) {
+            exactChecks++;
+            List<Student> candidates = byHash.get(hash);
+            if (candidates != null && candidates.contains(student)) {
+                return false;
+            }
+        } else {
+            definitelyNew++;
+        }
+        add(student, hash);
+        return true;
+    }
+
+    // Record a roster row without checking it (e.g. a student's changed values)
+    void add(Student student) {
+        add(student, student.hashCode());
+    }
+
+    // Forget this student object; the Bloom filter keeps its bits
+    void remove(Student student) {
+        int hash = student.hashCode();
+        List<Student> candidates = byHash.get(hash);
+        if (candidates == null) {
+            return;
+        }
+        for (int i = 0; i < candidates.size(); i++) {
+            if (candidates.get(i) == student) {
+                candidates.remove(i);
+                rows--;
+                if (candidates.isEmpty()) {
+                    byHash.remove(hash);
+                }
+                return;
+            }
+        }
+    }
+
+    // Checks the Bloom filter answered alone
+    long getDefinitelyNew() {
+        return definitelyNew;
+    }
+
+    // Checks that needed the hash table
+    long getExactChecks() {
+        return exactChecks;
+    }
+
+    // Rows tracked, including equal ones
+    int size() {
+        return rows;
+    }
+
+    private void insert(Student student, int hash) {
+        byHash.computeIfAbsent(hash, h -> new ArrayList<>(1)).add(student);
+        rows++;
+    }
+
+    private void add(Student student, int hash) {
+        insert(student, hash);
+        bloom.add(hash);
+        if (bloom.isFull()) {
+            rebuildBloom();
+        }
+    }
+
+    // Size for twice the current rows, dropping bits left by removed or changed students
+    private void rebuildBloom() {
+        bloom = new BloomFilter(Math.max(1024, rows * 2), FALSE_POSITIVE_RATE);
+        for (Integer hash : byHash.keySet()) {
+            bloom.add(hash);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package interview;
+
+import java.util.Arrays;
+
+/**
+ * Fenwick (binary indexed) tree of counts over a fixed range of buckets.
+ * Adding to a bucket and summing a prefix of buckets are both O(log n).
+ */
+final class FenwickTree {
+    private final long[] tree;
+
+    FenwickTree(int buckets) {
+        tree = new long[buckets + 1];
+    }
+
+    int size() {
+        return tree.length - 1;
+    }
+
+    void add(int bucket, long delta) {
+        for (int i = bucket + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    // Sum of buckets 0..bucket inclusive; 0 when bucket is negative
+    long prefixSum(int bucket) {
+        long sum = 0;
+        for (int i = Math.min(bucket + 1, tree.length - 1); i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    long total() {
+        return prefixSum(size() - 1);
+    }
+
+    void clear() {
+        Arrays.fill(tree, 0);
+    }
+}
@@ -0,0 +1,173 @@
+package interview;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Linear-time GPA orderings. GPAs lie in 0.0-4.0 and are normally recorded
+ * to two decimals, so a counting sort over the 401 hundredths buckets puts
+ * every student in place in two passes. A bucket is re-sorted only when it
+ * must be: when it mixes GPAs with more than two decimals, or, for
+ * compareTo order, to break ties by name. Name keys are folded once up
+ * front and each bucket is ordered by an MSD radix sort over their UTF-16
+ * chars (high byte, then low byte), so compareTo order also costs time
+ * linear in the total key length rather than a comparison sort per bucket.
+ * Char order is code point order only without surrogates, so a bucket with
+ * a supplementary character in some name falls back to a comparison sort.
+ */
+final class GpaSort {
+    private static final int BUCKETS = 401;
+    private static final int RADIX = 256;
+    // Below this many students a name partition is finished by insertion sort
+    private static final int INSERTION_CUTOFF = 16;
+    private static final Comparator<Student> BY_GPA_DESCENDING =
+            (a, b) -> Double.compare(b.getGpa(), a.getGpa());
+
+    private GpaSort() {
+    }
+
+    /**
+     * Stable sort by GPA, highest first; equal GPAs keep roster order
+     */
+    static Student[] byGpaDescending(List<Student> roster) {
+        Student[] sorted = new Student[roster.size()];
+        int[] starts = distribute(roster, sorted);
+        for (int b = 0; b < BUCKETS; b++) {
+            if (starts[b + 1] - starts[b] > 1 && !uniform(sorted, starts[b], starts[b + 1])) {
+                Arrays.sort(sorted, starts[b], starts[b + 1], BY_GPA_DESCENDING); // stable
+            }
+        }
+        return sorted;
+    }
+
+    /**
+     * Sort into compareTo order: GPA highest first, then name ignoring case
+     */
+    static Student[] inNaturalOrder(List<Student> roster) {
+        Student[] sorted = new Student[roster.size()];
+        int[] starts = distribute(roster, sorted);
+        String[] keys = new String[sorted.length];
+        Student[] aux = new Student[sorted.length];
+        String[] auxKeys = new String[sorted.length];
+        for (int b = 0; b < BUCKETS; b++) {
+            int from = starts[b];
+            int to = starts[b + 1];
+            if (to - from <= 1) {
+                continue;
+            }
+            if (!uniform(sorted, from, to)) {
+                Arrays.sort(sorted, from, to); // extra decimals: full GPA first, rare
+                continue;
+            }
+            boolean bmp = true;
+            for (int i = from; i < to; i++) {
+                keys[i] = sorted[i].getSortKey();
+                bmp &= !hasSurrogate(keys[i]);
+            }
+            if (bmp) {
+                sortByKey(sorted, keys, from, to, 0, aux, auxKeys);
+            } else {
+                Arrays.sort(sorted, from, to); // supplementary characters, rare
+            }
+        }
+        return sorted;
+    }
+
+    /**
+     * Stable MSD radix sort of students[from, to) by keys, which agree on
+     * their first digit / 2 chars. Digit d is the high (even d) or low byte
+     * of char d / 2, so byte order matches String.compareTo's char order.
+     */
+    private static void sortByKey(Student[] students, String[] keys, int from, int to, int digit,
+                                  Student[] aux, String[] auxKeys) {
+        if (to - from <= INSERTION_CUTOFF) {
+            insertionSort(students, keys, from, to);
+            return;
+        }
+        // Slot 0 counts keys that have ended, which sort before any longer key
+        int[] ends = new int[RADIX + 2];
+        for (int i = from; i < to; i++) {
+            ends[byteAt(keys[i], digit) + 2]++;
+        }
+        for (int r = 0; r <= RADIX; r++) {
+            ends[r + 1] += ends[r];
+        }
+        for (int i = from; i < to; i++) {
+            int slot = ends[byteAt(keys[i], digit) + 1]++;
+            aux[slot] = students[i];
+            auxKeys[slot] = keys[i];
+        }
+        System.arraycopy(aux, 0, students, from, to - from);
+        System.arraycopy(auxKeys, 0, keys, from, to - from);
+        // ends[r] is now where slot r stops; slot 0 (ended keys) is already in order
+        for (int r = 1; r <= RADIX; r++) {
+            if (ends[r] - ends[r - 1] > 1) {
+                sortByKey(students, keys, from + ends[r - 1], from + ends[r], digit + 1, aux, auxKeys);
+            }
+        }
+    }
+
+    // Byte digit of a key, or -1 past its end
+    private static int byteAt(String key, int digit) {
+        int index = digit >> 1;
+        if (index >= key.length()) {
+            return -1;
+        }
+        char c = key.charAt(index);
+        return (digit & 1) == 0 ? c >>> 8 : c & 0xFF;
+    }
+
+    private static boolean hasSurrogate(String key) {
+        for (int i = 0; i < key.length(); i++) {
+            if (Character.isSurrogate(key.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void insertionSort(Student[] students, String[] keys, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            Student student = students[i];
+            String key = keys[i];
+            int j = i;
+            for (; j > from && key.compareTo(keys[j - 1]) < 0; j--) {
+                students[j] = students[j - 1];
+                keys[j] = keys[j - 1];
+            }
+            students[j] = student;
+            keys[j] = key;
+        }
+    }
+
+    // Counting sort into descending hundredths buckets; returns bucket start offsets
+    private static int[] distribute(List<Student> roster, Student[] sorted) {
+        int n = roster.size();
+        short[] buckets = new short[n];
+        int[] starts = new int[BUCKETS + 1];
+        for (int i = 0; i < n; i++) {
+            int bucket = BUCKETS - 1 - roster.get(i).getGpaHundredths();
+            buckets[i] = (short) bucket;
+            starts[bucket + 1]++;
+        }
+        for (int b = 0; b < BUCKETS; b++) {
+            starts[b + 1] += starts[b];
+        }
+        int[] next = Arrays.copyOf(starts, BUCKETS);
+        for (int i = 0; i < n; i++) {
+            sorted[next[buckets[i]]++] = roster.get(i);
+        }
+        return starts;
+    }
+
+    private static boolean uniform(Student[] students, int from, int to) {
+        double gpa = students[from].getGpa();
+        for (int i = from + 1; i < to; i++) {
+            if (Double.compare(students[i].getGpa(), gpa) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
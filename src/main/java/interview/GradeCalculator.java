@@ -6,32 +6,45 @@ import java.util.*;
  * Grade calculator utility demonstrating various calculation methods
  */
 public class GradeCalculator {
+    // Sum, dot-product, min/max and count loops; SIMD when the Vector API is available
+    private static final DoubleKernels KERNELS = DoubleKernels.best();
 
     /**
-     * Calculate weighted GPA from course grades and credits
+     * Calculate weighted GPA from course grades and credits. The grade-credit
+     * products are summed by the reduction kernels, so the last bits of the
+     * result can depend on the summation order and the CPU's vector width.
      */
     public static double calculateWeightedGPA(Map<String, Double> courseGrades, Map<String, Integer> courseCredits) {
         if (courseGrades == null || courseCredits == null || courseGrades.isEmpty()) {
             return 0.0;
         }
 
-        double totalPoints = 0.0;
-        int totalCredits = 0;
-
+        double[] grades = new double[courseGrades.size()];
+        double[] weights = new double[grades.length];
+        int n = 0;
         for (Map.Entry<String, Double> entry : courseGrades.entrySet()) {
             String course = entry.getKey();
             Double grade = entry.getValue();
             Integer credits = courseCredits.get(course);
 
             if (credits != null && grade != null) {
-                totalPoints += grade * credits;
-                totalCredits += credits;
+                grades[n] = grade;
+                weights[n++] = credits;
             }
         }
+        if (n < grades.length) {
+            grades = Arrays.copyOf(grades, n);
+            weights = Arrays.copyOf(weights, n);
+        }
 
-        return totalCredits > 0 ? totalPoints / totalCredits : 0.0;
+        double totalCredits = KERNELS.sum(weights);
+        return totalCredits > 0 ? KERNELS.dot(grades, weights) / totalCredits : 0.0;
     }
 
+    // Letter grades from best to worst and the lowest percentage that earns each one
+    static final String[] LETTER_GRADES = {"A", "A-", "B+", "B", "B-", "C+", "C", "C-", "D+", "D", "D-", "F"};
+    private static final double[] LETTER_CUTOFFS = {93, 90, 87, 83, 80, 77, 73, 70, 67, 63, 60, 0};
+
     /**
      * Convert percentage to letter grade
      */
@@ -39,18 +52,27 @@ public class GradeCalculator {
         if (percentage < 0 || percentage > 100) {
             throw new IllegalArgumentException("Percentage must be between 0 and 100");
         }
-        if (percentage >= 93) return "A";
-        if (percentage >= 90) return "A-";
-        if (percentage >= 87) return "B+";
-        if (percentage >= 83) return "B";
-        if (percentage >= 80) return "B-";
-        if (percentage >= 77) return "C+";
-        if (percentage >= 73) return "C";
-        if (percentage >= 70) return "C-";
-        if (percentage >= 67) return "D+";
-        if (percentage >= 63) return "D";
-        if (percentage >= 60) return "D-";
-        return "F";
+        return LETTER_GRADES[letterIndex(percentage)];
+    }
+
+    /**
+     * Convert a whole array of percentages to letter grades at once
+     */
+    public static String[] percentagesToLetterGrades(double[] percentages) {
+        String[] letters = new String[percentages.length];
+        for (int i = 0; i < percentages.length; i++) {
+            letters[i] = percentageToLetterGrade(percentages[i]);
+        }
+        return letters;
+    }
+
+    // Position in LETTER_GRADES of a percentage already known to be in range
+    static int letterIndex(double percentage) {
+        int i = 0;
+        while (i < LETTER_CUTOFFS.length - 1 && !(percentage >= LETTER_CUTOFFS[i])) { // NaN falls to F
+            i++;
+        }
+        return i;
     }
 
     /**
@@ -97,16 +119,14 @@ public class GradeCalculator {
     }
 
     /**
-     * Calculate semester GPA from list of grades
+     * Calculate semester GPA from list of grades, the mean by compensated
+     * summation (DoubleStream.average), independent of the vector kernels
      */
     public static double calculateSemesterGPA(List<Double> grades) {
         if (grades == null || grades.isEmpty()) {
             return 0.0;
         }
-        return grades.stream()
-                .mapToDouble(Double::doubleValue)
-                .average()
-                .orElse(0.0);
+        return Arrays.stream(toArray(grades)).average().orElse(0.0);
     }
 
     /**
@@ -137,19 +157,41 @@ public class GradeCalculator {
             return stats;
         }
 
-        List<Double> sorted = new ArrayList<>(gpas);
-        Collections.sort(sorted);
-
-        double mean = sorted.stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
-        double median = sorted.size() % 2 == 0
-            ? (sorted.get(sorted.size() / 2 - 1) + sorted.get(sorted.size() / 2)) / 2.0
-            : sorted.get(sorted.size() / 2);
+        double[] values = toArray(gpas);
+        double min = KERNELS.min(values);
+        double max = KERNELS.max(values);
+        Arrays.sort(values);
+        // Compensated summation over the sorted values, as before the kernels existed
+        double mean = Arrays.stream(values).average().orElse(0.0);
+        double median = values.length % 2 == 0
+            ? (values[values.length / 2 - 1] + values[values.length / 2]) / 2.0
+            : values[values.length / 2];
 
         stats.put("mean", mean);
         stats.put("median", median);
-        stats.put("min", sorted.get(0));
-        stats.put("max", sorted.get(sorted.size() - 1));
+        stats.put("min", min);
+        stats.put("max", max);
 
         return stats;
     }
+
+    /**
+     * Count GPAs at or above a threshold, e.g. the honor roll or Dean's List minimum
+     */
+    public static int countAtLeast(double[] gpas, double threshold) {
+        if (gpas == null) {
+            return 0;
+        }
+        return KERNELS.countAtLeast(gpas, threshold);
+    }
+
+    // Unbox once so the kernels run over a primitive array
+    private static double[] toArray(List<Double> values) {
+        double[] array = new double[values.size()];
+        int i = 0;
+        for (Double v : values) {
+            array[i++] = v;
+        }
+        return array;
+    }
 }
@@ -0,0 +1,204 @@
+package interview;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Curves exam percentages section by section and converts them to letter
+ * grades in bulk.
+ *
+ * A curve is computed from each section's own scores: LINEAR scales them so
+ * the section's top score becomes 100, SQRT maps x to 10 * sqrt(x), and
+ * TARGET rescales them to a given mean and standard deviation. Curved
+ * scores are clamped to 0..100. {@link #curveAll} splits the sections
+ * across a fork-join pool; each leaf task curves a run of sections with a
+ * few thousand scores between them and counts its letters locally.
+ */
+public final class GradeCurve {
+
+    public enum Method {
+        LINEAR, SQRT, TARGET
+    }
+
+    // Leaf tasks curve at least this many scores before the work is split further
+    private static final int SPLIT_SCORES = 8192;
+
+    private final Method method;
+    private final double targetMean;
+    private final double targetStddev;
+
+    private GradeCurve(Method method, double targetMean, double targetStddev) {
+        this.method = method;
+        this.targetMean = targetMean;
+        this.targetStddev = targetStddev;
+    }
+
+    public static GradeCurve linear() {
+        return new GradeCurve(Method.LINEAR, 0, 0);
+    }
+
+    public static GradeCurve squareRoot() {
+        return new GradeCurve(Method.SQRT, 0, 0);
+    }
+
+    public static GradeCurve target(double mean, double stddev) {
+        if (!(mean >= 0 && mean <= 100)) {
+            throw new IllegalArgumentException("Target mean must be between 0 and 100");
+        }
+        if (!(stddev >= 0)) {
+            throw new IllegalArgumentException("Target standard deviation cannot be negative");
+        }
+        return new GradeCurve(Method.TARGET, mean, stddev);
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * Curve one section's percentages into a new array
+     */
+    public double[] apply(double[] scores) {
+        double[] curved = new double[scores.length];
+        apply(scores, curved);
+        return curved;
+    }
+
+    /**
+     * Curve every section and convert the results to letter grades, using the
+     * common fork-join pool
+     */
+    public CurveResult curveAll(double[][] sections) {
+        return curveAll(sections, ForkJoinPool.commonPool());
+    }
+
+    public CurveResult curveAll(double[][] sections, ForkJoinPool pool) {
+        long start = System.nanoTime();
+        long[] offsets = new long[sections.length + 1];
+        for (int i = 0; i < sections.length; i++) {
+            if (sections[i] == null) {
+                throw new IllegalArgumentException("Section " + i + " is null");
+            }
+            offsets[i + 1] = offsets[i] + sections[i].length;
+        }
+        double[][] curved = new double[sections.length][];
+        String[][] letters = new String[sections.length][];
+        long[] counts = new long[GradeCalculator.LETTER_GRADES.length];
+        pool.invoke(new Sections(sections, offsets, curved, letters, counts, 0, sections.length));
+        return new CurveResult(curved, letters, counts, offsets[sections.length], System.nanoTime() - start);
+    }
+
+    // Curve scores into curved (same length); scores must be percentages
+    private void apply(double[] scores, double[] curved) {
+        double max = 0;
+        double sum = 0;
+        for (double score : scores) {
+            if (!(score >= 0 && score <= 100)) {
+                throw new IllegalArgumentException("Percentage must be between 0 and 100: " + score);
+            }
+            max = Math.max(max, score);
+            sum += score;
+        }
+        switch (method) {
+            case LINEAR: {
+                double scale = max > 0 ? 100 / max : 1;
+                for (int i = 0; i < scores.length; i++) {
+                    curved[i] = Math.min(100, scores[i] * scale);
+                }
+                break;
+            }
+            case SQRT:
+                for (int i = 0; i < scores.length; i++) {
+                    curved[i] = 10 * Math.sqrt(scores[i]);
+                }
+                break;
+            case TARGET: {
+                double mean = scores.length > 0 ? sum / scores.length : 0;
+                double squares = 0;
+                for (double score : scores) {
+                    squares += (score - mean) * (score - mean);
+                }
+                double stddev = scores.length > 0 ? Math.sqrt(squares / scores.length) : 0;
+                double scale = stddev > 0 ? targetStddev / stddev : 0;
+                for (int i = 0; i < scores.length; i++) {
+                    double z = targetMean + (scores[i] - mean) * scale;
+                    curved[i] = Math.max(0, Math.min(100, z));
+                }
+                break;
+            }
+            default:
+                throw new IllegalStateException("Unknown curve " + method);
+        }
+    }
+
+    /**
+     * Curves sections [from, to), splitting in half by score count until a
+     * run is small enough or is a single section
+     */
+    private final class Sections extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final double[][] sections;
+        private final long[] offsets;
+        private final double[][] curved;
+        private final String[][] letters;
+        private final long[] counts;
+        private final int from;
+        private final int to;
+
+        Sections(double[][] sections, long[] offsets, double[][] curved, String[][] letters, long[] counts,
+                 int from, int to) {
+            this.sections = sections;
+            this.offsets = offsets;
+            this.curved = curved;
+            this.letters = letters;
+            this.counts = counts;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1 && offsets[to] - offsets[from] > SPLIT_SCORES) {
+                int mid = middle();
+                invokeAll(new Sections(sections, offsets, curved, letters, counts, from, mid),
+                        new Sections(sections, offsets, curved, letters, counts, mid, to));
+                return;
+            }
+            long[] local = new long[counts.length];
+            for (int s = from; s < to; s++) {
+                double[] out = new double[sections[s].length];
+                apply(sections[s], out);
+                String[] grades = new String[out.length];
+                for (int i = 0; i < out.length; i++) {
+                    int letter = GradeCalculator.letterIndex(out[i]);
+                    grades[i] = GradeCalculator.LETTER_GRADES[letter];
+                    local[letter]++;
+                }
+                curved[s] = out;
+                letters[s] = grades;
+            }
+            synchronized (counts) {
+                for (int i = 0; i < counts.length; i++) {
+                    counts[i] += local[i];
+                }
+            }
+        }
+
+        // Section index that splits the scores of [from, to) most evenly, strictly inside the range
+        private int middle() {
+            long half = (offsets[from] + offsets[to]) / 2;
+            int lo = from + 1;
+            int hi = to - 1;
+            while (lo < hi) {
+                int m = (lo + hi) >>> 1;
+                if (offsets[m] < half) {
+                    lo = m + 1;
+                } else {
+                    hi = m;
+                }
+            }
+            return lo;
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package interview;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+
+/**
+ * Per-course grades and credits for a set of students, stored as a sparse
+ * student x course matrix.
+ *
+ * Each student and course gets a dense row or column number; every grade is
+ * one entry in parallel primitive columns (row, course, grade in hundredths,
+ * credits), and a student's entries are chained together so lookups only
+ * walk that student's courses. Each row keeps its running grade points and
+ * credits, so adding, changing or removing a grade updates the weighted GPA
+ * in O(courses of that student) time and writes it back through
+ * {@link Student#setGpa}, which keeps the roster's indexes current. Grade points are integers (hundredths
+ * times credits), so the running totals never drift from a full recompute.
+ * Removing a student moves the last row into its slot, as removing a grade
+ * does with the last entry, so both stay dense however long a session runs.
+ *
+ * Students are tracked by identity. Not thread-safe, like StudentManager.
+ */
+public class Gradebook {
+    private static final int NONE = -1;
+
+    private final Map<Student, Integer> rowOf = new IdentityHashMap<>();
+    private Student[] rowStudent = new Student[16];
+    private long[] rowPoints = new long[16];
+    private int[] rowCredits = new int[16];
+    private int[] rowHead = new int[16];
+    private int rows;
+
+    private final Map<String, Integer> courseOf = new HashMap<>();
+    private final List<String> courseNames = new ArrayList<>();
+
+    private int[] entryRow = new int[64];
+    private int[] entryCourse = new int[64];
+    private int[] entryGrade = new int[64];
+    private int[] entryCredits = new int[64];
+    private int[] entryNext = new int[64];
+    private int entries;
+
+    /**
+     * Record (or replace) a student's grade in a course and return the
+     * student's new weighted GPA
+     */
+    public double setGrade(Student student, String course, double grade, int credits) {
+        if (student == null) {
+            throw new IllegalArgumentException("Student cannot be null");
+        }
+        if (course == null || course.trim().isEmpty()) {
+            throw new IllegalArgumentException("Course cannot be null or empty");
+        }
+        if (grade < 0.0 || grade > 4.0) {
+            throw new IllegalArgumentException("Grade must be between 0.0 and 4.0");
+        }
+        if (credits <= 0) {
+            throw new IllegalArgumentException("Credits must be positive");
+        }
+        int row = rowFor(student);
+        int column = courseOf.computeIfAbsent(course, c -> {
+            courseNames.add(c);
+            return courseNames.size() - 1;
+        });
+        int hundredths = (int) Math.round(grade * 100);
+        int entry = find(row, column);
+        if (entry == NONE) {
+            entry = newEntry(row, column);
+        } else {
+            rowPoints[row] -= (long) entryGrade[entry] * entryCredits[entry];
+            rowCredits[row] -= entryCredits[entry];
+        }
+        entryGrade[entry] = hundredths;
+        entryCredits[entry] = credits;
+        rowPoints[row] += (long) hundredths * credits;
+        rowCredits[row] += credits;
+        writeBack(row);
+        return getWeightedGpa(student);
+    }
+
+    /**
+     * Drop a student's grade in a course; the GPA is left as it was once no
+     * graded courses remain
+     */
+    public boolean removeGrade(Student student, String course) {
+        Integer row = rowOf.get(student);
+        Integer column = courseOf.get(course);
+        if (row == null || column == null) {
+            return false;
+        }
+        int entry = find(row, column);
+        if (entry == NONE) {
+            return false;
+        }
+        rowPoints[row] -= (long) entryGrade[entry] * entryCredits[entry];
+        rowCredits[row] -= entryCredits[entry];
+        deleteEntry(entry);
+        writeBack(row);
+        return true;
+    }
+
+    /**
+     * Forget every grade of a student, e.g. once it has left the roster
+     */
+    public boolean removeStudent(Student student) {
+        Integer row = rowOf.remove(student);
+        if (row == null) {
+            return false;
+        }
+        while (rowHead[row] != NONE) {
+            deleteEntry(rowHead[row]);
+        }
+        // Move the last row into the freed slot and repoint its entries
+        int last = --rows;
+        if (row != last) {
+            Student moved = rowStudent[last];
+            rowStudent[row] = moved;
+            rowPoints[row] = rowPoints[last];
+            rowCredits[row] = rowCredits[last];
+            rowHead[row] = rowHead[last];
+            for (int e = rowHead[row]; e != NONE; e = entryNext[e]) {
+                entryRow[e] = row;
+            }
+            rowOf.put(moved, row);
+        }
+        rowStudent[last] = null;
+        rowPoints[last] = 0;
+        rowCredits[last] = 0;
+        return true;
+    }
+
+    public OptionalDouble getGrade(Student student, String course) {
+        Integer row = rowOf.get(student);
+        Integer column = courseOf.get(course);
+        int entry = row == null || column == null ? NONE : find(row, column);
+        return entry == NONE ? OptionalDouble.empty() : OptionalDouble.of(entryGrade[entry] / 100.0);
+    }
+
+    // Course -> grade for one student, in the order the courses were first graded
+    public Map<String, Double> getGrades(Student student) {
+        Map<String, Double> grades = new LinkedHashMap<>();
+        Integer row = rowOf.get(student);
+        if (row == null) {
+            return grades;
+        }
+        List<Integer> chain = new ArrayList<>();
+        for (int e = rowHead[row]; e != NONE; e = entryNext[e]) {
+            chain.add(e);
+        }
+        for (int i = chain.size() - 1; i >= 0; i--) {
+            int e = chain.get(i);
+            grades.put(courseNames.get(entryCourse[e]), entryGrade[e] / 100.0);
+        }
+        return grades;
+    }
+
+    public int getCredits(Student student) {
+        Integer row = rowOf.get(student);
+        return row == null ? 0 : rowCredits[row];
+    }
+
+    /**
+     * Credit-weighted GPA over the student's graded courses; 0.0 without any,
+     * as in {@link GradeCalculator#calculateWeightedGPA}
+     */
+    public double getWeightedGpa(Student student) {
+        Integer row = rowOf.get(student);
+        return row == null ? 0.0 : weightedGpa(row);
+    }
+
+    /**
+     * Rebuild every running total from the grade columns in one pass and
+     * write each GPA back; returns how many students' GPAs changed
+     */
+    public int recomputeAll() {
+        Arrays.fill(rowPoints, 0, rows, 0);
+        Arrays.fill(rowCredits, 0, rows, 0);
+        int[] row = entryRow;
+        int[] grade = entryGrade;
+        int[] credits = entryCredits;
+        for (int e = 0; e < entries; e++) {
+            rowPoints[row[e]] += (long) grade[e] * credits[e];
+            rowCredits[row[e]] += credits[e];
+        }
+        int changed = 0;
+        for (int r = 0; r < rows; r++) {
+            if (writeBack(r)) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    public int getStudentCount() {
+        return rowOf.size();
+    }
+
+    public int getCourseCount() {
+        return courseNames.size();
+    }
+
+    public int getEntryCount() {
+        return entries;
+    }
+
+    // Row slots allocated, which grow only with the number of students held at once
+    int getRowCapacity() {
+        return rowStudent.length;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Gradebook: %d students, %d courses, %d grades", getStudentCount(), getCourseCount(), entries);
+    }
+
+    private double weightedGpa(int row) {
+        return rowCredits[row] > 0 ? rowPoints[row] / (rowCredits[row] * 100.0) : 0.0;
+    }
+
+    // Push the row's GPA to its student if it has graded courses; true if the GPA changed
+    private boolean writeBack(int row) {
+        Student student = rowStudent[row];
+        if (student == null || rowCredits[row] == 0) {
+            return false;
+        }
+        double gpa = weightedGpa(row);
+        if (Double.compare(student.getGpa(), gpa) == 0) {
+            return false;
+        }
+        student.setGpa(gpa);
+        return true;
+    }
+
+    private int rowFor(Student student) {
+        Integer row = rowOf.get(student);
+        if (row != null) {
+            return row;
+        }
+        if (rows == rowStudent.length) {
+            int capacity = rows * 2;
+            rowStudent = Arrays.copyOf(rowStudent, capacity);
+            rowPoints = Arrays.copyOf(rowPoints, capacity);
+            rowCredits = Arrays.copyOf(rowCredits, capacity);
+            rowHead = Arrays.copyOf(rowHead, capacity);
+        }
+        rowStudent[rows] = student;
+        rowHead[rows] = NONE;
+        rowOf.put(student, rows);
+        return rows++;
+    }
+
+    private int find(int row, int column) {
+        for (int e = rowHead[row]; e != NONE; e = entryNext[e]) {
+            if (entryCourse[e] == column) {
+                return e;
+            }
+        }
+        return NONE;
+    }
+
+    private int newEntry(int row, int column) {
+        if (entries == entryRow.length) {
+            int capacity = entries * 2;
+            entryRow = Arrays.copyOf(entryRow, capacity);
+            entryCourse = Arrays.copyOf(entryCourse, capacity);
+            entryGrade = Arrays.copyOf(entryGrade, capacity);
+            entryCredits = Arrays.copyOf(entryCredits, capacity);
+            entryNext = Arrays.copyOf(entryNext, capacity);
+        }
+        int e = entries++;
+        entryRow[e] = row;
+        entryCourse[e] = column;
+        entryNext[e] = rowHead[row];
+        rowHead[row] = e;
+        return e;
+    }
+
+    // Unlink the entry, then move the last entry into its slot so the columns stay dense
+    private void deleteEntry(int entry) {
+        relink(entry, entryNext[entry]);
+        int last = --entries;
+        if (entry != last) {
+            relink(last, entry);
+            entryRow[entry] = entryRow[last];
+            entryCourse[entry] = entryCourse[last];
+            entryGrade[entry] = entryGrade[last];
+            entryCredits[entry] = entryCredits[last];
+            entryNext[entry] = entryNext[last];
+        }
+    }
+
+    // Point whatever links to entry in its row's chain at replacement instead
+    private void relink(int entry, int replacement) {
+        int row = entryRow[entry];
+        if (rowHead[row] == entry) {
+            rowHead[row] = replacement;
+            return;
+        }
+        for (int e = rowHead[row]; e != NONE; e = entryNext[e]) {
+            if (entryNext[e] == entry) {
+                entryNext[e] = replacement;
+                return;
+            }
+        }
+    }
+}
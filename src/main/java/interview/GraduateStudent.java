@@ -31,7 +31,9 @@ public class GraduateStudent extends Student {
         if (thesisTitle == null || thesisTitle.trim().isEmpty()) {
             throw new IllegalArgumentException("Thesis title cannot be null or empty");
         }
+        fireChanging(StudentField.THESIS_TITLE);
         this.thesisTitle = thesisTitle.trim();
+        fireChanged(StudentField.THESIS_TITLE);
     }
 
     public String getAdvisor() {
@@ -42,7 +44,9 @@ public class GraduateStudent extends Student {
         if (advisor == null || advisor.trim().isEmpty()) {
             throw new IllegalArgumentException("Advisor cannot be null or empty");
         }
+        fireChanging(StudentField.ADVISOR);
         this.advisor = advisor.trim();
+        fireChanged(StudentField.ADVISOR);
     }
 
     public boolean isPhD() {
@@ -50,7 +54,14 @@ public class GraduateStudent extends Student {
     }
 
     public void setPhD(boolean phD) {
+        fireChanging(StudentField.PHD);
         isPhD = phD;
+        fireChanged(StudentField.PHD);
+    }
+
+    @Override
+    Student copy() {
+        return new GraduateStudent(getName(), getAge(), getGpa(), thesisTitle, advisor, isPhD);
     }
 
     public String getDegreeType() {
@@ -63,10 +74,13 @@ public class GraduateStudent extends Student {
     }
 
     @Override
-    public String toString() {
-        return "GraduateStudent{name='" + getName() + "', age=" + getAge() +
-               ", gpa=" + getGpa() + ", degree='" + getDegreeType() +
-               "', thesis='" + thesisTitle + "', advisor='" + advisor + "'}";
+    public StringBuilder appendTo(StringBuilder sb) {
+        return sb.append("GraduateStudent{name='").append(getName())
+                 .append("', age=").append(getAge())
+                 .append(", gpa=").append(getGpa())
+                 .append(", degree='").append(getDegreeType())
+                 .append("', thesis='").append(thesisTitle)
+                 .append("', advisor='").append(advisor).append("'}");
     }
 
     @Override
@@ -0,0 +1,141 @@
+package interview;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single-pass group-by over a roster. Each group is a slot in parallel
+ * primitive arrays (count, GPA sum/min/max, age sum); no member lists are
+ * built. Age and boolean keys index their slot directly, other keys go
+ * through a hash map from value to slot. In parallel mode each worker fills
+ * its own Accumulator over a split of the roster and the partials are
+ * merged slot by slot.
+ */
+final class GroupBy {
+    private static final int MAX_AGE = 150;
+
+    private GroupBy() {
+    }
+
+    static List<GroupStats> run(List<Student> roster, QueryField key, boolean parallel) {
+        Accumulator result = (parallel ? roster.parallelStream() : roster.stream())
+                .collect(() -> new Accumulator(key), Accumulator::accept, Accumulator::merge);
+        return result.finish();
+    }
+
+    static final class Accumulator {
+        private final QueryField key;
+        // Direct slot lookup (slot + 1, 0 = unused) for age and boolean keys
+        private final int[] directSlots;
+        private final Map<Object, Integer> slots;
+
+        private Object[] keys = new Object[8];
+        private long[] counts = new long[8];
+        private double[] gpaSums = new double[8];
+        private double[] minGpas = new double[8];
+        private double[] maxGpas = new double[8];
+        private long[] ageSums = new long[8];
+        private int size;
+
+        Accumulator(QueryField key) {
+            this.key = key;
+            if (key == QueryField.AGE) {
+                directSlots = new int[MAX_AGE + 1];
+                slots = null;
+            } else if (key.getKind() == QueryField.Kind.BOOLEAN) {
+                directSlots = new int[2];
+                slots = null;
+            } else {
+                directSlots = null;
+                slots = new HashMap<>();
+            }
+        }
+
+        void accept(Student s) {
+            int slot;
+            if (key == QueryField.AGE) {
+                slot = directSlot(s.getAge(), s.getAge());
+            } else if (directSlots != null) {
+                boolean flag = key.bool(s);
+                slot = directSlot(flag ? 1 : 0, flag);
+            } else {
+                slot = mappedSlot(key == QueryField.GPA ? (Object) s.getGpa() : key.text(s));
+            }
+            add(slot, 1, s.getGpa(), s.getGpa(), s.getGpa(), s.getAge());
+        }
+
+        void merge(Accumulator other) {
+            for (int i = 0; i < other.size; i++) {
+                Object k = other.keys[i];
+                int slot = directSlots == null ? mappedSlot(k)
+                        : k instanceof Integer ? directSlot((Integer) k, k)
+                        : directSlot((Boolean) k ? 1 : 0, k);
+                add(slot, other.counts[i], other.gpaSums[i], other.minGpas[i], other.maxGpas[i], other.ageSums[i]);
+            }
+        }
+
+        // Groups ordered by key, absent values last
+        List<GroupStats> finish() {
+            List<GroupStats> groups = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                groups.add(new GroupStats(keys[i], counts[i], gpaSums[i], minGpas[i], maxGpas[i], ageSums[i]));
+            }
+            groups.sort(Comparator.comparing(GroupStats::getKey, Comparator.nullsLast(GroupBy::compareKeys)));
+            return groups;
+        }
+
+        private int directSlot(int code, Object value) {
+            int slot = directSlots[code] - 1;
+            if (slot < 0) {
+                slot = newSlot(value);
+                directSlots[code] = slot + 1;
+            }
+            return slot;
+        }
+
+        private int mappedSlot(Object value) {
+            Integer slot = slots.get(value);
+            if (slot == null) {
+                slot = newSlot(value);
+                slots.put(value, slot);
+            }
+            return slot;
+        }
+
+        private int newSlot(Object value) {
+            if (size == keys.length) {
+                int capacity = size * 2;
+                keys = Arrays.copyOf(keys, capacity);
+                counts = Arrays.copyOf(counts, capacity);
+                gpaSums = Arrays.copyOf(gpaSums, capacity);
+                minGpas = Arrays.copyOf(minGpas, capacity);
+                maxGpas = Arrays.copyOf(maxGpas, capacity);
+                ageSums = Arrays.copyOf(ageSums, capacity);
+            }
+            keys[size] = value;
+            minGpas[size] = Double.POSITIVE_INFINITY;
+            maxGpas[size] = Double.NEGATIVE_INFINITY;
+            return size++;
+        }
+
+        private void add(int slot, long count, double gpaSum, double minGpa, double maxGpa, long ageSum) {
+            counts[slot] += count;
+            gpaSums[slot] += gpaSum;
+            minGpas[slot] = Math.min(minGpas[slot], minGpa);
+            maxGpas[slot] = Math.max(maxGpas[slot], maxGpa);
+            ageSums[slot] += ageSum;
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareKeys(Object a, Object b) {
+        if (a instanceof String) {
+            return ((String) a).compareToIgnoreCase((String) b);
+        }
+        return ((Comparable) a).compareTo(b);
+    }
+}
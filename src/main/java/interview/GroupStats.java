@@ -0,0 +1,54 @@
+package interview;
+
+/**
+ * Aggregates for one group produced by StudentManager.groupBy: the member
+ * count plus GPA sum, min and max and the age sum. Members are not kept.
+ */
+public final class GroupStats {
+    private final Object key;
+    private final long count;
+    private final double gpaSum;
+    private final double minGpa;
+    private final double maxGpa;
+    private final long ageSum;
+
+    GroupStats(Object key, long count, double gpaSum, double minGpa, double maxGpa, long ageSum) {
+        this.key = key;
+        this.count = count;
+        this.gpaSum = gpaSum;
+        this.minGpa = minGpa;
+        this.maxGpa = maxGpa;
+        this.ageSum = ageSum;
+    }
+
+    // Group value: Integer for age, Boolean for flags, String for text (null when absent)
+    public Object getKey() {
+        return key;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getAverageGpa() {
+        return gpaSum / count;
+    }
+
+    public double getMinGpa() {
+        return minGpa;
+    }
+
+    public double getMaxGpa() {
+        return maxGpa;
+    }
+
+    public double getAverageAge() {
+        return (double) ageSum / count;
+    }
+
+    @Override
+    public String toString() {
+        return "GroupStats{key=" + key + ", count=" + count + ", avgGpa=" + getAverageGpa()
+                + ", minGpa=" + minGpa + ", maxGpa=" + maxGpa + "}";
+    }
+}
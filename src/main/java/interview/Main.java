@@ -1,7 +1,15 @@
 package interview;
 
-import java.io.IOException;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Interactive command-line application demonstrating Java fundamentals
@@ -11,28 +19,67 @@ import java.util.*;
  * Commands:
  *   add <name> <age> <gpa>              - Add a student
  *   addgrad <name> <age> <gpa> ...      - Add a graduate student
- *   list                                - List all students
+ *   list [--limit n] [--offset n] [--after name]
+ *                                       - List students a page at a time
  *   find <name>                         - Find student by name
- *   honors                              - List honor roll students
+ *   rank <name>                         - Show a student's GPA rank and percentile
+ *   honors [page options]               - List honor roll students
  *   average                             - Show average GPA
- *   sort                                - Show students sorted by GPA
+ *   sort [page options]                 - Show students sorted by GPA
  *   remove <name>                       - Remove a student
  *   count                               - Show student count
+ *   import <csv-file>                   - Add students from name,age,gpa[,thesis,advisor,isPhD] rows
+ *   dedup [on|off]                      - Drop students equal to one already added
  *   grade <name>                        - Show grade info for student
+ *   update <name> <field> <value>       - Set one field, e.g. update Alice gpa 3.9
+ *   course <name> <course> <grade> <credits>
+ *                                       - Record a course grade and update the weighted GPA
+ *   courses <name>                      - Show a student's course grades
+ *   deanslist <credits> [min] [--out f] - Required GPA and Dean's List feasibility for every student
+ *   open <file> [cache-bytes]           - Use a disk-resident roster for find/grade/add/remove/update/count
+ *   close                               - Go back to the in-memory roster
+ *   cachestats                          - Show record and result cache hit ratios and evictions
  *   calc <subcommand>                   - Grade calculator operations
- *   save [filename]                     - Save students to file
+ *   save [--async] [filename]           - Save students to file (--async: checkpoint in the background)
+ *   save --delta [filename]             - Save only records changed since the last save or load
+ *   checkpoint [every <seconds>|off]    - Show or schedule background checkpoints
  *   load [filename]                     - Load students from file
+ *   sortfile <in> <out> [memory-bytes]  - Sort a saved roster file by GPA and name, out of core
+ *   diff <older> <newer> [memory-bytes] - Added, removed and changed students between two saved files
+ *   query <query>                       - Filter/aggregate students (see Query)
+ *   explain <query>                     - Show how a query would be executed
+ *   groupby <field> [--parallel]        - Count and GPA statistics per group
+ *   stats [on|off|reset]                - Show operation counts and latencies
+ *   batch <file|->                      - Run commands from a file or stdin
  *   interactive                         - Enter interactive mode
  */
 public class Main {
     private static StudentManager manager = new StudentManager();
     private static Scanner scanner = new Scanner(System.in);
+    private static CommandTokenizer tokenizer = new CommandTokenizer();
+    private static StudentFormatter formatter = new StudentFormatter();
+    // Set by the open command; find, grade, add, addgrad, remove, update and count then use it
+    private static DiskRoster disk;
+    // Course grades entered this session; they drive the weighted GPAs of in-memory students
+    private static Gradebook gradebook = new Gradebook();
+    // All command output goes through this writer so batch mode can buffer it
+    private static PrintWriter out = new PrintWriter(
+            new OutputStreamWriter(System.out, StandardCharsets.UTF_8), true);
 
     public static void main(String[] args) {
+        // count and average can be answered from the snapshot footer alone
+        if (args.length == 1 && answerFromSummary(args[0].toLowerCase())) {
+            return;
+        }
+
+        if (manager.getStats().isEnabled()) {
+            registerStatsMBean();
+        }
+
         // Try to load existing data, or add sample data if none exists
         try {
             manager.load();
-            System.out.println("Loaded existing student data.");
+            out.println("Loaded existing student data.");
         } catch (Exception e) {
             // No saved data, add sample data
             manager.addStudent(new Student("Alice", 20, 3.8));
@@ -43,90 +90,144 @@ public class Main {
         }
 
         if (args.length == 0) {
-            System.out.println("No command provided. Starting interactive mode...");
+            out.println("No command provided. Starting interactive mode...");
             interactiveMode();
         } else {
             processCommand(args);
         }
+        finishCheckpoints();
     }
 
-    private static void processCommand(String[] args) {
+    // Background checkpoints run on a daemon thread; let requested ones reach the disk before exiting
+    private static void finishCheckpoints() {
+        try {
+            manager.cancelCheckpoints();
+            manager.awaitCheckpoints();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Answer count/average from the saved file's footer without loading it.
+     * Returns false (so the caller loads normally) when there is no valid footer.
+     */
+    private static boolean answerFromSummary(String command) {
+        if (!command.equals("count") && !command.equals("average")) {
+            return false;
+        }
+        RosterSummary summary;
+        try {
+            summary = StudentManager.readSummary();
+        } catch (IOException e) {
+            return false;
+        }
+        if (command.equals("count")) {
+            out.println("Total students: " + summary.getCount());
+        } else {
+            out.printf("Average GPA: %.2f\n", summary.getAverageGpa());
+        }
+        return true;
+    }
+
+    // Runs one command; returns false on usage errors and failures
+    private static boolean processCommand(String[] args) {
         String command = args[0].toLowerCase();
 
         try {
             switch (command) {
                 case "add":
                     if (args.length != 4) {
-                        System.out.println("Usage: add <name> <age> <gpa>");
-                        return;
+                        out.println("Usage: add <name> <age> <gpa>");
+                        return false;
                     }
                     String name = args[1];
                     int age = Integer.parseInt(args[2]);
                     double gpa = Double.parseDouble(args[3]);
-                    manager.addStudent(new Student(name, age, gpa));
-                    System.out.println("Added: " + name);
+                    long droppedBefore = manager.getDuplicatesDropped();
+                    addStudent(new Student(name, age, gpa));
+                    out.println(manager.getDuplicatesDropped() > droppedBefore
+                            ? "Duplicate dropped: " + name : "Added: " + name);
                     break;
 
                 case "list":
-                    System.out.println("\n=== All Students ===");
-                    for (Student s : manager.getAllStudents()) {
-                        System.out.println(s);
-                    }
+                    PageRequest listPage = PageRequest.parse(args, 1);
+                    out.println("\n=== All Students ===");
+                    printPage(listPage, manager::forEachStudent);
                     break;
 
                 case "find":
                     if (args.length != 2) {
-                        System.out.println("Usage: find <name>");
-                        return;
+                        out.println("Usage: find <name>");
+                        return false;
                     }
-                    Student found = manager.findByName(args[1]);
+                    Student found = findStudent(args[1]);
                     if (found != null) {
-                        System.out.println("Found: " + found);
+                        out.println("Found: " + found);
                     } else {
-                        System.out.println("Student not found: " + args[1]);
+                        out.println("Student not found: " + args[1]);
                     }
                     break;
 
-                case "honors":
-                    System.out.println("\n=== Honor Roll Students (GPA >= 3.5) ===");
-                    for (Student s : manager.getHonorRollStudents()) {
-                        System.out.println(s);
+                case "rank":
+                    if (args.length != 2) {
+                        out.println("Usage: rank <name>");
+                        return false;
                     }
+                    int rank = manager.rank(args[1]);
+                    if (rank < 0) {
+                        out.println("Student not found: " + args[1]);
+                        return false;
+                    }
+                    out.printf("%s: rank %d of %d (%.1f percentile)%n", args[1], rank,
+                            manager.getCount(), manager.percentile(args[1]));
+                    break;
+
+                case "honors":
+                    PageRequest honorsPage = PageRequest.parse(args, 1);
+                    out.println("\n=== Honor Roll Students (GPA >= 3.5) ===");
+                    printPage(honorsPage, manager::forEachHonorRollStudent);
                     break;
 
                 case "average":
                     double avg = manager.getAverageGpa();
-                    System.out.printf("Average GPA: %.2f\n", avg);
+                    out.printf("Average GPA: %.2f\n", avg);
                     break;
 
                 case "sort":
-                    System.out.println("\n=== Students Sorted by GPA ===");
-                    for (Student s : manager.sortByGpa()) {
-                        System.out.println(s);
-                    }
+                    PageRequest sortPage = PageRequest.parse(args, 1);
+                    out.println("\n=== Students Sorted by GPA ===");
+                    printPage(sortPage, manager::forEachSortedByGpa);
                     break;
 
                 case "remove":
                     if (args.length != 2) {
-                        System.out.println("Usage: remove <name>");
-                        return;
+                        out.println("Usage: remove <name>");
+                        return false;
+                    }
+                    // removeStudent drops every case-insensitive match, so their grades go too
+                    List<Student> leaving = disk != null ? Collections.emptyList() : manager.stream()
+                            .filter(s -> s.getName().equalsIgnoreCase(args[1]))
+                            .collect(Collectors.toList());
+                    boolean removed = disk != null ? disk.remove(args[1]) : manager.removeStudent(args[1]);
+                    for (Student s : leaving) {
+                        gradebook.removeStudent(s);
                     }
-                    boolean removed = manager.removeStudent(args[1]);
                     if (removed) {
-                        System.out.println("Removed: " + args[1]);
+                        out.println("Removed: " + args[1]);
                     } else {
-                        System.out.println("Student not found: " + args[1]);
+                        out.println("Student not found: " + args[1]);
                     }
                     break;
 
                 case "count":
-                    System.out.println("Total students: " + manager.getCount());
+                    out.println("Total students: " + (disk != null ? disk.size() : manager.getCount()));
                     break;
 
                 case "addgrad":
                     if (args.length != 7) {
-                        System.out.println("Usage: addgrad <name> <age> <gpa> <thesis> <advisor> <isPhD>");
-                        return;
+                        out.println("Usage: addgrad <name> <age> <gpa> <thesis> <advisor> <isPhD>");
+                        return false;
                     }
                     String gradName = args[1];
                     int gradAge = Integer.parseInt(args[2]);
@@ -134,80 +235,355 @@ public class Main {
                     String thesis = args[4];
                     String advisor = args[5];
                     boolean isPhD = Boolean.parseBoolean(args[6]);
-                    manager.addStudent(new GraduateStudent(gradName, gradAge, gradGpa, thesis, advisor, isPhD));
-                    System.out.println("Added graduate student: " + gradName);
+                    addStudent(new GraduateStudent(gradName, gradAge, gradGpa, thesis, advisor, isPhD));
+                    out.println("Added graduate student: " + gradName);
+                    break;
+
+                case "import":
+                    if (args.length != 2) {
+                        out.println("Usage: import <csv-file>");
+                        return false;
+                    }
+                    List<Student> imported = readCsv(args[1]);
+                    int added = manager.addAll(imported);
+                    out.println("Imported " + added + " students from " + args[1]
+                            + (manager.isDedupEnabled() ? " (" + (imported.size() - added) + " duplicates dropped)" : ""));
+                    break;
+
+                case "dedup":
+                    if (args.length > 2 || (args.length == 2 && !args[1].equalsIgnoreCase("on")
+                            && !args[1].equalsIgnoreCase("off"))) {
+                        out.println("Usage: dedup [on|off]");
+                        return false;
+                    }
+                    if (args.length == 2) {
+                        manager.setDedupEnabled(args[1].equalsIgnoreCase("on"));
+                    }
+                    out.println(manager.getDedupSummary());
                     break;
 
                 case "grade":
                     if (args.length != 2) {
-                        System.out.println("Usage: grade <name>");
-                        return;
+                        out.println("Usage: grade <name>");
+                        return false;
                     }
-                    Student gradeStudent = manager.findByName(args[1]);
+                    Student gradeStudent = findStudent(args[1]);
                     if (gradeStudent != null) {
-                        System.out.println("\n=== Grade Information for " + gradeStudent.getName() + " ===");
-                        System.out.println("GPA: " + gradeStudent.getGpa());
-                        System.out.println("Letter Grade: " + gradeStudent.getLetterGrade());
-                        System.out.println("Passing: " + (gradeStudent.isPassing() ? "Yes" : "No"));
-                        System.out.println("Honor Roll: " + (gradeStudent.isHonorRoll() ? "Yes" : "No"));
-                        System.out.println("Academic Standing: " + gradeStudent.getAcademicStanding());
+                        out.println("\n=== Grade Information for " + gradeStudent.getName() + " ===");
+                        out.println("GPA: " + gradeStudent.getGpa());
+                        out.println("Letter Grade: " + gradeStudent.getLetterGrade());
+                        out.println("Passing: " + (gradeStudent.isPassing() ? "Yes" : "No"));
+                        out.println("Honor Roll: " + (gradeStudent.isHonorRoll() ? "Yes" : "No"));
+                        out.println("Academic Standing: " + gradeStudent.getAcademicStanding());
                     } else {
-                        System.out.println("Student not found: " + args[1]);
+                        out.println("Student not found: " + args[1]);
                     }
                     break;
 
-                case "calc":
-                    handleCalculatorCommand(args);
+                case "update":
+                    if (args.length != 4) {
+                        out.println("Usage: update <name> <gpa|age|name|thesis_title|advisor|phd> <value>");
+                        return false;
+                    }
+                    StudentUpdate update = StudentUpdate.parse(args[1], args[2], args[3]);
+                    if (disk != null) {
+                        String problem = update.validate(disk.findByName(args[1]));
+                        if (problem != null) {
+                            out.println("Error: " + problem);
+                            return false;
+                        }
+                        update.applyTo(disk.findByName(args[1])); // written through to the file
+                    } else {
+                        manager.applyUpdates(Stream.of(update));
+                    }
+                    out.println("Updated: " + update);
+                    break;
+
+                case "course":
+                    if (args.length != 5) {
+                        out.println("Usage: course <name> <course> <grade|letter> <credits>");
+                        return false;
+                    }
+                    Student enrolled = manager.findByName(args[1]);
+                    if (enrolled == null) {
+                        out.println("Student not found: " + args[1]);
+                        return false;
+                    }
+                    double courseGrade = Character.isLetter(args[3].charAt(0))
+                            ? GradeCalculator.letterGradeToGPA(args[3]) : Double.parseDouble(args[3]);
+                    double weighted = gradebook.setGrade(enrolled, args[2], courseGrade, Integer.parseInt(args[4]));
+                    out.printf("%s: %s = %.2f; weighted GPA %.2f over %d credits\n", enrolled.getName(), args[2],
+                            courseGrade, weighted, gradebook.getCredits(enrolled));
                     break;
 
+                case "deanslist":
+                    boolean toFile = args.length >= 3 && args[args.length - 2].equals("--out");
+                    int positional = toFile ? args.length - 2 : args.length;
+                    if (positional < 2 || positional > 3) {
+                        out.println("Usage: deanslist <remaining-credits> [minimum-gpa] [--out <csv-file>]");
+                        return false;
+                    }
+                    DeansListProjection projection = manager.projectDeansList(gradebook::getCredits,
+                            Integer.parseInt(args[1]), positional == 3 ? Double.parseDouble(args[2]) : 3.5);
+                    out.println(projection);
+                    if (toFile) {
+                        int rows = projection.writeTo(Paths.get(args[args.length - 1]));
+                        out.println("Wrote " + rows + " rows to " + args[args.length - 1]);
+                    }
+                    break;
+
+                case "courses":
+                    if (args.length != 2) {
+                        out.println("Usage: courses <name>");
+                        return false;
+                    }
+                    Student graded = manager.findByName(args[1]);
+                    if (graded == null) {
+                        out.println("Student not found: " + args[1]);
+                        return false;
+                    }
+                    for (Map.Entry<String, Double> entry : gradebook.getGrades(graded).entrySet()) {
+                        out.printf("  %-12s %.2f\n", entry.getKey(), entry.getValue());
+                    }
+                    out.printf("Weighted GPA: %.2f over %d credits\n",
+                            gradebook.getWeightedGpa(graded), gradebook.getCredits(graded));
+                    break;
+
+                case "open":
+                    if (args.length < 2 || args.length > 3) {
+                        out.println("Usage: open <file> [cache-bytes]");
+                        return false;
+                    }
+                    long cacheBytes = args.length == 3 ? Long.parseLong(args[2])
+                            : Long.getLong("interview.diskcache.bytes", 8L << 20);
+                    DiskRoster opened = DiskRoster.open(Paths.get(args[1]), cacheBytes);
+                    closeDiskRoster();
+                    disk = opened;
+                    out.println("Opened disk roster " + args[1] + " (" + disk.size() + " students)");
+                    break;
+
+                case "close":
+                    if (disk == null) {
+                        out.println("No disk roster is open");
+                        return false;
+                    }
+                    out.println("Closed disk roster " + disk.getPath());
+                    closeDiskRoster();
+                    break;
+
+                case "cachestats":
+                    out.println(disk != null ? disk.getCacheSummary() : "No disk roster is open");
+                    out.println(manager.getCache());
+                    break;
+
+                case "calc":
+                    return handleCalculatorCommand(args);
+
                 case "save":
+                    if (args.length > 1 && args[1].equals("--async")) {
+                        if (args.length > 3) {
+                            out.println("Usage: save [--async] [filename]");
+                            return false;
+                        }
+                        CompletableFuture<RosterSummary> checkpoint =
+                                args.length == 3 ? manager.saveToFileAsync(args[2]) : manager.saveAsync();
+                        PrintWriter report = out; // written from the checkpoint thread
+                        checkpoint.whenComplete((summary, error) -> {
+                            if (error != null) {
+                                report.println("Checkpoint failed: " + error);
+                                report.flush();
+                            }
+                        });
+                        out.println("Checkpoint requested" + (args.length == 3 ? ": " + args[2] : ""));
+                        break;
+                    }
+                    if (args.length > 1 && args[1].equals("--delta")) {
+                        if (args.length > 3) {
+                            out.println("Usage: save [--delta] [filename]");
+                            return false;
+                        }
+                        try {
+                            int written = args.length == 3 ? manager.saveDelta(args[2]) : manager.saveDelta();
+                            out.println("Saved " + written + " changed records. " + manager.getDeltaStatus());
+                        } catch (IOException e) {
+                            out.println("Error saving: " + e.getMessage());
+                            return false;
+                        }
+                        break;
+                    }
                     try {
                         if (args.length > 1) {
                             manager.saveToFile(args[1]);
-                            System.out.println("Saved to: " + args[1]);
+                            out.println("Saved to: " + args[1]);
                         } else {
                             manager.save();
-                            System.out.println("Saved student data.");
+                            out.println("Saved student data.");
                         }
                     } catch (IOException e) {
-                        System.out.println("Error saving: " + e.getMessage());
+                        out.println("Error saving: " + e.getMessage());
+                        return false;
+                    }
+                    break;
+
+                case "checkpoint":
+                    if (args.length == 3 && args[1].equals("every")) {
+                        long seconds = Long.parseLong(args[2]);
+                        manager.scheduleCheckpoints(seconds, TimeUnit.SECONDS);
+                        out.println("Checkpointing every " + seconds + " s while the roster changes");
+                    } else if (args.length == 2 && args[1].equals("off")) {
+                        manager.cancelCheckpoints();
+                        out.println("Checkpoint schedule cancelled");
+                    } else if (args.length != 1) {
+                        out.println("Usage: checkpoint [every <seconds>|off]");
+                        return false;
                     }
+                    out.println(manager.getCheckpointStatus());
                     break;
 
                 case "load":
                     try {
                         if (args.length > 1) {
                             manager.loadFromFile(args[1]);
-                            System.out.println("Loaded from: " + args[1]);
+                            out.println("Loaded from: " + args[1]);
                         } else {
                             manager.load();
-                            System.out.println("Loaded student data.");
+                            out.println("Loaded student data.");
                         }
+                        gradebook = new Gradebook(); // its students are no longer in the roster
                     } catch (IOException | ClassNotFoundException e) {
-                        System.out.println("Error loading: " + e.getMessage());
+                        out.println("Error loading: " + e.getMessage());
+                        return false;
+                    }
+                    break;
+
+                case "sortfile":
+                    if (args.length < 3 || args.length > 4) {
+                        out.println("Usage: sortfile <in> <out> [memory-bytes]");
+                        return false;
+                    }
+                    long sortMemory = args.length == 4 ? Long.parseLong(args[3])
+                            : Long.getLong("interview.sort.memory", 64L << 20);
+                    RosterFileSorter sorter = new RosterFileSorter(sortMemory);
+                    long sortStart = System.nanoTime();
+                    RosterSummary sorted = sorter.sort(Paths.get(args[1]), Paths.get(args[2]));
+                    out.printf("Sorted %d students into %s in %.1f ms (%s)\n", sorted.getCount(), args[2],
+                            (System.nanoTime() - sortStart) / 1e6, sorter);
+                    break;
+
+                case "diff":
+                    if (args.length < 3 || args.length > 4) {
+                        out.println("Usage: diff <older-file> <newer-file> [memory-bytes]");
+                        return false;
+                    }
+                    RosterDiff diff = new RosterDiff(args.length == 4 ? Long.parseLong(args[3])
+                            : Long.getLong("interview.sort.memory", 64L << 20));
+                    diff.run(Paths.get(args[1]), Paths.get(args[2]), change -> out.println(change));
+                    out.println(diff);
+                    break;
+
+                case "stats":
+                    return handleStatsCommand(args);
+
+                case "query":
+                    if (args.length < 2) {
+                        out.println("Usage: query <condition> [order by <field> [desc]] [limit <n>]");
+                        return false;
+                    }
+                    QueryResult result = manager.query(joinArgs(args, 1));
+                    if (result.isAggregate()) {
+                        out.println("Result: " + result.getAggregate());
+                    } else {
+                        for (Student s : result.getRows()) {
+                            formatter.println(s, out);
+                        }
+                        out.println("(" + result.getRows().size() + " rows, "
+                                + result.getRowsExamined() + " examined)");
                     }
                     break;
 
+                case "explain":
+                    if (args.length < 2) {
+                        out.println("Usage: explain <query>");
+                        return false;
+                    }
+                    out.print(manager.explain(joinArgs(args, 1)));
+                    break;
+
+                case "groupby":
+                    if (args.length < 2 || args.length > 3
+                            || (args.length == 3 && !args[2].equals("--parallel"))) {
+                        out.println("Usage: groupby <age|grade|standing|degree|advisor|type|...> [--parallel]");
+                        return false;
+                    }
+                    printGroups(QueryField.parse(args[1]), args.length == 3);
+                    break;
+
+                case "batch":
+                    if (args.length != 2) {
+                        out.println("Usage: batch <file|->");
+                        return false;
+                    }
+                    return batchMode(args[1]);
+
                 case "interactive":
                     interactiveMode();
                     break;
 
                 default:
                     printHelp();
+                    return false;
             }
         } catch (NumberFormatException e) {
-            System.out.println("Error: Invalid number format");
+            out.println("Error: Invalid number format");
+            return false;
         } catch (Exception e) {
-            System.out.println("Error: " + e.getMessage());
+            out.println("Error: " + e.getMessage());
+            return false;
+        }
+        return true;
+    }
+
+    // One section per non-blank line: percentages separated by commas or spaces
+    private static double[][] readSections(String filename) throws IOException {
+        List<double[]> sections = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(filename), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.trim().isEmpty()) {
+                    sections.add(Arrays.stream(line.trim().split("[,\\s]+")).mapToDouble(Double::parseDouble).toArray());
+                }
+            }
+        }
+        return sections.toArray(new double[0][]);
+    }
+
+    private static Student findStudent(String name) throws IOException {
+        return disk != null ? disk.findByName(name) : manager.findByName(name);
+    }
+
+    private static void addStudent(Student student) throws IOException {
+        if (disk != null) {
+            disk.add(student);
+        } else {
+            manager.addStudent(student);
+        }
+    }
+
+    private static void closeDiskRoster() throws IOException {
+        if (disk != null) {
+            DiskRoster closing = disk;
+            disk = null;
+            closing.close();
         }
     }
 
     private static void interactiveMode() {
-        System.out.println("\n=== Student Management System ===");
-        System.out.println("Type 'help' for commands, 'exit' to quit\n");
+        out.println("\n=== Student Management System ===");
+        out.println("Type 'help' for commands, 'exit' to quit\n");
 
         while (true) {
-            System.out.print("> ");
+            out.print("> ");
+            out.flush();
             String input = scanner.nextLine().trim();
 
             if (input.isEmpty()) {
@@ -215,7 +591,7 @@ public class Main {
             }
 
             if (input.equalsIgnoreCase("exit")) {
-                System.out.println("Goodbye!");
+                out.println("Goodbye!");
                 break;
             }
 
@@ -224,19 +600,187 @@ public class Main {
                 continue;
             }
 
-            String[] args = input.split("\\s+");
-            processCommand(args);
+            try {
+                processCommand(tokenizer.tokenize(input));
+            } catch (IllegalArgumentException e) {
+                out.println("Error: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Execute every line of a script against the shared manager.
+     * Output is written in 64 KB chunks through one buffered writer instead of
+     * being flushed after every line, which dominates the cost of long scripts.
+     */
+    private static boolean batchMode(String source) throws IOException {
+        PrintWriter console = out;
+        console.flush(); // keep output ordered when batches are nested
+        BufferedReader reader = "-".equals(source)
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), 1 << 16)
+                : Files.newBufferedReader(Paths.get(source), StandardCharsets.UTF_8);
+        out = new PrintWriter(new BufferedWriter(
+                new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16), false);
+
+        long commands = 0;
+        long errors = 0;
+        long start = System.nanoTime();
+        try (BufferedReader in = reader) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] args;
+                try {
+                    args = tokenizer.tokenize(line);
+                } catch (IllegalArgumentException e) {
+                    out.println("Error: " + e.getMessage());
+                    commands++;
+                    errors++;
+                    continue;
+                }
+                if (args.length == 0 || args[0].startsWith("#")) {
+                    continue;
+                }
+                if (args[0].equalsIgnoreCase("exit")) {
+                    break;
+                }
+                commands++;
+                if (!processCommand(args)) {
+                    errors++;
+                }
+            }
+        } finally {
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            out.printf("Batch complete: %d commands, %d errors in %.3f s (%.0f commands/sec)%n",
+                    commands, errors, seconds, seconds > 0 ? commands / seconds : 0.0);
+            out.flush();
+            out = console;
         }
+        return errors == 0;
     }
 
-    private static void handleCalculatorCommand(String[] args) {
+    // Rebuild query text from arguments, re-quoting any that contained spaces
+    private static String joinArgs(String[] args, int from) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = from; i < args.length; i++) {
+            if (sb.length() > 0) {
+                sb.append(' ');
+            }
+            boolean quote = args[i].indexOf(' ') >= 0;
+            sb.append(quote ? "'" : "").append(args[i]).append(quote ? "'" : "");
+        }
+        return sb.toString();
+    }
+
+    // Rows are name,age,gpa or name,age,gpa,thesis,advisor,isPhD; a header row, blank lines and # comments are skipped
+    private static List<Student> readCsv(String file) throws IOException {
+        List<Student> students = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(file), StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")
+                        || (lineNumber == 1 && line.toLowerCase().startsWith("name,"))) {
+                    continue;
+                }
+                String[] f = line.split(",", -1);
+                try {
+                    if (f.length == 3) {
+                        students.add(new Student(f[0], Integer.parseInt(f[1].trim()), Double.parseDouble(f[2].trim())));
+                    } else if (f.length == 6) {
+                        students.add(new GraduateStudent(f[0], Integer.parseInt(f[1].trim()),
+                                Double.parseDouble(f[2].trim()), f[3], f[4], Boolean.parseBoolean(f[5].trim())));
+                    } else {
+                        throw new IllegalArgumentException("expected 3 or 6 columns");
+                    }
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException(file + " line " + lineNumber + ": " + e.getMessage());
+                }
+            }
+        }
+        return students;
+    }
+
+    private static void printGroups(QueryField key, boolean parallel) {
+        List<GroupStats> groups = manager.groupBy(key, parallel);
+        out.println("\n=== Students by " + key + " ===");
+        out.printf("%-24s %7s %8s %6s %6s %8s%n", "Group", "Count", "Avg GPA", "Min", "Max", "Avg age");
+        for (GroupStats g : groups) {
+            out.printf("%-24s %7d %8.2f %6.2f %6.2f %8.1f%n", g.getKey() == null ? "(none)" : g.getKey(),
+                    g.getCount(), g.getAverageGpa(), g.getMinGpa(), g.getMaxGpa(), g.getAverageAge());
+        }
+    }
+
+    private static boolean handleStatsCommand(String[] args) {
+        OperationStats stats = manager.getStats();
+        String action = args.length > 1 ? args[1].toLowerCase() : "show";
+        switch (action) {
+            case "on":
+                stats.setEnabled(true);
+                registerStatsMBean();
+                out.println("Operation stats enabled.");
+                break;
+            case "off":
+                stats.setEnabled(false);
+                out.println("Operation stats disabled.");
+                break;
+            case "reset":
+                stats.reset();
+                out.println("Operation stats reset.");
+                break;
+            case "show":
+                if (!stats.isEnabled()) {
+                    out.println("Operation stats are off (enable with 'stats on' or -Dinterview.stats=true).");
+                }
+                out.print(stats.getReport());
+                out.println(manager.getCache());
+                break;
+            default:
+                out.println("Usage: stats [on|off|reset]");
+                return false;
+        }
+        return true;
+    }
+
+    // Expose the manager's stats over JMX (e.g. for jconsole)
+    private static void registerStatsMBean() {
+        try {
+            manager.getStats().registerMBean("interview:type=StudentManager,name=default");
+        } catch (javax.management.JMException e) {
+            out.println("Warning: could not register stats MBean: " + e.getMessage());
+        }
+    }
+
+    // A StudentManager query that visits one page of rows
+    private interface PagedQuery {
+        int forEach(PageRequest page, Consumer<? super Student> action);
+    }
+
+    /**
+     * Stream one page of a query straight into the output writer.
+     * When the page is full, print the cursor for fetching the next one.
+     */
+    private static void printPage(PageRequest page, PagedQuery query) {
+        Student[] last = new Student[1];
+        int shown = query.forEach(page, s -> {
+            formatter.println(s, out);
+            last[0] = s;
+        });
+        if (page != PageRequest.ALL && shown > 0 && shown == page.getLimit()) {
+            out.println("-- " + shown + " rows; next page: --after \"" + last[0].getName() + "\"");
+        }
+    }
+
+    private static boolean handleCalculatorCommand(String[] args) {
         if (args.length < 2) {
-            System.out.println("Usage: calc <subcommand> [args...]");
-            System.out.println("Subcommands:");
-            System.out.println("  letter <percentage>              - Convert percentage to letter grade");
-            System.out.println("  gpa <letterGrade>                - Convert letter grade to GPA");
-            System.out.println("  required <currentGPA> <currentCredits> <targetGPA> <remainingCredits>");
-            return;
+            out.println("Usage: calc <subcommand> [args...]");
+            out.println("Subcommands:");
+            out.println("  letter <percentage>              - Convert percentage to letter grade");
+            out.println("  gpa <letterGrade>                - Convert letter grade to GPA");
+            out.println("  required <currentGPA> <currentCredits> <targetGPA> <remainingCredits>");
+            out.println("  curve <file> linear|sqrt|target <mean> <stddev> - Curve one section of percentages per line");
+            return false;
         }
 
         String subcommand = args[1].toLowerCase();
@@ -245,27 +789,27 @@ public class Main {
             switch (subcommand) {
                 case "letter":
                     if (args.length != 3) {
-                        System.out.println("Usage: calc letter <percentage>");
-                        return;
+                        out.println("Usage: calc letter <percentage>");
+                        return false;
                     }
                     double percentage = Double.parseDouble(args[2]);
                     String letter = GradeCalculator.percentageToLetterGrade(percentage);
-                    System.out.println(percentage + "% = " + letter);
+                    out.println(percentage + "% = " + letter);
                     break;
 
                 case "gpa":
                     if (args.length != 3) {
-                        System.out.println("Usage: calc gpa <letterGrade>");
-                        return;
+                        out.println("Usage: calc gpa <letterGrade>");
+                        return false;
                     }
                     double gpaValue = GradeCalculator.letterGradeToGPA(args[2]);
-                    System.out.println(args[2] + " = " + gpaValue + " GPA");
+                    out.println(args[2] + " = " + gpaValue + " GPA");
                     break;
 
                 case "required":
                     if (args.length != 6) {
-                        System.out.println("Usage: calc required <currentGPA> <currentCredits> <targetGPA> <remainingCredits>");
-                        return;
+                        out.println("Usage: calc required <currentGPA> <currentCredits> <targetGPA> <remainingCredits>");
+                        return false;
                     }
                     double currentGPA = Double.parseDouble(args[2]);
                     int currentCredits = Integer.parseInt(args[3]);
@@ -275,43 +819,92 @@ public class Main {
                     double requiredGPA = GradeCalculator.calculateRequiredGPA(
                         currentGPA, currentCredits, targetGPA, remainingCredits);
 
-                    System.out.printf("To reach %.2f GPA, you need %.2f GPA in remaining %d credits\n",
+                    out.printf("To reach %.2f GPA, you need %.2f GPA in remaining %d credits\n",
                         targetGPA, requiredGPA, remainingCredits);
 
                     if (requiredGPA > 4.0) {
-                        System.out.println("WARNING: This is impossible (requires GPA > 4.0)");
+                        out.println("WARNING: This is impossible (requires GPA > 4.0)");
                     } else if (requiredGPA < 0.0) {
-                        System.out.println("Good news: You can achieve this even with 0.0 in remaining courses!");
+                        out.println("Good news: You can achieve this even with 0.0 in remaining courses!");
+                    }
+                    break;
+
+                case "curve":
+                    GradeCurve curve = args.length == 4 && args[3].equalsIgnoreCase("linear") ? GradeCurve.linear()
+                            : args.length == 4 && args[3].equalsIgnoreCase("sqrt") ? GradeCurve.squareRoot()
+                            : args.length == 6 && args[3].equalsIgnoreCase("target")
+                                    ? GradeCurve.target(Double.parseDouble(args[4]), Double.parseDouble(args[5]))
+                            : null;
+                    if (curve == null) {
+                        out.println("Usage: calc curve <file> linear|sqrt|target <mean> <stddev>");
+                        return false;
+                    }
+                    double[][] sections;
+                    try {
+                        sections = readSections(args[2]);
+                    } catch (IOException e) {
+                        out.println("Error reading " + args[2] + ": " + e.getMessage());
+                        return false;
+                    }
+                    CurveResult curved = curve.curveAll(sections);
+                    for (Map.Entry<String, Long> entry : curved.getDistribution().entrySet()) {
+                        out.printf("  %-3s %d\n", entry.getKey(), entry.getValue());
                     }
+                    out.println(curved);
                     break;
 
                 default:
-                    System.out.println("Unknown calculator subcommand: " + subcommand);
+                    out.println("Unknown calculator subcommand: " + subcommand);
+                    return false;
             }
         } catch (NumberFormatException e) {
-            System.out.println("Error: Invalid number format");
+            out.println("Error: Invalid number format");
+            return false;
         } catch (IllegalArgumentException e) {
-            System.out.println("Error: " + e.getMessage());
+            out.println("Error: " + e.getMessage());
+            return false;
         }
+        return true;
     }
 
     private static void printHelp() {
-        System.out.println("\n=== Available Commands ===");
-        System.out.println("add <name> <age> <gpa>                 - Add a student");
-        System.out.println("addgrad <name> <age> <gpa> <thesis> <advisor> <isPhD>");
-        System.out.println("                                       - Add a graduate student");
-        System.out.println("list                                   - List all students");
-        System.out.println("find <name>                            - Find student by name");
-        System.out.println("honors                                 - List honor roll students");
-        System.out.println("average                                - Show average GPA");
-        System.out.println("sort                                   - Show students sorted by GPA");
-        System.out.println("remove <name>                          - Remove a student");
-        System.out.println("count                                  - Show student count");
-        System.out.println("grade <name>                           - Show grade details for student");
-        System.out.println("calc <subcommand> [args...]            - Grade calculator operations");
-        System.out.println("save [filename]                        - Save students to file");
-        System.out.println("load [filename]                        - Load students from file");
-        System.out.println("help                                   - Show this help");
-        System.out.println("exit                                   - Exit program\n");
+        out.println("\n=== Available Commands ===");
+        out.println("add <name> <age> <gpa>                 - Add a student");
+        out.println("addgrad <name> <age> <gpa> <thesis> <advisor> <isPhD>");
+        out.println("                                       - Add a graduate student");
+        out.println("list [--limit n] [--offset n] [--after name]");
+        out.println("                                       - List students a page at a time");
+        out.println("find <name>                            - Find student by name");
+        out.println("rank <name>                            - Show a student's GPA rank and percentile");
+        out.println("honors [page options]                  - List honor roll students");
+        out.println("average                                - Show average GPA");
+        out.println("sort [page options]                    - Show students sorted by GPA");
+        out.println("remove <name>                          - Remove a student");
+        out.println("count                                  - Show student count");
+        out.println("import <csv-file>                      - Add students from name,age,gpa[,thesis,advisor,isPhD] rows");
+        out.println("dedup [on|off]                         - Drop students equal to one already added (or -Dinterview.dedup=true)");
+        out.println("grade <name>                           - Show grade details for student");
+        out.println("update <name> <field> <value>          - Set gpa, age, name, thesis_title, advisor or phd");
+        out.println("course <name> <course> <grade> <credits> - Record a course grade (number or letter); GPA becomes the weighted average");
+        out.println("courses <name>                         - Show a student's course grades and weighted GPA");
+        out.println("deanslist <credits> [min] [--out file] - Project required GPA and Dean's List feasibility for all students");
+        out.println("open <file> [cache-bytes]              - Use a disk-resident roster for find/grade/add/remove/update/count");
+        out.println("close                                  - Go back to the in-memory roster");
+        out.println("cachestats                             - Show record and result cache hit ratios and evictions");
+        out.println("calc <subcommand> [args...]            - Grade calculator operations");
+        out.println("save [--async] [filename]              - Save students to file (--async: checkpoint in the background)");
+        out.println("save --delta [filename]                - Save only records changed since the last save or load");
+        out.println("checkpoint [every <seconds>|off]       - Show or schedule background checkpoints");
+        out.println("load [filename]                        - Load students from file");
+        out.println("sortfile <in> <out> [memory-bytes]     - Sort a saved roster by GPA then name using sorted runs on disk");
+        out.println("diff <older> <newer> [memory-bytes]    - List students added, removed or changed between two saved rosters");
+        out.println("query <query>                          - e.g. query gpa >= 3.5 and type = grad order by gpa desc limit 10");
+        out.println("                                         also: query count where honors, query avg(gpa) where age < 22");
+        out.println("explain <query>                        - Show how a query would be executed");
+        out.println("groupby <field> [--parallel]           - Count and GPA statistics per age, grade, standing, degree, advisor...");
+        out.println("stats [on|off|reset]                   - Show operation counts and latencies");
+        out.println("batch <file|->                         - Run commands from a file or stdin");
+        out.println("help                                   - Show this help");
+        out.println("exit                                   - Exit program\n");
     }
 }
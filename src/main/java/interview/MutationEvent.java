@@ -0,0 +1,185 @@
+package interview;
+
+/**
+ * One change to a StudentManager roster, as delivered to a
+ * {@link MutationSubscriber}.
+ *
+ * Events handed to subscribers are slots of a reused ring buffer: they are
+ * only valid during the onBatch call that delivers them, so a subscriber
+ * that keeps one must {@link #copy()} it. Values are captured when the
+ * change is published: an UPDATE's new value, and for ADD and REMOVE every
+ * field of the student, so consumers on other threads never need to read
+ * the live student. The student reference shows its current state.
+ */
+public final class MutationEvent {
+
+    public enum Type {
+        ADD,     // student appended to the roster
+        REMOVE,  // student removed from the roster
+        UPDATE,  // one field set through a Student or GraduateStudent setter
+        RELOAD   // roster replaced by a load; consumers should resynchronize
+    }
+
+    private long sequence;
+    private Type type;
+    private Student student;
+    private String name;
+    private String previousName;
+    private StudentField field;
+    private double number;
+    private String text;
+    // Every field of the student, for ADD and REMOVE
+    private int age;
+    private double gpa;
+    private boolean graduate;
+    private String thesisTitle;
+    private String advisor;
+    private boolean phd;
+
+    MutationEvent() {
+    }
+
+    void set(long sequence, Type type, Student student, StudentField field, String previousName) {
+        this.sequence = sequence;
+        this.type = type;
+        this.student = student;
+        this.name = student == null ? null : student.getName();
+        this.previousName = previousName;
+        this.field = field;
+        this.number = 0;
+        this.text = null;
+        captureRecord(type == Type.ADD || type == Type.REMOVE ? student : null);
+        if (field == null) {
+            return;
+        }
+        switch (field) {
+            case GPA: number = student.getGpa(); break;
+            case AGE: number = student.getAge(); break;
+            case NAME: text = name; break;
+            case THESIS_TITLE: text = ((GraduateStudent) student).getThesisTitle(); break;
+            case ADVISOR: text = ((GraduateStudent) student).getAdvisor(); break;
+            default: number = ((GraduateStudent) student).isPhD() ? 1 : 0;
+        }
+    }
+
+    private void captureRecord(Student student) {
+        age = student == null ? 0 : student.getAge();
+        gpa = student == null ? 0 : student.getGpa();
+        graduate = student instanceof GraduateStudent;
+        if (graduate) {
+            GraduateStudent g = (GraduateStudent) student;
+            thesisTitle = g.getThesisTitle();
+            advisor = g.getAdvisor();
+            phd = g.isPhD();
+        } else {
+            thesisTitle = null;
+            advisor = null;
+            phd = false;
+        }
+    }
+
+    void copyFrom(MutationEvent other) {
+        sequence = other.sequence;
+        type = other.type;
+        student = other.student;
+        name = other.name;
+        previousName = other.previousName;
+        field = other.field;
+        number = other.number;
+        text = other.text;
+        age = other.age;
+        gpa = other.gpa;
+        graduate = other.graduate;
+        thesisTitle = other.thesisTitle;
+        advisor = other.advisor;
+        phd = other.phd;
+    }
+
+    /**
+     * A detached copy that stays valid after the batch is delivered
+     */
+    public MutationEvent copy() {
+        MutationEvent copy = new MutationEvent();
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    // Position in the stream, starting at 0; gaps mean a DROP subscriber lost events
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    // The live student concerned, or null for RELOAD. The roster thread keeps changing it,
+    // so it is not safe to read from a subscriber thread; use the captured values instead
+    public Student getStudent() {
+        return student;
+    }
+
+    // The student's name when the event was published
+    public String getName() {
+        return name;
+    }
+
+    // For a NAME update, the name before the change; otherwise null
+    public String getPreviousName() {
+        return previousName;
+    }
+
+    // The field set by an UPDATE; null for other types
+    public StudentField getField() {
+        return field;
+    }
+
+    // The new value of an UPDATE (Double, Integer, Boolean or String), or null
+    public Object getValue() {
+        if (field == null) {
+            return null;
+        }
+        switch (field) {
+            case GPA: return number;
+            case AGE: return (int) number;
+            case PHD: return number != 0;
+            default: return text;
+        }
+    }
+
+    // For ADD and REMOVE, the student's age when the event was published; otherwise 0
+    public int getAge() {
+        return age;
+    }
+
+    // For ADD and REMOVE, the student's GPA when the event was published; otherwise 0
+    public double getGpa() {
+        return gpa;
+    }
+
+    // For ADD and REMOVE, whether the student is a GraduateStudent
+    public boolean isGraduate() {
+        return graduate;
+    }
+
+    // For a graduate ADD or REMOVE, the thesis title when published; otherwise null
+    public String getThesisTitle() {
+        return thesisTitle;
+    }
+
+    // For a graduate ADD or REMOVE, the advisor when published; otherwise null
+    public String getAdvisor() {
+        return advisor;
+    }
+
+    // For a graduate ADD or REMOVE, the PhD flag when published; otherwise false
+    public boolean isPhD() {
+        return phd;
+    }
+
+    @Override
+    public String toString() {
+        return sequence + " " + type + " " + name
+                + (field == null ? "" : " " + field.name().toLowerCase() + " = " + getValue());
+    }
+}
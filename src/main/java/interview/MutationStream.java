@@ -0,0 +1,351 @@
+package interview;
+
+import java.io.Closeable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Change-data-capture feed of a StudentManager: every add, removal, setter
+ * change and reload is published here for downstream consumers.
+ *
+ * Each subscription owns a preallocated ring of {@link MutationEvent} slots
+ * with the roster's thread as its only writer and a daemon thread as its
+ * only reader, which hands events to the subscriber in batches. Publishing
+ * copies a few fields into the next slot and publishes its sequence, so it
+ * allocates nothing; when a ring is full the subscription's
+ * {@link Backpressure} policy decides what happens. With no subscribers a
+ * publish is a single array length check.
+ *
+ * Like StudentManager itself, publishing is not thread-safe: all changes
+ * must come from one thread at a time.
+ */
+public final class MutationStream {
+
+    /**
+     * What publishing does when a subscriber has fallen a full ring behind
+     */
+    public enum Backpressure {
+        BLOCK,  // wait for the subscriber to free a slot
+        DROP,   // discard the event for this subscriber and count it
+        SPILL   // queue a copy on the heap (allocating) until the subscriber catches up
+    }
+
+    public static final int DEFAULT_CAPACITY = 1024;
+    public static final int DEFAULT_MAX_BATCH = 256;
+
+    private volatile Subscription[] subscriptions = new Subscription[0];
+    // Filled once per publish and copied into each subscription's ring
+    private final MutationEvent pending = new MutationEvent();
+    private long sequence;
+
+    /**
+     * Subscribe with the default ring capacity and batch size
+     */
+    public Subscription subscribe(String name, MutationSubscriber subscriber, Backpressure policy) {
+        return subscribe(name, subscriber, policy, DEFAULT_CAPACITY, DEFAULT_MAX_BATCH);
+    }
+
+    /**
+     * Start delivering events published from now on. capacity is rounded up
+     * to a power of two; each onBatch call receives at most maxBatch events.
+     */
+    public synchronized Subscription subscribe(String name, MutationSubscriber subscriber, Backpressure policy,
+                                               int capacity, int maxBatch) {
+        if (subscriber == null || policy == null) {
+            throw new IllegalArgumentException("Subscriber and backpressure policy are required");
+        }
+        if (capacity < 1 || capacity > 1 << 30 || maxBatch < 1) {
+            throw new IllegalArgumentException("Capacity must be 1 to 2^30 and batch size positive");
+        }
+        Subscription subscription = new Subscription(name, subscriber, policy, capacity, maxBatch);
+        Subscription[] current = subscriptions;
+        Subscription[] grown = Arrays.copyOf(current, current.length + 1);
+        grown[current.length] = subscription;
+        subscriptions = grown;
+        subscription.consumer.start();
+        return subscription;
+    }
+
+    private synchronized void unsubscribe(Subscription subscription) {
+        Subscription[] current = subscriptions;
+        Subscription[] shrunk = Arrays.stream(current).filter(s -> s != subscription).toArray(Subscription[]::new);
+        subscriptions = shrunk;
+    }
+
+    public boolean hasSubscribers() {
+        return subscriptions.length > 0;
+    }
+
+    // Events published so far (the next event's sequence)
+    public long getPublished() {
+        return sequence;
+    }
+
+    void publishAdded(Student student) {
+        publish(MutationEvent.Type.ADD, student, null, null);
+    }
+
+    void publishRemoved(Student student) {
+        publish(MutationEvent.Type.REMOVE, student, null, null);
+    }
+
+    void publishChanged(Student student, StudentField field, String previousName) {
+        publish(MutationEvent.Type.UPDATE, student, field, previousName);
+    }
+
+    void publishReload() {
+        publish(MutationEvent.Type.RELOAD, null, null, null);
+    }
+
+    private void publish(MutationEvent.Type type, Student student, StudentField field, String previousName) {
+        Subscription[] current = subscriptions;
+        if (current.length == 0) {
+            return;
+        }
+        pending.set(sequence++, type, student, field, previousName);
+        for (Subscription subscription : current) {
+            subscription.offer(pending);
+        }
+    }
+
+    /**
+     * One consumer of the stream: its ring, its delivery thread and its
+     * counters. Closing it delivers what is already queued, then stops.
+     */
+    public final class Subscription implements Closeable {
+        private final String name;
+        private final MutationSubscriber subscriber;
+        private final Backpressure policy;
+        private final MutationEvent[] ring;
+        private final int mask;
+        private final int maxBatch;
+        // Events written to the ring (writer) and events delivered from it (reader)
+        private final AtomicLong head = new AtomicLong();
+        private final AtomicLong tail = new AtomicLong();
+        private final Queue<MutationEvent> overflow = new ConcurrentLinkedQueue<>();
+        private final Batch batch;
+        private final Thread consumer;
+        private final AtomicLong offered = new AtomicLong();
+        private final AtomicLong delivered = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+        private final AtomicLong spilled = new AtomicLong();
+        private final AtomicLong batches = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private volatile boolean running = true;
+        private volatile boolean parked;
+
+        private Subscription(String name, MutationSubscriber subscriber, Backpressure policy,
+                             int capacity, int maxBatch) {
+            this.name = name;
+            this.subscriber = subscriber;
+            this.policy = policy;
+            int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+            this.ring = new MutationEvent[size];
+            for (int i = 0; i < size; i++) {
+                ring[i] = new MutationEvent();
+            }
+            this.mask = size - 1;
+            this.maxBatch = maxBatch;
+            this.batch = new Batch(maxBatch);
+            this.consumer = new Thread(this::deliver, "mutations-" + name);
+            consumer.setDaemon(true);
+        }
+
+        // Writer side: copy the event into the next slot, applying backpressure if the ring is full
+        private void offer(MutationEvent event) {
+            if (!running) {
+                return;
+            }
+            offered.lazySet(offered.get() + 1);
+            long h = head.get();
+            if (policy == Backpressure.SPILL && !overflow.isEmpty()) {
+                spill(event); // keep order: nothing goes to the ring until the overflow drains
+                return;
+            }
+            while (h - tail.get() > mask) {
+                if (policy == Backpressure.DROP) {
+                    dropped.lazySet(dropped.get() + 1);
+                    return;
+                }
+                if (policy == Backpressure.SPILL) {
+                    spill(event);
+                    return;
+                }
+                if (!running) {
+                    return;
+                }
+                LockSupport.unpark(consumer);
+                LockSupport.parkNanos(1000);
+            }
+            ring[(int) (h & mask)].copyFrom(event);
+            head.set(h + 1);
+            if (parked) {
+                LockSupport.unpark(consumer);
+            }
+        }
+
+        private void spill(MutationEvent event) {
+            overflow.add(event.copy());
+            spilled.lazySet(spilled.get() + 1);
+            if (parked) {
+                LockSupport.unpark(consumer);
+            }
+        }
+
+        // Reader side: deliver the ring first, then the overflow, until closed and empty
+        private void deliver() {
+            while (true) {
+                long t = tail.get();
+                int n = (int) Math.min(head.get() - t, maxBatch);
+                if (n > 0) {
+                    for (int i = 0; i < n; i++) {
+                        batch.items[i] = ring[(int) ((t + i) & mask)];
+                    }
+                    hand(n);
+                    tail.set(t + n);
+                    continue;
+                }
+                // The writer only uses the ring while the overflow is empty, so ring events are
+                // always older: take an overflow event only if the ring is still empty after seeing it
+                while (n < maxBatch && overflow.peek() != null && head.get() == t) {
+                    batch.items[n++] = overflow.poll();
+                }
+                if (n > 0) {
+                    hand(n);
+                    continue;
+                }
+                if (!running) {
+                    return;
+                }
+                parked = true;
+                if (head.get() == tail.get() && overflow.isEmpty() && running) {
+                    LockSupport.park(this);
+                }
+                parked = false;
+            }
+        }
+
+        private void hand(int n) {
+            batch.size = n;
+            try {
+                subscriber.onBatch(batch);
+            } catch (RuntimeException e) {
+                failures.incrementAndGet();
+            }
+            Arrays.fill(batch.items, 0, n, null);
+            batches.incrementAndGet();
+            delivered.addAndGet(n);
+        }
+
+        /**
+         * Wait until every event offered so far has been delivered or dropped
+         */
+        public boolean awaitDelivered(long timeout, TimeUnit unit) throws InterruptedException {
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            while (delivered.get() + dropped.get() < offered.get()) {
+                if (System.nanoTime() > deadline) {
+                    return false;
+                }
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                LockSupport.parkNanos(100_000);
+            }
+            return true;
+        }
+
+        /**
+         * Stop accepting events, deliver the ones already queued and end the delivery thread
+         */
+        @Override
+        public void close() {
+            unsubscribe(this);
+            running = false;
+            LockSupport.unpark(consumer);
+            if (Thread.currentThread() != consumer) {
+                try {
+                    consumer.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Backpressure getPolicy() {
+            return policy;
+        }
+
+        public int getCapacity() {
+            return ring.length;
+        }
+
+        public long getOffered() {
+            return offered.get();
+        }
+
+        public long getDelivered() {
+            return delivered.get();
+        }
+
+        public long getDropped() {
+            return dropped.get();
+        }
+
+        public long getSpilled() {
+            return spilled.get();
+        }
+
+        public long getBatches() {
+            return batches.get();
+        }
+
+        // Batches whose subscriber threw; delivery carries on with the next batch
+        public long getFailures() {
+            return failures.get();
+        }
+
+        // Events waiting in the ring or the overflow queue
+        public long getLag() {
+            return head.get() - tail.get() + overflow.size();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s (%s): %d offered, %d delivered in %d batches, %d dropped, %d spilled, %d failed batches, lag %d",
+                    name, policy, getOffered(), getDelivered(), getBatches(), getDropped(), getSpilled(),
+                    getFailures(), getLag());
+        }
+    }
+
+    // Reused view over the events of one delivery
+    private static final class Batch extends AbstractList<MutationEvent> {
+        final MutationEvent[] items;
+        int size;
+
+        Batch(int capacity) {
+            items = new MutationEvent[capacity];
+        }
+
+        @Override
+        public MutationEvent get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+            }
+            return items[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package interview;
+
+import java.util.List;
+
+/**
+ * Receives roster changes from a {@link MutationStream} on the
+ * subscription's own thread, in publication order and in batches.
+ */
+@FunctionalInterface
+public interface MutationSubscriber {
+
+    /**
+     * Handle the next events. The list and its events are reused once this
+     * returns; copy anything that must be kept.
+     */
+    void onBatch(List<MutationEvent> events);
+}
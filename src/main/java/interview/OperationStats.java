@@ -0,0 +1,138 @@
+package interview;
+
+import java.lang.management.ManagementFactory;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Per-operation counters and latency histograms for a StudentManager.
+ *
+ * Callers bracket an operation with start() and record(). While disabled,
+ * start() returns a sentinel without reading the clock and record() returns
+ * immediately, so the only cost left on the hot path is one volatile read.
+ */
+public class OperationStats implements OperationStatsMBean {
+
+    /**
+     * The StudentManager operations that are timed
+     */
+    public enum Operation {
+        ADD, FIND, LIST, HONOR_ROLL, AVERAGE, SORT, REMOVE, GROUP_BY_HONOR_ROLL,
+        BULK_ADD, BULK_UPDATE, PAGE, QUERY, GROUP_BY, RANK, SAVE, CHECKPOINT, LOAD
+    }
+
+    private static final long DISABLED = Long.MIN_VALUE;
+
+    private final LatencyHistogram[] histograms = new LatencyHistogram[Operation.values().length];
+    private volatile boolean enabled;
+    private ObjectName registeredName;
+
+    public OperationStats(boolean enabled) {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+        this.enabled = enabled;
+    }
+
+    // Start timestamp for record(), or a sentinel when stats are off
+    public long start() {
+        return enabled ? System.nanoTime() : DISABLED;
+    }
+
+    // Record the time since start() against an operation
+    public void record(Operation operation, long start) {
+        if (start != DISABLED) {
+            histograms[operation.ordinal()].record(System.nanoTime() - start);
+        }
+    }
+
+    public LatencyHistogram getHistogram(Operation operation) {
+        return histograms[operation.ordinal()];
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void reset() {
+        for (LatencyHistogram histogram : histograms) {
+            histogram.reset();
+        }
+    }
+
+    @Override
+    public String getReport() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-20s %10s %10s %10s %10s %10s %10s%n",
+                "operation", "count", "mean(us)", "p50(us)", "p99(us)", "p99.9(us)", "max(us)"));
+        for (Operation operation : Operation.values()) {
+            LatencyHistogram h = getHistogram(operation);
+            if (h.getCount() == 0) {
+                continue;
+            }
+            sb.append(String.format("%-20s %10d %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                    operation.name().toLowerCase(), h.getCount(), h.getMean() / 1000.0,
+                    h.getValueAtPercentile(50) / 1000.0, h.getValueAtPercentile(99) / 1000.0,
+                    h.getValueAtPercentile(99.9) / 1000.0, h.getMax() / 1000.0));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String[] getOperationNames() {
+        Operation[] operations = Operation.values();
+        String[] names = new String[operations.length];
+        for (int i = 0; i < operations.length; i++) {
+            names[i] = operations[i].name();
+        }
+        return names;
+    }
+
+    @Override
+    public long getCount(String operation) {
+        return histogramFor(operation).getCount();
+    }
+
+    @Override
+    public double getMeanMicros(String operation) {
+        return histogramFor(operation).getMean() / 1000.0;
+    }
+
+    @Override
+    public double getPercentileMicros(String operation, double percentile) {
+        return histogramFor(operation).getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private LatencyHistogram histogramFor(String operation) {
+        return getHistogram(Operation.valueOf(operation.toUpperCase()));
+    }
+
+    /**
+     * Register with the platform MBean server (once) under the given name,
+     * e.g. "interview:type=StudentManager,name=default"
+     */
+    public synchronized void registerMBean(String objectName) throws JMException {
+        if (registeredName != null) {
+            return;
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(objectName);
+        server.registerMBean(this, name);
+        registeredName = name;
+    }
+
+    public synchronized void unregisterMBean() throws JMException {
+        if (registeredName != null) {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(registeredName);
+            registeredName = null;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package interview;
+
+/**
+ * JMX management interface for OperationStats.
+ * Latencies are reported in microseconds; operation names match
+ * OperationStats.Operation constants (e.g. "FIND", "SAVE").
+ */
+public interface OperationStatsMBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    /**
+     * Clear all counters and histograms
+     */
+    void reset();
+
+    /**
+     * Formatted table of counts and latency percentiles for every operation
+     */
+    String getReport();
+
+    String[] getOperationNames();
+
+    long getCount(String operation);
+
+    double getMeanMicros(String operation);
+
+    double getPercentileMicros(String operation, double percentile);
+}
@@ -0,0 +1,82 @@
+package interview;
+
+/**
+ * Describes which slice of a query result to return.
+ *
+ * A page skips {@code offset} rows, returns at most {@code limit} rows, and
+ * when {@code after} is set starts right after the row for that student name
+ * (a cursor that stays valid while earlier rows are added or removed).
+ */
+public final class PageRequest {
+    public static final int UNLIMITED = Integer.MAX_VALUE;
+    public static final PageRequest ALL = new PageRequest(0, UNLIMITED, null);
+
+    private final int offset;
+    private final int limit;
+    private final String after;
+
+    public PageRequest(int offset, int limit, String after) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset cannot be negative");
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative");
+        }
+        this.offset = offset;
+        this.limit = limit;
+        this.after = after;
+    }
+
+    /**
+     * Parse --limit, --offset and --after flags starting at args[from]
+     */
+    public static PageRequest parse(String[] args, int from) {
+        int offset = 0;
+        int limit = UNLIMITED;
+        String after = null;
+
+        for (int i = from; i < args.length; i++) {
+            String flag = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + flag);
+            }
+            String value = args[++i];
+            switch (flag) {
+                case "--limit":
+                    limit = Integer.parseInt(value);
+                    break;
+                case "--offset":
+                    offset = Integer.parseInt(value);
+                    break;
+                case "--after":
+                    after = value;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + flag);
+            }
+        }
+        return offset == 0 && limit == UNLIMITED && after == null
+                ? ALL : new PageRequest(offset, limit, after);
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public String getAfter() {
+        return after;
+    }
+
+    public boolean isUnbounded() {
+        return limit == UNLIMITED;
+    }
+
+    // Number of leading rows a top-k query has to keep (offset + limit)
+    int getWindow() {
+        return (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,274 @@
+package interview;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A parsed roster query:
+ * <pre>
+ *   [count | avg(f) | sum(f) | min(f) | max(f) [where]] [condition]
+ *   [order by field [asc|desc]] [limit n]
+ * </pre>
+ * Conditions combine comparisons with and / or / not and parentheses, e.g.
+ * {@code gpa >= 3.5 and age < 22 and type = grad order by gpa desc limit 10}.
+ * Use {@link #parse(String)} to build one and QueryPlanner to run it.
+ */
+public final class Query {
+
+    /**
+     * Comparison operators
+     */
+    public enum Op {
+        EQ("="), NE("!="), LT("<"), LE("<="), GT(">"), GE(">=");
+
+        private final String symbol;
+
+        Op(String symbol) {
+            this.symbol = symbol;
+        }
+
+        // Whether a comparison result (as from compareTo) satisfies this operator
+        boolean test(int cmp) {
+            switch (this) {
+                case EQ: return cmp == 0;
+                case NE: return cmp != 0;
+                case LT: return cmp < 0;
+                case LE: return cmp <= 0;
+                case GT: return cmp > 0;
+                default: return cmp >= 0;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return symbol;
+        }
+    }
+
+    /**
+     * Aggregate functions; COUNT ignores its field
+     */
+    public enum Aggregate { COUNT, AVG, SUM, MIN, MAX }
+
+    /**
+     * A node of the condition tree
+     */
+    public abstract static class Node {
+    }
+
+    /**
+     * field op value, e.g. gpa >= 3.5
+     */
+    public static final class Comparison extends Node {
+        private final QueryField field;
+        private final Op op;
+        private final String text;
+        private final double number;
+        private final boolean bool;
+
+        Comparison(QueryField field, Op op, String value) {
+            this.field = field;
+            this.op = op;
+            switch (field.getKind()) {
+                case NUMBER:
+                    try {
+                        this.number = Double.parseDouble(value);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Expected a number for " + field + ": " + value);
+                    }
+                    this.text = value;
+                    this.bool = false;
+                    break;
+                case BOOLEAN:
+                    if (!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+                        throw new IllegalArgumentException("Expected true or false for " + field + ": " + value);
+                    }
+                    if (op != Op.EQ && op != Op.NE) {
+                        throw new IllegalArgumentException("Only = and != apply to " + field);
+                    }
+                    this.bool = Boolean.parseBoolean(value);
+                    this.text = value.toLowerCase();
+                    this.number = 0;
+                    break;
+                default:
+                    // "graduate" is accepted as a synonym for the grad type
+                    this.text = field == QueryField.TYPE && value.equalsIgnoreCase("graduate") ? "grad" : value;
+                    this.number = 0;
+                    this.bool = false;
+            }
+        }
+
+        public QueryField getField() {
+            return field;
+        }
+
+        public Op getOp() {
+            return op;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public double getNumber() {
+            return number;
+        }
+
+        public boolean getBool() {
+            return bool;
+        }
+
+        @Override
+        public String toString() {
+            String value = field.getKind() == QueryField.Kind.TEXT ? "'" + text + "'" : text;
+            return field + " " + op + " " + value;
+        }
+    }
+
+    /**
+     * All children must match
+     */
+    public static final class And extends Node {
+        private final List<Node> children;
+
+        And(List<Node> children) {
+            this.children = Collections.unmodifiableList(new ArrayList<>(children));
+        }
+
+        public List<Node> getChildren() {
+            return children;
+        }
+
+        @Override
+        public String toString() {
+            return join(children, " and ");
+        }
+    }
+
+    /**
+     * At least one child must match
+     */
+    public static final class Or extends Node {
+        private final List<Node> children;
+
+        Or(List<Node> children) {
+            this.children = Collections.unmodifiableList(new ArrayList<>(children));
+        }
+
+        public List<Node> getChildren() {
+            return children;
+        }
+
+        @Override
+        public String toString() {
+            return join(children, " or ");
+        }
+    }
+
+    /**
+     * The child must not match
+     */
+    public static final class Not extends Node {
+        private final Node child;
+
+        Not(Node child) {
+            this.child = child;
+        }
+
+        public Node getChild() {
+            return child;
+        }
+
+        @Override
+        public String toString() {
+            return "not " + (child instanceof Comparison ? child.toString() : "(" + child + ")");
+        }
+    }
+
+    private final Node condition;
+    private final QueryField orderBy;
+    private final boolean descending;
+    private final int limit;
+    private final Aggregate aggregate;
+    private final QueryField aggregateField;
+
+    Query(Node condition, QueryField orderBy, boolean descending, int limit,
+          Aggregate aggregate, QueryField aggregateField) {
+        this.condition = condition;
+        this.orderBy = orderBy;
+        this.descending = descending;
+        this.limit = limit;
+        this.aggregate = aggregate;
+        this.aggregateField = aggregateField;
+    }
+
+    /**
+     * Parse query text; throws IllegalArgumentException on syntax errors
+     */
+    public static Query parse(String text) {
+        return new QueryParser(text).parse();
+    }
+
+    // Condition tree, or null to match every student
+    public Node getCondition() {
+        return condition;
+    }
+
+    // Sort field, or null to keep roster order
+    public QueryField getOrderBy() {
+        return orderBy;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    // Maximum rows to return, or PageRequest.UNLIMITED
+    public int getLimit() {
+        return limit;
+    }
+
+    // Aggregate to compute instead of returning rows, or null
+    public Aggregate getAggregate() {
+        return aggregate;
+    }
+
+    public QueryField getAggregateField() {
+        return aggregateField;
+    }
+
+    private static String join(List<Node> nodes, String separator) {
+        StringBuilder sb = new StringBuilder("(");
+        for (int i = 0; i < nodes.size(); i++) {
+            if (i > 0) {
+                sb.append(separator);
+            }
+            sb.append(nodes.get(i));
+        }
+        return sb.append(')').toString();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        if (aggregate != null) {
+            sb.append(aggregate == Aggregate.COUNT
+                    ? "count" : aggregate.name().toLowerCase() + "(" + aggregateField + ")");
+            if (condition != null) {
+                sb.append(" where ");
+            }
+        }
+        if (condition != null) {
+            sb.append(condition);
+        }
+        if (orderBy != null) {
+            sb.append(sb.length() > 0 ? " " : "").append("order by ").append(orderBy)
+              .append(descending ? " desc" : " asc");
+        }
+        if (limit != PageRequest.UNLIMITED) {
+            sb.append(sb.length() > 0 ? " " : "").append("limit ").append(limit);
+        }
+        return sb.length() == 0 ? "(all students)" : sb.toString();
+    }
+}
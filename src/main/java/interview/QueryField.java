@@ -0,0 +1,77 @@
+package interview;
+
+/**
+ * Student attributes that can be filtered, ordered and aggregated in a query.
+ * Graduate-only fields (advisor, degree) read as null for undergraduates.
+ */
+public enum QueryField {
+    NAME(Kind.TEXT),
+    AGE(Kind.NUMBER),
+    GPA(Kind.NUMBER),
+    TYPE(Kind.TEXT),
+    HONORS(Kind.BOOLEAN),
+    PASSING(Kind.BOOLEAN),
+    PHD(Kind.BOOLEAN),
+    STANDING(Kind.TEXT),
+    GRADE(Kind.TEXT),
+    ADVISOR(Kind.TEXT),
+    DEGREE(Kind.TEXT);
+
+    /**
+     * How a field's values are compared
+     */
+    public enum Kind { NUMBER, TEXT, BOOLEAN }
+
+    private final Kind kind;
+
+    QueryField(Kind kind) {
+        this.kind = kind;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    // Look up a field by its query name (case-insensitive)
+    public static QueryField parse(String name) {
+        try {
+            return valueOf(name.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown field: " + name);
+        }
+    }
+
+    public double number(Student s) {
+        switch (this) {
+            case AGE: return s.getAge();
+            case GPA: return s.getGpa();
+            default: throw new IllegalStateException(this + " is not numeric");
+        }
+    }
+
+    public boolean bool(Student s) {
+        switch (this) {
+            case HONORS: return s.isHonorRoll();
+            case PASSING: return s.isPassing();
+            case PHD: return s instanceof GraduateStudent && ((GraduateStudent) s).isPhD();
+            default: throw new IllegalStateException(this + " is not boolean");
+        }
+    }
+
+    public String text(Student s) {
+        switch (this) {
+            case NAME: return s.getName();
+            case TYPE: return s instanceof GraduateStudent ? "grad" : "student";
+            case STANDING: return s.getAcademicStanding();
+            case GRADE: return s.getLetterGrade();
+            case ADVISOR: return s instanceof GraduateStudent ? ((GraduateStudent) s).getAdvisor() : null;
+            case DEGREE: return s instanceof GraduateStudent ? ((GraduateStudent) s).getDegreeType() : null;
+            default: throw new IllegalStateException(this + " is not text");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,17 @@
+package interview;
+
+/**
+ * A secondary index that the query planner can consult instead of scanning.
+ * Row numbers are positions in the roster the plan is built against.
+ */
+interface QueryIndex {
+
+    // Short name shown by explain
+    String getName();
+
+    /**
+     * Exact set of rows satisfying the comparison, or null when this index
+     * does not cover it. Callers must not modify the returned set.
+     */
+    CompressedBitmap lookup(Query.Comparison comparison);
+}
@@ -0,0 +1,218 @@
+package interview;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Recursive-descent parser for the query language described on {@link Query}.
+ * Keywords are case-insensitive; text values may be bare words or quoted
+ * with single or double quotes ('Dr. Johnson').
+ */
+final class QueryParser {
+
+    private static final class Token {
+        final String text;
+        final boolean quoted;
+
+        Token(String text, boolean quoted) {
+            this.text = text;
+            this.quoted = quoted;
+        }
+
+        boolean is(String keyword) {
+            return !quoted && text.equalsIgnoreCase(keyword);
+        }
+    }
+
+    private final String source;
+    private final List<Token> tokens;
+    private int pos;
+
+    QueryParser(String source) {
+        this.source = source;
+        this.tokens = lex(source);
+    }
+
+    Query parse() {
+        Query.Aggregate aggregate = null;
+        QueryField aggregateField = null;
+        if (peekIs("count")) {
+            pos++;
+            aggregate = Query.Aggregate.COUNT;
+        } else if (peekIs("avg") || peekIs("sum") || peekIs("min") || peekIs("max")) {
+            aggregate = Query.Aggregate.valueOf(next().text.toUpperCase());
+            expect("(");
+            aggregateField = QueryField.parse(next().text);
+            if (aggregateField.getKind() != QueryField.Kind.NUMBER) {
+                throw error(aggregate.name().toLowerCase() + " needs a numeric field, not " + aggregateField);
+            }
+            expect(")");
+        }
+        if (peekIs("where")) {
+            pos++;
+        }
+
+        Query.Node condition = null;
+        if (!atEnd() && !peekIs("order") && !peekIs("limit")) {
+            condition = parseOr();
+        }
+
+        QueryField orderBy = null;
+        boolean descending = false;
+        if (peekIs("order")) {
+            pos++;
+            expect("by");
+            orderBy = QueryField.parse(next().text);
+            if (peekIs("desc")) {
+                pos++;
+                descending = true;
+            } else if (peekIs("asc")) {
+                pos++;
+            }
+        }
+
+        int limit = PageRequest.UNLIMITED;
+        if (peekIs("limit")) {
+            pos++;
+            String value = next().text;
+            try {
+                limit = Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                throw error("Expected a number after limit: " + value);
+            }
+            if (limit < 0) {
+                throw error("Limit cannot be negative");
+            }
+        }
+
+        if (!atEnd()) {
+            throw error("Unexpected '" + tokens.get(pos).text + "'");
+        }
+        return new Query(condition, orderBy, descending, limit, aggregate, aggregateField);
+    }
+
+    private Query.Node parseOr() {
+        List<Query.Node> children = new ArrayList<>();
+        children.add(parseAnd());
+        while (peekIs("or")) {
+            pos++;
+            children.add(parseAnd());
+        }
+        return children.size() == 1 ? children.get(0) : new Query.Or(children);
+    }
+
+    private Query.Node parseAnd() {
+        List<Query.Node> children = new ArrayList<>();
+        children.add(parsePrimary());
+        while (peekIs("and")) {
+            pos++;
+            children.add(parsePrimary());
+        }
+        return children.size() == 1 ? children.get(0) : new Query.And(children);
+    }
+
+    private Query.Node parsePrimary() {
+        if (peekIs("not")) {
+            pos++;
+            return new Query.Not(parsePrimary());
+        }
+        if (peekIs("(")) {
+            pos++;
+            Query.Node inner = parseOr();
+            expect(")");
+            return inner;
+        }
+
+        QueryField field = QueryField.parse(next().text);
+        Query.Op op = peekOp();
+        if (op == null) {
+            // A bare boolean field such as "honors" means "honors = true"
+            if (field.getKind() != QueryField.Kind.BOOLEAN) {
+                throw error("Expected a comparison after " + field);
+            }
+            return new Query.Comparison(field, Query.Op.EQ, "true");
+        }
+        pos++;
+        return new Query.Comparison(field, op, next().text);
+    }
+
+    private Query.Op peekOp() {
+        if (atEnd() || tokens.get(pos).quoted) {
+            return null;
+        }
+        for (Query.Op op : Query.Op.values()) {
+            if (op.toString().equals(tokens.get(pos).text)) {
+                return op;
+            }
+        }
+        return null;
+    }
+
+    private boolean atEnd() {
+        return pos >= tokens.size();
+    }
+
+    private boolean peekIs(String keyword) {
+        return !atEnd() && tokens.get(pos).is(keyword);
+    }
+
+    private Token next() {
+        if (atEnd()) {
+            throw error("Unexpected end of query");
+        }
+        return tokens.get(pos++);
+    }
+
+    private void expect(String keyword) {
+        if (!peekIs(keyword)) {
+            throw error("Expected '" + keyword + "'");
+        }
+        pos++;
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " in query: " + source);
+    }
+
+    private static List<Token> lex(String source) {
+        List<Token> tokens = new ArrayList<>();
+        int i = 0;
+        int n = source.length();
+        while (i < n) {
+            char c = source.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '\'' || c == '"') {
+                int end = source.indexOf(c, i + 1);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Unterminated quote in query: " + source);
+                }
+                tokens.add(new Token(source.substring(i + 1, end), true));
+                i = end + 1;
+            } else if (c == '(' || c == ')') {
+                tokens.add(new Token(String.valueOf(c), false));
+                i++;
+            } else if (c == '<' || c == '>' || c == '!' || c == '=') {
+                int end = i + 1;
+                if (end < n && source.charAt(end) == '=' && c != '=') {
+                    end++;
+                }
+                String op = source.substring(i, end);
+                if (op.equals("!")) {
+                    throw new IllegalArgumentException("Expected != in query: " + source);
+                }
+                tokens.add(new Token(op, false));
+                i = end;
+            } else {
+                int end = i;
+                while (end < n && !Character.isWhitespace(source.charAt(end))
+                        && "()<>!='\"".indexOf(source.charAt(end)) < 0) {
+                    end++;
+                }
+                tokens.add(new Token(source.substring(i, end), false));
+                i = end;
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,251 @@
+package interview;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+/**
+ * An executable plan produced by QueryPlanner. Execution is a single pass
+ * over either every row or the index candidates, feeding each surviving row
+ * straight into the aggregate, a top-k heap, or the output list.
+ */
+public final class QueryPlan {
+    private final Query query;
+    private final List<Student> roster;
+    private final QueryPlanner.Access access;
+    private final Predicate<Student> filter;
+    private final List<String> indexesUsed;
+
+    QueryPlan(Query query, List<Student> roster, QueryPlanner.Access access,
+              Predicate<Student> filter, List<String> indexesUsed) {
+        this.query = query;
+        this.roster = roster;
+        this.access = access;
+        this.filter = filter;
+        this.indexesUsed = indexesUsed;
+    }
+
+    public Query getQuery() {
+        return query;
+    }
+
+    // True when at least one index narrowed the rows to read
+    public boolean usesIndex() {
+        return access.rows != null;
+    }
+
+    /**
+     * Run the plan
+     */
+    public QueryResult execute() {
+        Query.Aggregate aggregate = query.getAggregate();
+        if (isCountOnly()) {
+            // Answered from the row count or index cardinality: no row is read
+            return new QueryResult(access.exact ? access.rows.cardinality() : roster.size(), 0);
+        }
+
+        Sink sink = aggregate != null ? new AggregateSink(aggregate, query.getAggregateField())
+                : query.getOrderBy() != null ? new SortedSink(query)
+                : new ListSink(query.getLimit());
+
+        long examined = 0;
+        if (access.rows == null) {
+            for (int i = 0, n = roster.size(); i < n && !sink.isFull(); i++) {
+                examined++;
+                Student s = roster.get(i);
+                if (filter == null || filter.test(s)) {
+                    sink.accept(s);
+                }
+            }
+        } else {
+            PrimitiveIterator.OfInt rows = access.rows.iterator();
+            while (rows.hasNext() && !sink.isFull()) {
+                int i = rows.nextInt();
+                if (i >= roster.size()) {
+                    break;
+                }
+                examined++;
+                Student s = roster.get(i);
+                if (filter == null || filter.test(s)) {
+                    sink.accept(s);
+                }
+            }
+        }
+        return sink.result(examined);
+    }
+
+    /**
+     * Human-readable description of how the query will run
+     */
+    public String explain() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Query:  ").append(query).append('\n');
+
+        if (access.rows == null) {
+            sb.append("Access: full scan of ").append(roster.size()).append(" rows");
+            if (query.getCondition() != null) {
+                sb.append(" (no index covers this condition)");
+            }
+        } else {
+            sb.append("Access: index ").append(String.join(", ", indexesUsed))
+              .append(" -> ").append(access.rows.cardinality()).append(" of ")
+              .append(roster.size()).append(" rows");
+        }
+        sb.append('\n');
+
+        sb.append("Filter: ");
+        if (query.getCondition() == null) {
+            sb.append("none");
+        } else if (filter == null) {
+            sb.append("none (index result is exact)");
+        } else {
+            sb.append(query.getCondition()).append(access.rows == null
+                    ? " (single fused predicate per row)" : " (re-checked on candidate rows)");
+        }
+        sb.append('\n');
+
+        Query.Aggregate aggregate = query.getAggregate();
+        if (isCountOnly()) {
+            sb.append(access.exact ? "Output: count from index cardinality, no rows read"
+                    : "Output: count of all rows, no rows read");
+        } else if (aggregate != null) {
+            sb.append("Output: ").append(aggregate.name().toLowerCase());
+            if (aggregate != Query.Aggregate.COUNT) {
+                sb.append('(').append(query.getAggregateField()).append(')');
+            }
+            sb.append(" accumulated in the same pass");
+        } else if (query.getOrderBy() != null) {
+            sb.append("Order:  ").append(query.getOrderBy())
+              .append(query.isDescending() ? " desc" : " asc")
+              .append(query.getLimit() == PageRequest.UNLIMITED
+                      ? " via full sort of matches"
+                      : " via top-" + query.getLimit() + " heap");
+        } else if (query.getLimit() != PageRequest.UNLIMITED) {
+            sb.append("Output: roster order, stop after ").append(query.getLimit()).append(" matches");
+        } else {
+            sb.append("Output: roster order");
+        }
+        return sb.append('\n').toString();
+    }
+
+    private boolean isCountOnly() {
+        return query.getAggregate() == Query.Aggregate.COUNT
+                && (query.getCondition() == null || access.exact);
+    }
+
+    private interface Sink {
+        void accept(Student s);
+
+        // True once no further rows can change the result
+        default boolean isFull() {
+            return false;
+        }
+
+        QueryResult result(long examined);
+    }
+
+    private static final class ListSink implements Sink {
+        private final int limit;
+        private final List<Student> rows = new ArrayList<>();
+
+        ListSink(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public void accept(Student s) {
+            rows.add(s);
+        }
+
+        @Override
+        public boolean isFull() {
+            return rows.size() >= limit;
+        }
+
+        @Override
+        public QueryResult result(long examined) {
+            return new QueryResult(rows, examined);
+        }
+    }
+
+    // Keeps the best `limit` rows in a heap, or all rows when unlimited
+    private static final class SortedSink implements Sink {
+        private final Comparator<Student> order;
+        private final int limit;
+        private final PriorityQueue<Student> heap;
+        private final List<Student> all;
+
+        SortedSink(Query query) {
+            this.order = QueryPlanner.comparator(query.getOrderBy(), query.isDescending());
+            this.limit = query.getLimit();
+            boolean bounded = limit != PageRequest.UNLIMITED;
+            this.heap = bounded ? new PriorityQueue<>(Math.min(limit, 1024) + 1, order.reversed()) : null;
+            this.all = bounded ? null : new ArrayList<>();
+        }
+
+        @Override
+        public void accept(Student s) {
+            if (heap == null) {
+                all.add(s);
+            } else if (heap.size() < limit) {
+                heap.add(s);
+            } else if (limit > 0 && order.compare(s, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(s);
+            }
+        }
+
+        @Override
+        public QueryResult result(long examined) {
+            List<Student> rows = heap == null ? all : new ArrayList<>(heap);
+            rows.sort(order);
+            return new QueryResult(rows, examined);
+        }
+    }
+
+    private static final class AggregateSink implements Sink {
+        private final Query.Aggregate aggregate;
+        private final QueryField field;
+        private long count;
+        private double sum;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+
+        AggregateSink(Query.Aggregate aggregate, QueryField field) {
+            this.aggregate = aggregate;
+            this.field = field;
+        }
+
+        @Override
+        public void accept(Student s) {
+            count++;
+            if (field != null) {
+                double v = field.number(s);
+                sum += v;
+                min = Math.min(min, v);
+                max = Math.max(max, v);
+            }
+        }
+
+        @Override
+        public QueryResult result(long examined) {
+            double value;
+            switch (aggregate) {
+                case COUNT: value = count; break;
+                case SUM: value = sum; break;
+                case AVG: value = count == 0 ? Double.NaN : sum / count; break;
+                case MIN: value = count == 0 ? Double.NaN : min; break;
+                default: value = count == 0 ? Double.NaN : max;
+            }
+            return new QueryResult(value, examined);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return explain();
+    }
+}
@@ -0,0 +1,202 @@
+package interview;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Turns a parsed Query into an executable QueryPlan.
+ *
+ * The condition tree is compiled once into a single fused predicate, so each
+ * row is tested in one pass without intermediate lists. Comparisons that an
+ * index covers are answered from the index: AND children intersect their row
+ * sets, OR children union them (only when every branch is covered), and NOT
+ * complements an exact set. If the index answer is exact the predicate is not
+ * evaluated at all; otherwise only the candidate rows are re-checked.
+ */
+final class QueryPlanner {
+
+    // Rows an index narrowed the query down to; null rows means "scan everything"
+    static final class Access {
+        static final Access SCAN = new Access(null, false);
+
+        final CompressedBitmap rows;
+        final boolean exact;
+
+        Access(CompressedBitmap rows, boolean exact) {
+            this.rows = rows;
+            this.exact = exact;
+        }
+    }
+
+    private final List<Student> roster;
+    private final List<QueryIndex> indexes;
+    private final List<String> indexesUsed = new ArrayList<>();
+
+    private QueryPlanner(List<Student> roster, List<QueryIndex> indexes) {
+        this.roster = roster;
+        this.indexes = indexes;
+    }
+
+    /**
+     * Plan a query against the given roster and the indexes built over it
+     */
+    static QueryPlan plan(Query query, List<Student> roster, List<QueryIndex> indexes) {
+        QueryPlanner planner = new QueryPlanner(roster, indexes);
+        Query.Node condition = query.getCondition();
+        Access access = condition == null ? Access.SCAN : planner.access(condition);
+        Predicate<Student> filter = condition == null || access.exact ? null : compile(condition);
+        return new QueryPlan(query, roster, access, filter, planner.indexesUsed);
+    }
+
+    private Access access(Query.Node node) {
+        if (node instanceof Query.Comparison) {
+            Query.Comparison comparison = (Query.Comparison) node;
+            for (QueryIndex index : indexes) {
+                CompressedBitmap rows = index.lookup(comparison);
+                if (rows != null) {
+                    indexesUsed.add(index.getName() + " [" + comparison + "]");
+                    return new Access(rows, true);
+                }
+            }
+            return Access.SCAN;
+        }
+
+        if (node instanceof Query.And) {
+            CompressedBitmap rows = null;
+            boolean exact = true;
+            for (Query.Node child : ((Query.And) node).getChildren()) {
+                Access a = access(child);
+                if (a.rows == null) {
+                    exact = false;
+                    continue;
+                }
+                exact &= a.exact;
+                rows = rows == null ? a.rows : CompressedBitmap.and(rows, a.rows);
+            }
+            return rows == null ? Access.SCAN : new Access(rows, exact);
+        }
+
+        if (node instanceof Query.Or) {
+            CompressedBitmap rows = new CompressedBitmap();
+            boolean exact = true;
+            for (Query.Node child : ((Query.Or) node).getChildren()) {
+                Access a = access(child);
+                if (a.rows == null) {
+                    return Access.SCAN;
+                }
+                exact &= a.exact;
+                rows = CompressedBitmap.or(rows, a.rows);
+            }
+            return new Access(rows, exact);
+        }
+
+        Access inner = access(((Query.Not) node).getChild());
+        if (inner.rows == null || !inner.exact) {
+            return Access.SCAN;
+        }
+        return new Access(CompressedBitmap.andNot(CompressedBitmap.range(0, roster.size()), inner.rows), true);
+    }
+
+    /**
+     * Compile a condition tree into one predicate, specialised per field and operator
+     */
+    static Predicate<Student> compile(Query.Node node) {
+        if (node instanceof Query.Comparison) {
+            return compileComparison((Query.Comparison) node);
+        }
+        if (node instanceof Query.And) {
+            Predicate<Student>[] parts = compileAll(((Query.And) node).getChildren());
+            return s -> {
+                for (Predicate<Student> part : parts) {
+                    if (!part.test(s)) {
+                        return false;
+                    }
+                }
+                return true;
+            };
+        }
+        if (node instanceof Query.Or) {
+            Predicate<Student>[] parts = compileAll(((Query.Or) node).getChildren());
+            return s -> {
+                for (Predicate<Student> part : parts) {
+                    if (part.test(s)) {
+                        return true;
+                    }
+                }
+                return false;
+            };
+        }
+        Predicate<Student> inner = compile(((Query.Not) node).getChild());
+        return s -> !inner.test(s);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate<Student>[] compileAll(List<Query.Node> nodes) {
+        Predicate<Student>[] parts = new Predicate[nodes.size()];
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = compile(nodes.get(i));
+        }
+        return parts;
+    }
+
+    private static Predicate<Student> compileComparison(Query.Comparison c) {
+        QueryField field = c.getField();
+        switch (field.getKind()) {
+            case NUMBER: {
+                ToDoubleFunction<Student> getter = field == QueryField.GPA ? Student::getGpa : s -> s.getAge();
+                double v = c.getNumber();
+                switch (c.getOp()) {
+                    case EQ: return s -> getter.applyAsDouble(s) == v;
+                    case NE: return s -> getter.applyAsDouble(s) != v;
+                    case LT: return s -> getter.applyAsDouble(s) < v;
+                    case LE: return s -> getter.applyAsDouble(s) <= v;
+                    case GT: return s -> getter.applyAsDouble(s) > v;
+                    default: return s -> getter.applyAsDouble(s) >= v;
+                }
+            }
+            case BOOLEAN: {
+                boolean wanted = c.getOp() == Query.Op.EQ ? c.getBool() : !c.getBool();
+                return s -> field.bool(s) == wanted;
+            }
+            default: {
+                Function<Student, String> getter = field::text;
+                String v = c.getText();
+                Query.Op op = c.getOp();
+                if (op == Query.Op.EQ) {
+                    return s -> v.equalsIgnoreCase(getter.apply(s));
+                }
+                // Missing values (e.g. advisor of an undergraduate) never match
+                return s -> {
+                    String actual = getter.apply(s);
+                    return actual != null && op.test(actual.compareToIgnoreCase(v));
+                };
+            }
+        }
+    }
+
+    /**
+     * Order by a field, breaking ties by name so results are deterministic
+     */
+    static Comparator<Student> comparator(QueryField field, boolean descending) {
+        Comparator<Student> byField;
+        switch (field.getKind()) {
+            case NUMBER:
+                byField = Comparator.comparingDouble(field::number);
+                break;
+            case BOOLEAN:
+                byField = (a, b) -> Boolean.compare(field.bool(a), field.bool(b));
+                break;
+            default:
+                byField = Comparator.comparing(field::text,
+                        Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+        }
+        if (descending) {
+            byField = byField.reversed();
+        }
+        return byField.thenComparing(Student::getName, String.CASE_INSENSITIVE_ORDER);
+    }
+}
@@ -0,0 +1,58 @@
+package interview;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Output of a query: either the matching rows or a single aggregate value,
+ * plus how many rows the plan had to examine to produce it.
+ */
+public final class QueryResult {
+    private final List<Student> rows;
+    private final double aggregate;
+    private final boolean isAggregate;
+    private final long rowsExamined;
+
+    QueryResult(List<Student> rows, long rowsExamined) {
+        this.rows = rows;
+        this.aggregate = Double.NaN;
+        this.isAggregate = false;
+        this.rowsExamined = rowsExamined;
+    }
+
+    QueryResult(double aggregate, long rowsExamined) {
+        this.rows = Collections.emptyList();
+        this.aggregate = aggregate;
+        this.isAggregate = true;
+        this.rowsExamined = rowsExamined;
+    }
+
+    public List<Student> getRows() {
+        return rows;
+    }
+
+    public boolean isAggregate() {
+        return isAggregate;
+    }
+
+    // Aggregate value (NaN for avg/min/max over no rows, or for row queries)
+    public double getAggregate() {
+        return aggregate;
+    }
+
+    // Rows read from the roster; an index-only count reads none
+    public long getRowsExamined() {
+        return rowsExamined;
+    }
+
+    // Same result with its own row list
+    QueryResult copy() {
+        return isAggregate ? this : new QueryResult(new ArrayList<>(rows), rowsExamined);
+    }
+
+    // Number of rows returned, or 1 for an aggregate
+    public int size() {
+        return isAggregate ? 1 : rows.size();
+    }
+}
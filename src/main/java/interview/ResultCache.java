@@ -0,0 +1,141 @@
+package interview;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Bounded cache of query results for a StudentManager.
+ *
+ * Every entry is tagged with the roster's modification epoch when it was
+ * computed; a lookup only hits if the epoch still matches, so a result can
+ * never outlive a change to the roster. Entries are weighed by an estimate
+ * of the memory they retain and the least recently used ones are evicted
+ * once the total weight passes the budget.
+ */
+public class ResultCache {
+
+    private static final class Entry {
+        final long epoch;
+        final Object value;
+        final long weight;
+
+        Entry(long epoch, Object value, long weight) {
+            this.epoch = epoch;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    private final long maxWeight;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public ResultCache(long maxWeight) {
+        if (maxWeight < 0) {
+            throw new IllegalArgumentException("Cache budget cannot be negative");
+        }
+        this.maxWeight = maxWeight;
+    }
+
+    // Estimated bytes retained by a list or array of n references
+    static long referencesWeight(int n) {
+        return 32 + 4L * n;
+    }
+
+    /**
+     * Cached value for the key if it was computed at this epoch, else null
+     */
+    @SuppressWarnings("unchecked")
+    <T> T get(String key, long epoch) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (entry.epoch != epoch) {
+            entries.remove(key);
+            weight -= entry.weight;
+            misses++;
+            return null;
+        }
+        hits++;
+        return (T) entry.value;
+    }
+
+    // Whether a value of this weight can be cached at all
+    boolean fits(long valueWeight) {
+        return valueWeight <= maxWeight;
+    }
+
+    void put(String key, long epoch, Object value, long valueWeight) {
+        if (!fits(valueWeight)) {
+            return;
+        }
+        Entry previous = entries.put(key, new Entry(epoch, value, valueWeight));
+        if (previous != null) {
+            weight -= previous.weight;
+        }
+        weight += valueWeight;
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (weight > maxWeight) {
+            Entry e = eldest.next();
+            eldest.remove();
+            weight -= e.weight;
+            evictions++;
+        }
+    }
+
+    // Drop one entry, returning its value (or null), e.g. because the data behind it is gone
+    Object remove(String key) {
+        Entry entry = entries.remove(key);
+        if (entry == null) {
+            return null;
+        }
+        weight -= entry.weight;
+        return entry.value;
+    }
+
+    public void clear() {
+        entries.clear();
+        weight = 0;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public int getEntryCount() {
+        return entries.size();
+    }
+
+    // Estimated bytes held by cached results
+    public long getWeight() {
+        return weight;
+    }
+
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    public double getHitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Result cache: %d hits, %d misses (%.1f%% hit ratio), %d entries, %d of %d bytes, %d evictions",
+                hits, misses, 100 * getHitRatio(), entries.size(), weight, maxWeight, evictions);
+    }
+}
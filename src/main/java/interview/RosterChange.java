@@ -0,0 +1,104 @@
+package interview;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * One difference found by RosterDiff: a student only in the newer snapshot
+ * (ADDED), only in the older one (REMOVED), or in both under the same name
+ * but not equal (CHANGED, with the fields that differ). Graduate fields
+ * count as absent on plain students, so a change of type shows up as
+ * thesis_title, advisor and phd changes.
+ */
+public final class RosterChange {
+
+    public enum Kind {
+        ADDED, REMOVED, CHANGED
+    }
+
+    private final Kind kind;
+    private final Student before;
+    private final Student after;
+    private final Set<StudentField> fields;
+
+    RosterChange(Kind kind, Student before, Student after) {
+        this.kind = kind;
+        this.before = before;
+        this.after = after;
+        this.fields = kind == Kind.CHANGED ? differences(before, after) : Collections.emptySet();
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    // Name in the newer snapshot, or the older one for removals
+    public String getName() {
+        return after != null ? after.getName() : before.getName();
+    }
+
+    // The student in the older snapshot; null when added
+    public Student getBefore() {
+        return before;
+    }
+
+    // The student in the newer snapshot; null when removed
+    public Student getAfter() {
+        return after;
+    }
+
+    // Fields that differ; empty unless CHANGED
+    public Set<StudentField> getFields() {
+        return fields;
+    }
+
+    private static Set<StudentField> differences(Student a, Student b) {
+        Set<StudentField> changed = EnumSet.noneOf(StudentField.class);
+        for (StudentField field : StudentField.values()) {
+            if (!Objects.equals(valueOf(a, field), valueOf(b, field))) {
+                changed.add(field);
+            }
+        }
+        return Collections.unmodifiableSet(changed);
+    }
+
+    // A field's value, or null for graduate fields of a plain student
+    static Object valueOf(Student s, StudentField field) {
+        switch (field) {
+            case NAME: return s.getName();
+            case AGE: return s.getAge();
+            case GPA: return s.getGpa();
+            default:
+                if (!(s instanceof GraduateStudent)) {
+                    return null;
+                }
+                GraduateStudent g = (GraduateStudent) s;
+                return field == StudentField.THESIS_TITLE ? g.getThesisTitle()
+                        : field == StudentField.ADVISOR ? g.getAdvisor() : (Object) g.isPhD();
+        }
+    }
+
+    @Override
+    public String toString() {
+        if (kind == Kind.ADDED) {
+            return "+ " + after;
+        }
+        if (kind == Kind.REMOVED) {
+            return "- " + before;
+        }
+        StringBuilder sb = new StringBuilder("~ ").append(getName()).append(':');
+        String separator = " ";
+        for (StudentField field : fields) {
+            sb.append(separator).append(field.name().toLowerCase()).append(' ')
+                    .append(render(valueOf(before, field))).append(" -> ").append(render(valueOf(after, field)));
+            separator = "; ";
+        }
+        return sb.toString();
+    }
+
+    private static String render(Object value) {
+        return value == null ? "(none)" : value.toString();
+    }
+}
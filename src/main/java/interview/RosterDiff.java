@@ -0,0 +1,99 @@
+package interview;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.function.Consumer;
+
+/**
+ * Compares two roster snapshot files record by record.
+ *
+ * Both files are streamed in name order (case-folded, as findByName
+ * matches) through RosterFileSorter, which spills sorted runs to disk once
+ * its share of the memory budget is used, and then joined with a single
+ * sort-merge pass: a name only on the left was removed, one only on the
+ * right was added, and one on both sides changed unless the two students
+ * are equal. Memory use is set by the budget, not by the roster sizes.
+ * Students sharing a name are paired in file order.
+ */
+public final class RosterDiff {
+    private final long memoryBytes;
+    private long added;
+    private long removed;
+    private long changed;
+    private long unchanged;
+    private long nanos;
+
+    public RosterDiff(long memoryBytes) {
+        if (memoryBytes <= 0) {
+            throw new IllegalArgumentException("Memory budget must be positive");
+        }
+        this.memoryBytes = memoryBytes;
+    }
+
+    /**
+     * Report every difference between older and newer to changes, in name order
+     */
+    public RosterDiff run(Path older, Path newer, Consumer<? super RosterChange> changes)
+            throws IOException, ClassNotFoundException {
+        added = 0;
+        removed = 0;
+        changed = 0;
+        unchanged = 0;
+        long start = System.nanoTime();
+        Path spill = Paths.get(System.getProperty("java.io.tmpdir"));
+        long share = Math.max(1, memoryBytes / 2);
+        RosterFileSorter left = new RosterFileSorter(share, RosterFileSorter.BY_NAME);
+        RosterFileSorter right = new RosterFileSorter(share, RosterFileSorter.BY_NAME);
+        try (RosterFileSorter.Cursor a = left.open(older, spill);
+             RosterFileSorter.Cursor b = right.open(newer, spill)) {
+            Student x = a.next();
+            Student y = b.next();
+            while (x != null || y != null) {
+                int c = x == null ? 1 : y == null ? -1 : RosterFileSorter.BY_NAME.compare(x, y);
+                if (c < 0) {
+                    removed++;
+                    changes.accept(new RosterChange(RosterChange.Kind.REMOVED, x, null));
+                    x = a.next();
+                } else if (c > 0) {
+                    added++;
+                    changes.accept(new RosterChange(RosterChange.Kind.ADDED, null, y));
+                    y = b.next();
+                } else {
+                    if (x.equals(y)) {
+                        unchanged++;
+                    } else {
+                        changed++;
+                        changes.accept(new RosterChange(RosterChange.Kind.CHANGED, x, y));
+                    }
+                    x = a.next();
+                    y = b.next();
+                }
+            }
+        }
+        nanos = System.nanoTime() - start;
+        return this;
+    }
+
+    public long getAdded() {
+        return added;
+    }
+
+    public long getRemoved() {
+        return removed;
+    }
+
+    public long getChanged() {
+        return changed;
+    }
+
+    public long getUnchanged() {
+        return unchanged;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d added, %d removed, %d changed, %d unchanged in %.1f ms",
+                added, removed, changed, unchanged, nanos / 1e6);
+    }
+}
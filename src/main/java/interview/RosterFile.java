@@ -0,0 +1,436 @@
+package interview;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Reads and writes roster snapshot files.
+ *
+ * Layout:
+ * <pre>
+ *   header   magic "ROST", format version
+ *   body     Java serialization stream of Student objects ending with null
+ *   footer   RosterSummary aggregates, CRC32 of the body, random base id
+ *   trailer  footer offset, footer length, CRC32 of the footer, magic
+ * </pre>
+ * The fixed-size trailer lets {@link #readSummary(Path)} seek straight to the
+ * footer, so counts and averages cost the same for ten students or ten million.
+ * Records are written and read one at a time, and files written before the
+ * footer existed (a single serialized List) can still be loaded.
+ */
+public final class RosterFile {
+    static final int MAGIC = 0x524F5354; // "ROST"
+    static final int VERSION = 1;
+    static final int BUFFER_SIZE = 1 << 16;
+
+    private static final int HEADER_SIZE = 8;
+    private static final int TRAILER_SIZE = 8 + 4 + 4 + 4;
+    // Clear the serialization handle table every so often to bound its memory
+    private static final int RESET_INTERVAL = 1024;
+
+    private RosterFile() {
+    }
+
+    /**
+     * Write all students to a snapshot file, returning the summary stored in its footer
+     */
+    public static RosterSummary write(Path path, Iterable<? extends Student> students) throws IOException {
+        try (RecordWriter writer = new RecordWriter(path)) {
+            for (Student student : students) {
+                writer.write(student);
+            }
+            return writer.finish();
+        }
+    }
+
+    /**
+     * Write all students to a temporary file next to path, force it to disk and
+     * rename it over path in one atomic step, so a crash part way through leaves
+     * the previous file whole; returns the summary stored in its footer
+     */
+    public static RosterSummary replace(Path path, Iterable<? extends Student> students) throws IOException {
+        Path dir = path.toAbsolutePath().getParent();
+        // Created like write() creates its file, so the replaced file keeps the usual permissions
+        Path temp = dir.resolve(path.getFileName() + "." + System.nanoTime() + ".tmp");
+        try {
+            RosterSummary summary = write(temp, students);
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return summary;
+        } catch (IOException | RuntimeException e) {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Read every student from a snapshot file (either format)
+     */
+    public static List<Student> readAll(Path path) throws IOException, ClassNotFoundException {
+        try (RecordReader reader = new RecordReader(path)) {
+            long expected = reader.getSummary() != null ? reader.getSummary().getCount() : 16;
+            List<Student> students = new ArrayList<>((int) Math.min(expected, Integer.MAX_VALUE - 8));
+            Student student;
+            while ((student = reader.next()) != null) {
+                students.add(student);
+            }
+            return students;
+        }
+    }
+
+    /**
+     * Read only the footer aggregates without touching the record body.
+     * Throws IOException if the file has no valid footer (e.g. the legacy format).
+     */
+    public static RosterSummary readSummary(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return readFooter(channel).summary;
+        }
+    }
+
+    /**
+     * Identity of one written snapshot: the random base id in its footer, so
+     * two files with the same contents still differ. Delta files record it so
+     * they are never applied to a different base, even one rewritten with
+     * identical bytes. Throws IOException if the file has no valid footer.
+     */
+    static long fingerprint(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Footer footer = readFooter(channel);
+            // Footers written before the base id existed fall back to a content hash
+            return footer.baseId != 0 ? footer.baseId : footer.bodyCrc * 31 + footer.offset;
+        }
+    }
+
+    private static Footer readFooter(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size < HEADER_SIZE + TRAILER_SIZE || readInt(channel, 0) != MAGIC) {
+            throw new StreamCorruptedException("Not a roster snapshot with a summary footer");
+        }
+        int version = readInt(channel, 4);
+        if (version != VERSION) {
+            throw new StreamCorruptedException("Unsupported snapshot version: " + version);
+        }
+
+        ByteBuffer trailer = readFully(channel, size - TRAILER_SIZE, TRAILER_SIZE);
+        long footerOffset = trailer.getLong();
+        int footerLength = trailer.getInt();
+        int footerCrc = trailer.getInt();
+        if (trailer.getInt() != MAGIC || footerOffset < HEADER_SIZE || footerLength <= 0
+                || footerOffset + footerLength != size - TRAILER_SIZE) {
+            throw new StreamCorruptedException("Snapshot trailer is damaged");
+        }
+
+        ByteBuffer footerBytes = readFully(channel, footerOffset, footerLength);
+        CRC32 crc = new CRC32();
+        crc.update(footerBytes.duplicate());
+        if ((int) crc.getValue() != footerCrc) {
+            throw new StreamCorruptedException("Snapshot footer checksum mismatch");
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(
+                footerBytes.array(), footerBytes.arrayOffset(), footerLength));
+        Footer footer = new Footer();
+        footer.summary = RosterSummary.readFrom(in);
+        footer.bodyCrc = in.readLong();
+        footer.baseId = in.available() >= 8 ? in.readLong() : 0;
+        footer.offset = footerOffset;
+        return footer;
+    }
+
+    private static int readInt(FileChannel channel, long position) throws IOException {
+        return readFully(channel, position, 4).getInt();
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of snapshot file");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static final class Footer {
+        RosterSummary summary;
+        long bodyCrc;
+        long baseId;
+        long offset;
+    }
+
+    // Nonzero, so 0 can stand for "no base id" in older footers
+    private static long newBaseId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        return id;
+    }
+
+    /**
+     * Streams students into a new snapshot file, accumulating the footer
+     * summary as it goes. Call finish() after the last record.
+     */
+    public static final class RecordWriter implements Closeable {
+        private final CountingOutputStream counted;
+        private final CRC32 bodyCrc = new CRC32();
+        private final ObjectOutputStream oos;
+        private final RosterSummary summary = new RosterSummary();
+        private boolean finished;
+
+        public RecordWriter(Path path) throws IOException {
+            this(path, BUFFER_SIZE);
+        }
+
+        // With a larger buffer, each channel write moves more of the file at once
+        public RecordWriter(Path path, int bufferSize) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            counted = new CountingOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), bufferSize));
+            DataOutputStream header = new DataOutputStream(counted);
+            header.writeInt(MAGIC);
+            header.writeInt(VERSION);
+            oos = new ObjectOutputStream(new CheckedOutputStream(counted, bodyCrc));
+        }
+
+        public void write(Student student) throws IOException {
+            oos.writeObject(student);
+            summary.add(student);
+            if (summary.getCount() % RESET_INTERVAL == 0) {
+                oos.reset();
+            }
+        }
+
+        // Records written so far
+        public long getCount() {
+            return summary.getCount();
+        }
+
+        // Bytes written so far (the full file size once finished)
+        public long getBytesWritten() {
+            return counted.count;
+        }
+
+        /**
+         * End the body and write the footer and trailer
+         */
+        public RosterSummary finish() throws IOException {
+            oos.writeObject(null);
+            oos.flush();
+            long footerOffset = counted.count;
+
+            ByteArrayOutputStream footerBytes = new ByteArrayOutputStream(128);
+            DataOutputStream footer = new DataOutputStream(footerBytes);
+            summary.writeTo(footer);
+            footer.writeLong(bodyCrc.getValue());
+            footer.writeLong(newBaseId());
+            footer.flush();
+            CRC32 footerCrc = new CRC32();
+            footerCrc.update(footerBytes.toByteArray());
+
+            DataOutputStream tail = new DataOutputStream(counted);
+            footerBytes.writeTo(tail);
+            tail.writeLong(footerOffset);
+            tail.writeInt(footerBytes.size());
+            tail.writeInt((int) footerCrc.getValue());
+            tail.writeInt(MAGIC);
+            tail.flush();
+            finished = true;
+            return summary;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (finished) {
+                oos.close();
+            } else {
+                counted.close();
+            }
+        }
+    }
+
+    /**
+     * Streams students back out of a snapshot file one record at a time.
+     * The body checksum is verified when the last record has been read.
+     */
+    public static final class RecordReader implements Closeable {
+        private final FileChannel channel;
+        private final ObjectInputStream ois;
+        private final CheckedInputStream checked;
+        private final Footer footer;
+        private final Iterator<Student> legacy;
+        private long read;
+
+        public RecordReader(Path path) throws IOException, ClassNotFoundException {
+            this(path, BUFFER_SIZE);
+        }
+
+        @SuppressWarnings("unchecked")
+        public RecordReader(Path path, int bufferSize) throws IOException, ClassNotFoundException {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            try {
+                int magic = channel.size() >= 4 ? readInt(channel, 0) : 0;
+                if (magic == MAGIC) {
+                    footer = readFooter(channel);
+                    channel.position(HEADER_SIZE);
+                    checked = new CheckedInputStream(new BoundedInputStream(
+                            new BufferedInputStream(Channels.newInputStream(channel), bufferSize),
+                            footer.offset - HEADER_SIZE), new CRC32());
+                    ois = new ObjectInputStream(checked);
+                    legacy = null;
+                } else {
+                    // Pre-footer format: one serialized List<Student>
+                    footer = null;
+                    checked = null;
+                    ois = new ObjectInputStream(
+                            new BufferedInputStream(Channels.newInputStream(channel), bufferSize));
+                    legacy = ((List<Student>) ois.readObject()).iterator();
+                }
+            } catch (IOException | ClassNotFoundException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        // Footer summary, or null for a legacy file
+        public RosterSummary getSummary() {
+            return footer != null ? footer.summary : null;
+        }
+
+        /**
+         * Next student, or null after the last one
+         */
+        public Student next() throws IOException, ClassNotFoundException {
+            if (legacy != null) {
+                return legacy.hasNext() ? legacy.next() : null;
+            }
+            Object record = ois.readObject();
+            if (record == null) {
+                verifyBody();
+                return null;
+            }
+            if (!(record instanceof Student)) {
+                throw new StreamCorruptedException("Unexpected record type: " + record.getClass().getName());
+            }
+            read++;
+            return (Student) record;
+        }
+
+        private void verifyBody() throws IOException {
+            byte[] rest = new byte[256];
+            while (checked.read(rest) >= 0) {
+                // drain any bytes the object stream did not consume
+            }
+            if (checked.getChecksum().getValue() != footer.bodyCrc || read != footer.summary.getCount()) {
+                throw new StreamCorruptedException("Snapshot body does not match its footer");
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                ois.close();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+
+    // Stops reading at the end of the record body so the footer is never consumed
+    private static final class BoundedInputStream extends FilterInputStream {
+        private long remaining;
+
+        BoundedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = in.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int n = in.read(b, off, (int) Math.min(len, remaining));
+            if (n > 0) {
+                remaining -= n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(in.available(), remaining);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
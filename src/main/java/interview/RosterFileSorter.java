@@ -0,0 +1,295 @@
+package interview;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Sorts a roster snapshot file into {@link Student#compareTo} order without
+ * holding the whole roster in memory.
+ *
+ * Students are read into memory until their estimated size reaches the
+ * budget, then sorted (GpaSort) and spilled as a run: a temporary snapshot
+ * file next to the output. The runs are then merged k at a time through a
+ * heap, with k chosen so every run still gets a buffer of at least 64 KB
+ * within the budget; more runs than that take extra merge passes. A roster
+ * that fits the budget is sorted in memory and written straight out. All
+ * files go through RosterFile's readers and writers with 1 MB channel
+ * buffers, so the output is an ordinary snapshot with a footer.
+ */
+public final class RosterFileSorter {
+    static final int IO_BUFFER = 1 << 20;
+    static final int MIN_MERGE_BUFFER = 1 << 16;
+    // Estimated heap bytes of a Student beyond its strings, and per string beyond its chars
+    private static final int STUDENT_OVERHEAD = 96;
+    private static final int STRING_OVERHEAD = 48;
+
+    // Name order used by diff: the case-folded key that findByName matches on
+    static final Comparator<Student> BY_NAME =
+            (a, b) -> Student.compareKeys(a.getSortKey(), b.getSortKey());
+
+    private final long memoryBytes;
+    // null for compareTo order, which runs sort with GpaSort
+    private final Comparator<? super Student> order;
+    private int runs;
+    private int mergePasses;
+    private long spilledBytes;
+
+    public RosterFileSorter(long memoryBytes) {
+        this(memoryBytes, null);
+    }
+
+    RosterFileSorter(long memoryBytes, Comparator<? super Student> order) {
+        if (memoryBytes <= 0) {
+            throw new IllegalArgumentException("Memory budget must be positive");
+        }
+        this.memoryBytes = memoryBytes;
+        this.order = order;
+    }
+
+    /**
+     * Sort in into out (which may be the same file) and return the output's summary
+     */
+    public RosterSummary sort(Path in, Path out) throws IOException, ClassNotFoundException {
+        try (Cursor sorted = open(in, out.toAbsolutePath().getParent());
+             RosterFile.RecordWriter writer = new RosterFile.RecordWriter(out, IO_BUFFER)) {
+            Student s;
+            while ((s = sorted.next()) != null) {
+                writer.write(s);
+            }
+            return writer.finish();
+        }
+    }
+
+    /**
+     * Read in and return its students in sorted order one at a time; the
+     * last merge pass runs as the cursor is read. Runs are spilled into dir
+     * and deleted when the cursor is closed.
+     */
+    Cursor open(Path in, Path dir) throws IOException, ClassNotFoundException {
+        runs = 0;
+        mergePasses = 0;
+        spilledBytes = 0;
+        List<Path> spilled = new ArrayList<>();
+        List<Path> temporary = new ArrayList<>();
+        boolean opened = false;
+        try {
+            List<Student> buffered = new ArrayList<>();
+            long bufferedBytes = 0;
+            try (RosterFile.RecordReader reader = new RosterFile.RecordReader(in, IO_BUFFER)) {
+                Student s;
+                while ((s = reader.next()) != null) {
+                    buffered.add(s);
+                    bufferedBytes += estimateBytes(s);
+                    if (bufferedBytes >= memoryBytes) {
+                        spilled.add(spill(buffered, dir, temporary));
+                        buffered.clear();
+                        bufferedBytes = 0;
+                    }
+                }
+            }
+            if (spilled.isEmpty()) {
+                // Everything fit: sort in memory and skip the merge
+                runs = 1;
+                opened = true;
+                return new Cursor(sortRun(buffered), temporary);
+            }
+            if (!buffered.isEmpty()) {
+                spilled.add(spill(buffered, dir, temporary));
+            }
+            buffered = null;
+
+            int fanIn = (int) Math.max(2, Math.min(Integer.MAX_VALUE, memoryBytes / MIN_MERGE_BUFFER));
+            while (spilled.size() > fanIn) {
+                List<Path> next = new ArrayList<>();
+                for (int from = 0; from < spilled.size(); from += fanIn) {
+                    List<Path> group = spilled.subList(from, Math.min(spilled.size(), from + fanIn));
+                    Path merged = Files.createTempFile(dir, "sortrun", ".tmp");
+                    temporary.add(merged);
+                    next.add(merged);
+                    try (Cursor cursor = new Cursor(group, Collections.emptyList());
+                         RosterFile.RecordWriter writer = new RosterFile.RecordWriter(merged, IO_BUFFER)) {
+                        Student s;
+                        while ((s = cursor.next()) != null) {
+                            writer.write(s);
+                        }
+                        writer.finish();
+                        spilledBytes += writer.getBytesWritten();
+                    }
+                    for (Path p : group) {
+                        Files.delete(p);
+                    }
+                }
+                spilled = next;
+                mergePasses++;
+            }
+            mergePasses++;
+            Cursor cursor = new Cursor(spilled, temporary);
+            opened = true;
+            return cursor;
+        } finally {
+            if (!opened) {
+                for (Path p : temporary) {
+                    Files.deleteIfExists(p);
+                }
+            }
+        }
+    }
+
+    private Student[] sortRun(List<Student> buffered) {
+        if (order == null) {
+            return GpaSort.inNaturalOrder(buffered);
+        }
+        Student[] sorted = buffered.toArray(new Student[0]);
+        Arrays.sort(sorted, order); // stable
+        return sorted;
+    }
+
+    private Path spill(List<Student> buffered, Path dir, List<Path> temporary) throws IOException {
+        Path run = Files.createTempFile(dir, "sortrun", ".tmp");
+        temporary.add(run);
+        try (RosterFile.RecordWriter writer = new RosterFile.RecordWriter(run, IO_BUFFER)) {
+            for (Student s : sortRun(buffered)) {
+                writer.write(s);
+            }
+            writer.finish();
+            spilledBytes += writer.getBytesWritten();
+        }
+        runs++;
+        return run;
+    }
+
+    /**
+     * Sorted students of one sort: an in-memory array, or a k-way heap merge
+     * over sorted run files. Equal students come out in run order, so the
+     * sort is stable.
+     */
+    final class Cursor implements Closeable {
+        private final Student[] array;
+        private int position;
+        private final PriorityQueue<Head> heap;
+        private final List<RosterFile.RecordReader> readers = new ArrayList<>();
+        private final List<Path> owned;
+
+        Cursor(Student[] sorted, List<Path> owned) {
+            this.array = sorted;
+            this.heap = null;
+            this.owned = owned;
+        }
+
+        Cursor(List<Path> sources, List<Path> owned) throws IOException, ClassNotFoundException {
+            this.array = null;
+            this.owned = owned;
+            this.heap = new PriorityQueue<>(sources.size(), (x, y) -> {
+                int c = order == null ? x.student.compareTo(y.student) : order.compare(x.student, y.student);
+                return c != 0 ? c : Integer.compare(x.run, y.run);
+            });
+            int buffer = (int) Math.max(MIN_MERGE_BUFFER, Math.min(IO_BUFFER, memoryBytes / (sources.size() + 1)));
+            try {
+                for (int i = 0; i < sources.size(); i++) {
+                    RosterFile.RecordReader reader = new RosterFile.RecordReader(sources.get(i), buffer);
+                    readers.add(reader);
+                    Head head = new Head(reader, i);
+                    if ((head.student = reader.next()) != null) {
+                        heap.add(head);
+                    }
+                }
+            } catch (IOException | ClassNotFoundException | RuntimeException e) {
+                close();
+                throw e;
+            }
+        }
+
+        /**
+         * Next student in order, or null after the last one
+         */
+        Student next() throws IOException, ClassNotFoundException {
+            if (array != null) {
+                return position < array.length ? array[position++] : null;
+            }
+            Head head = heap.poll();
+            if (head == null) {
+                return null;
+            }
+            Student student = head.student;
+            if ((head.student = head.reader.next()) != null) {
+                heap.add(head);
+            }
+            return student;
+        }
+
+        @Override
+        public void close() throws IOException {
+            IOException failure = null;
+            for (RosterFile.RecordReader reader : readers) {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    failure = failure == null ? e : failure;
+                }
+            }
+            for (Path p : owned) {
+                Files.deleteIfExists(p);
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * One run's reader and the student it has at the front
+     */
+    private static final class Head {
+        final RosterFile.RecordReader reader;
+        final int run;
+        Student student;
+
+        Head(RosterFile.RecordReader reader, int run) {
+            this.reader = reader;
+            this.run = run;
+        }
+    }
+
+    // Rough heap footprint of a deserialized student
+    static long estimateBytes(Student s) {
+        long bytes = STUDENT_OVERHEAD + STRING_OVERHEAD + 2L * s.getName().length();
+        if (s instanceof GraduateStudent) {
+            GraduateStudent g = (GraduateStudent) s;
+            bytes += 2 * STRING_OVERHEAD + 2L * (length(g.getThesisTitle()) + length(g.getAdvisor()));
+        }
+        return bytes;
+    }
+
+    private static int length(String s) {
+        return s == null ? 0 : s.length();
+    }
+
+    // Sorted runs written by the last sort (1 if it fit in memory)
+    public int getRuns() {
+        return runs;
+    }
+
+    // Merge passes over the data in the last sort (0 if it fit in memory)
+    public int getMergePasses() {
+        return mergePasses;
+    }
+
+    // Bytes written to temporary run files in the last sort
+    public long getSpilledBytes() {
+        return spilledBytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d runs, %d merge passes, %d bytes spilled (budget %d bytes)",
+                runs, mergePasses, spilledBytes, memoryBytes);
+    }
+}
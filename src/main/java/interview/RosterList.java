@@ -0,0 +1,164 @@
+package interview;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * The roster's backing list: an append-only array whose occupied slots are
+ * never overwritten. Appends write past the current size (growing into a
+ * new array when full) and removals build a new array, so an (array, size)
+ * pair taken at any moment is an immutable snapshot. Streams and
+ * spliterators run over such a snapshot without copying the roster.
+ */
+final class RosterList extends AbstractList<Student> implements RandomAccess {
+    private Student[] rows;
+    private int size;
+
+    RosterList() {
+        rows = new Student[16];
+    }
+
+    RosterList(Collection<? extends Student> students) {
+        rows = students.toArray(new Student[0]);
+        size = rows.length;
+        for (Student s : rows) {
+            Objects.requireNonNull(s);
+        }
+    }
+
+    @Override
+    public Student get(int index) {
+        Objects.checkIndex(index, size);
+        return rows[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean add(Student student) {
+        Objects.requireNonNull(student);
+        if (size == rows.length) {
+            rows = Arrays.copyOf(rows, Math.max(16, size + (size >> 1)));
+        }
+        rows[size++] = student;
+        modCount++;
+        return true;
+    }
+
+    // Append a batch, growing the array at most once
+    @Override
+    public boolean addAll(Collection<? extends Student> batch) {
+        Student[] added = batch.toArray(new Student[0]);
+        for (Student s : added) {
+            Objects.requireNonNull(s);
+        }
+        if (size + added.length > rows.length) {
+            rows = Arrays.copyOf(rows, Math.max(size + added.length, size + (size >> 1)));
+        }
+        System.arraycopy(added, 0, rows, size, added.length);
+        size += added.length;
+        modCount++;
+        return added.length > 0;
+    }
+
+    // Copy-on-write removal: survivors go to a new array, existing snapshots keep theirs
+    @Override
+    public boolean removeIf(Predicate<? super Student> filter) {
+        Student[] kept = new Student[rows.length];
+        int n = 0;
+        for (int i = 0; i < size; i++) {
+            if (!filter.test(rows[i])) {
+                kept[n++] = rows[i];
+            }
+        }
+        if (n == size) {
+            return false;
+        }
+        rows = kept;
+        size = n;
+        modCount++;
+        return true;
+    }
+
+    // The backing array; slots below the current size are never overwritten
+    Student[] rows() {
+        return rows;
+    }
+
+    @Override
+    public Object[] toArray() {
+        return Arrays.copyOf(rows, size, Object[].class);
+    }
+
+    // Spliterator over a snapshot taken now; later changes are not seen
+    @Override
+    public Spliterator<Student> spliterator() {
+        return new RosterSpliterator(rows, 0, size);
+    }
+
+    /**
+     * Splits a snapshot range exactly in half, so fork-join tasks stay
+     * balanced and every piece knows its size.
+     */
+    static final class RosterSpliterator implements Spliterator<Student> {
+        private final Student[] rows;
+        private int index;
+        private final int fence;
+
+        RosterSpliterator(Student[] rows, int from, int to) {
+            this.rows = rows;
+            this.index = from;
+            this.fence = to;
+        }
+
+        @Override
+        public Spliterator<Student> trySplit() {
+            int lo = index;
+            int mid = (lo + fence) >>> 1;
+            if (lo >= mid) {
+                return null;
+            }
+            index = mid;
+            return new RosterSpliterator(rows, lo, mid);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Student> action) {
+            if (index < fence) {
+                action.accept(rows[index++]);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Student> action) {
+            Student[] a = rows;
+            int hi = fence;
+            int i = index;
+            index = hi;
+            for (; i < hi; i++) {
+                action.accept(a[i]);
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+        }
+    }
+}
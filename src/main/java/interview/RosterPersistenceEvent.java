@@ -0,0 +1,56 @@
+package interview;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder event emitted when a roster is saved or loaded.
+ */
+@Name("interview.RosterPersistence")
+@Label("Roster Persistence")
+@Category({"Interview", "Roster"})
+@Description("A roster snapshot written to or read from disk")
+public class RosterPersistenceEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Path")
+    String path;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Records")
+    long records;
+
+    static RosterPersistenceEvent start() {
+        RosterPersistenceEvent event = new RosterPersistenceEvent();
+        event.begin();
+        return event;
+    }
+
+    // The file size is only looked up when the event is actually recorded
+    void finish(String operation, Path path, long records) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.path = path.toString();
+            this.records = records;
+            try {
+                this.bytes = Files.size(path);
+            } catch (IOException e) {
+                this.bytes = -1;
+            }
+            commit();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package interview;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event emitted for each StudentManager operation.
+ * Enable it with src/main/resources/jfr/roster.jfc; when no recording is
+ * running, begin/end/commit are no-ops and the event object is not kept.
+ */
+@Name("interview.RosterQuery")
+@Label("Roster Query")
+@Category({"Interview", "Roster"})
+@Description("A StudentManager query or mutation")
+@StackTrace(false)
+public class RosterQueryEvent extends Event {
+
+    @Label("Query Type")
+    String queryType;
+
+    @Label("Roster Size")
+    int rosterSize;
+
+    @Label("Result Size")
+    int resultSize;
+
+    // Create an event and start its clock
+    static RosterQueryEvent start() {
+        RosterQueryEvent event = new RosterQueryEvent();
+        event.begin();
+        return event;
+    }
+
+    // Stop the clock and commit if a recording wants this event
+    void finish(String queryType, int rosterSize, int resultSize) {
+        end();
+        if (shouldCommit()) {
+            this.queryType = queryType;
+            this.rosterSize = rosterSize;
+            this.resultSize = resultSize;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package interview;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * A consistent, read-only view of a StudentManager roster as of one
+ * version, for long reports that run while the roster keeps changing.
+ *
+ * Membership and field values both stay as they were when the snapshot
+ * was taken: later adds and removals are not seen, and every student it
+ * returns is a detached copy (or a shared before-image) that no setter
+ * call on the roster will change. Do not modify the returned students.
+ * A snapshot may be read from any thread, including several at once.
+ *
+ * Close it when done so the versions it pins can be reclaimed.
+ */
+public final class RosterSnapshot implements Iterable<Student>, AutoCloseable {
+    private final RosterVersions versions;
+    private final Student[] rows;
+    private final int size;
+    private final long version;
+    private volatile boolean closed;
+
+    RosterSnapshot(RosterVersions versions, Student[] rows, int size, long version) {
+        this.versions = versions;
+        this.rows = rows;
+        this.size = size;
+        this.version = version;
+    }
+
+    // Roster version this snapshot shows
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The student at a row position as of this snapshot's version
+     */
+    public Student get(int index) {
+        if (closed) {
+            throw new IllegalStateException("Snapshot is closed");
+        }
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        return RosterVersions.visible(rows[index], version);
+    }
+
+    @Override
+    public Iterator<Student> iterator() {
+        return new Iterator<Student>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public Student next() {
+                if (next >= size) {
+                    throw new NoSuchElementException();
+                }
+                return get(next++);
+            }
+        };
+    }
+
+    public Stream<Student> stream() {
+        return IntStream.range(0, size).mapToObj(this::get);
+    }
+
+    public Stream<Student> parallelStream() {
+        return stream().parallel();
+    }
+
+    // Every student as of this version, materialized once
+    public List<Student> toList() {
+        Student[] copies = new Student[size];
+        for (int i = 0; i < size; i++) {
+            copies[i] = get(i);
+        }
+        return List.of(copies);
+    }
+
+    /**
+     * Students by GPA, highest first, as of this version
+     */
+    public List<Student> sortByGpa() {
+        return List.of(GpaSort.byGpaDescending(toList()));
+    }
+
+    // Same statistics as StudentManager.groupBy, as of this version
+    public List<GroupStats> groupBy(QueryField key, boolean parallel) {
+        return GroupBy.run(toList(), key, parallel);
+    }
+
+    /**
+     * Export this version to a snapshot file (see RosterFile)
+     */
+    public RosterSummary saveTo(Path path) throws IOException {
+        return RosterFile.write(path, this);
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            closed = true;
+            versions.unpin(version);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RosterSnapshot{version=" + version + ", size=" + size + (closed ? ", closed" : "") + "}";
+    }
+}
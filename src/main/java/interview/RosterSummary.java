@@ -0,0 +1,141 @@
+package interview;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Aggregate statistics for a roster: count, GPA sum/min/max, honor roll
+ * count and the number of students in each academic standing.
+ *
+ * Snapshot files store one of these in their footer so the count and
+ * average can be reported without reading any student records.
+ */
+public final class RosterSummary {
+    // Every value Gradeable.getAcademicStanding() can return, in footer order
+    static final String[] STANDINGS = {
+        "Honors", "Good Standing", "Academic Probation", "Academic Warning"
+    };
+
+    private long count;
+    private double gpaSum;
+    private double minGpa = Double.NaN;
+    private double maxGpa = Double.NaN;
+    private long honorRollCount;
+    private final long[] standingCounts = new long[STANDINGS.length];
+
+    /**
+     * Build a summary of the given students in one pass
+     */
+    public static RosterSummary of(Iterable<? extends Student> students) {
+        RosterSummary summary = new RosterSummary();
+        for (Student student : students) {
+            summary.add(student);
+        }
+        return summary;
+    }
+
+    // Fold one more student into the running totals
+    public void add(Student student) {
+        double gpa = student.getGpa();
+        if (count == 0) {
+            minGpa = gpa;
+            maxGpa = gpa;
+        } else {
+            minGpa = Math.min(minGpa, gpa);
+            maxGpa = Math.max(maxGpa, gpa);
+        }
+        count++;
+        gpaSum += gpa;
+        if (student.isHonorRoll()) {
+            honorRollCount++;
+        }
+        standingCounts[standingIndex(student.getAcademicStanding())]++;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getGpaSum() {
+        return gpaSum;
+    }
+
+    public double getAverageGpa() {
+        return count == 0 ? 0.0 : gpaSum / count;
+    }
+
+    // Lowest GPA, or NaN for an empty roster
+    public double getMinGpa() {
+        return minGpa;
+    }
+
+    // Highest GPA, or NaN for an empty roster
+    public double getMaxGpa() {
+        return maxGpa;
+    }
+
+    public long getHonorRollCount() {
+        return honorRollCount;
+    }
+
+    public long getStandingCount(String standing) {
+        return standingCounts[standingIndex(standing)];
+    }
+
+    // Standing name -> count, in the order Gradeable checks them
+    public Map<String, Long> getStandingCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (int i = 0; i < STANDINGS.length; i++) {
+            counts.put(STANDINGS[i], standingCounts[i]);
+        }
+        return counts;
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        out.writeLong(count);
+        out.writeDouble(gpaSum);
+        out.writeDouble(minGpa);
+        out.writeDouble(maxGpa);
+        out.writeLong(honorRollCount);
+        out.writeInt(standingCounts.length);
+        for (long standingCount : standingCounts) {
+            out.writeLong(standingCount);
+        }
+    }
+
+    static RosterSummary readFrom(DataInput in) throws IOException {
+        RosterSummary summary = new RosterSummary();
+        summary.count = in.readLong();
+        summary.gpaSum = in.readDouble();
+        summary.minGpa = in.readDouble();
+        summary.maxGpa = in.readDouble();
+        summary.honorRollCount = in.readLong();
+        int standings = in.readInt();
+        if (standings != STANDINGS.length) {
+            throw new IOException("Unexpected standing count in summary: " + standings);
+        }
+        for (int i = 0; i < standings; i++) {
+            summary.standingCounts[i] = in.readLong();
+        }
+        return summary;
+    }
+
+    private static int standingIndex(String standing) {
+        for (int i = 0; i < STANDINGS.length; i++) {
+            if (STANDINGS[i].equals(standing)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown academic standing: " + standing);
+    }
+
+    @Override
+    public String toString() {
+        return "RosterSummary{count=" + count + ", average=" + getAverageGpa() +
+               ", min=" + minGpa + ", max=" + maxGpa +
+               ", honorRoll=" + honorRollCount + ", standings=" + getStandingCounts() + "}";
+    }
+}
@@ -0,0 +1,205 @@
+package interview;
+
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * Multi-version bookkeeping behind {@link RosterSnapshot}.
+ *
+ * Every committed change to the roster (an append, a removal, a reload or
+ * one setter call) advances the version. A snapshot pins the version it
+ * was taken at together with the roster array of that moment; since
+ * RosterList never overwrites occupied slots, the membership it sees is
+ * fixed for free. Field values are fixed with before-images: just before a
+ * student changes, and only while some pinned snapshot could still see its
+ * current state, a copy of it is pushed onto the student's history, stamped
+ * with the version the change will commit as. A snapshot at version v shows
+ * a student as the oldest image stamped after v, or as its live fields if
+ * no such image exists.
+ *
+ * Images are reclaimed whenever a snapshot closes: those no pinned version
+ * can reach are dropped, and with nothing pinned every history is cleared.
+ *
+ * Writers are the roster's single thread; snapshots may be taken and read
+ * from any thread. The monitor of this object orders pins against commits.
+ * Reads of a student's fields run without it: a reader copies the live
+ * fields and then re-checks the history, which is sound because the writer
+ * fences each new image ahead of the field stores that follow it and the
+ * reader fences its field loads ahead of the re-check.
+ */
+final class RosterVersions {
+
+    /**
+     * One earlier state of a student, valid for versions before its stamp
+     */
+    static final class Image {
+        final Student state;
+        final long stamp;
+        final Image older;
+
+        Image(Student state, long stamp, Image older) {
+            this.state = state;
+            this.stamp = stamp;
+            this.older = older;
+        }
+    }
+
+    private long version;
+    // Set between beginChange and endChange; snapshots wait for it to clear
+    private boolean writing;
+    // Pinned versions and how many open snapshots hold each
+    private final TreeMap<Long, Integer> pins = new TreeMap<>();
+    // Students whose history is not empty
+    private final List<Student> versioned = new ArrayList<>();
+    private long imagesRecorded;
+
+    synchronized long getVersion() {
+        return version;
+    }
+
+    // A setter is about to change the student: keep its current state if a snapshot may need it
+    synchronized void beginChange(Student student) {
+        keepImage(student);
+        writing = true;
+    }
+
+    // The setter has stored its new value
+    synchronized void endChange() {
+        version++;
+        writing = false;
+        notifyAll();
+    }
+
+    // Apply a structural change (add, remove, reload) atomically with respect to snapshots
+    synchronized <T> T commit(Supplier<T> change) {
+        try {
+            return change.get();
+        } finally {
+            version++;
+        }
+    }
+
+    // The student is leaving the roster (inside commit): snapshots that contain it keep its state
+    synchronized void retire(Student student) {
+        keepImage(student);
+    }
+
+    private void keepImage(Student student) {
+        if (pins.isEmpty()) {
+            return;
+        }
+        Image newest = student.history;
+        // Snapshots pinned before the newest image's stamp already have their state
+        if (pins.ceilingKey(newest == null ? 0 : newest.stamp) == null) {
+            return;
+        }
+        if (newest == null) {
+            versioned.add(student);
+        }
+        student.history = new Image(student.copy(), version + 1, newest);
+        // The setter's plain field stores that follow must not become visible before the
+        // image: neither the volatile store above nor leaving the monitor orders later stores
+        VarHandle.storeStoreFence();
+        imagesRecorded++;
+    }
+
+    // Pin the current version; the roster is read under the same lock its changes commit under
+    synchronized RosterSnapshot pin(Supplier<RosterList> current) {
+        while (writing) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a change to finish", e);
+            }
+        }
+        RosterList roster = current.get();
+        pins.merge(version, 1, Integer::sum);
+        return new RosterSnapshot(this, roster.rows(), roster.size(), version);
+    }
+
+    synchronized void unpin(long pinned) {
+        pins.computeIfPresent(pinned, (v, n) -> n == 1 ? null : n - 1);
+        reclaim();
+    }
+
+    // Drop images that no pinned version can reach
+    private void reclaim() {
+        if (pins.isEmpty()) {
+            for (Student s : versioned) {
+                s.history = null;
+            }
+            versioned.clear();
+            return;
+        }
+        versioned.removeIf(s -> {
+            List<Image> kept = new ArrayList<>();
+            for (Image image = s.history; image != null; image = image.older) {
+                long from = image.older == null ? 0 : image.older.stamp;
+                Long pinned = pins.ceilingKey(from);
+                if (pinned != null && pinned < image.stamp) {
+                    kept.add(image);
+                }
+            }
+            Image rebuilt = null;
+            for (int i = kept.size() - 1; i >= 0; i--) {
+                rebuilt = new Image(kept.get(i).state, kept.get(i).stamp, rebuilt);
+            }
+            s.history = rebuilt;
+            return rebuilt == null;
+        });
+    }
+
+    /**
+     * The student as it was at the given version. Returns an image or a
+     * fresh copy, never the live object, so its fields cannot change later.
+     */
+    static Student visible(Student student, long pinned) {
+        Student image = imageFor(student, pinned);
+        if (image != null) {
+            return image;
+        }
+        Student copy = student.copy();
+        // A change that began while copying pushed its image first (keepImage fences the
+        // image ahead of the new field values): prefer that image
+        VarHandle.acquireFence();
+        image = imageFor(student, pinned);
+        return image != null ? image : copy;
+    }
+
+    private static Student imageFor(Student student, long pinned) {
+        Student found = null;
+        for (Image image = student.history; image != null && image.stamp > pinned; image = image.older) {
+            found = image.state;
+        }
+        return found;
+    }
+
+    // Open snapshots, counted once per pin
+    synchronized int getPinnedCount() {
+        int n = 0;
+        for (Map.Entry<Long, Integer> pin : pins.entrySet()) {
+            n += pin.getValue();
+        }
+        return n;
+    }
+
+    // Before-images currently held for pinned snapshots
+    synchronized int getRetainedImages() {
+        int n = 0;
+        for (Student s : versioned) {
+            for (Image image = s.history; image != null; image = image.older) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    synchronized long getImagesRecorded() {
+        return imagesRecorded;
+    }
+}
@@ -1,6 +1,7 @@
 package interview;
 
 import java.io.Serializable;
+import java.util.Arrays;
 
 /**
  * Simple Student class demonstrating Java fundamentals:
@@ -17,6 +18,14 @@ public class Student implements Serializable, Comparable<Student>, Gradeable {
     private String name;
     private int age;
     private double gpa;
+    // Rosters watching this student; copy-on-write and never serialized
+    private transient StudentListener[] listeners;
+    // Case-folded name for ordering, built on first use
+    private transient String sortKey;
+    // Earlier states still visible to pinned roster snapshots, newest first (see RosterVersions)
+    transient volatile RosterVersions.Image history;
+    // Id of this student's record in its roster's delta files (see DeltaFile)
+    transient long recordId;
 
     // Constructor with validation
     public Student(String name, int age, double gpa) {
@@ -47,26 +56,138 @@ public class Student implements Serializable, Comparable<Student>, Gradeable {
         return gpa;
     }
 
+    // GPA as fixed-point hundredths (0-400), rounded to the nearest hundredth
+    public int getGpaHundredths() {
+        return (int) Math.round(gpa * 100);
+    }
+
+    // Name folded the way compareToIgnoreCase folds it; compareKeys on two keys
+    // orders well-formed names exactly like compareToIgnoreCase on the names
+    String getSortKey() {
+        String key = sortKey;
+        if (key == null) {
+            key = foldCase(name);
+            sortKey = key;
+        }
+        return key;
+    }
+
+    // Case-fold a name; two names are equalsIgnoreCase exactly when their folds are equal
+    static String foldCase(String name) {
+        StringBuilder sb = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); ) {
+            int cp = name.codePointAt(i);
+            sb.appendCodePoint(Character.toLowerCase(Character.toUpperCase(cp)));
+            i += Character.charCount(cp);
+        }
+        return sb.toString();
+    }
+
+    // Order of two keys by code point, an unpaired surrogate counting as its own
+    // value. For well-formed names this is exactly compareToIgnoreCase's order once
+    // the names are folded; plain compareTo goes by UTF-16 char instead and puts
+    // supplementary characters (surrogate pairs) before ones such as U+FF21.
+    static int compareKeys(String a, String b) {
+        int n = Math.min(a.length(), b.length());
+        for (int i = 0; i < n; i++) {
+            char x = a.charAt(i);
+            char y = b.charAt(i);
+            if (x != y) {
+                if (!Character.isSurrogate(x) && !Character.isSurrogate(y)) {
+                    return x - y;
+                }
+                // A shared high surrogate before i starts the code point if either side pairs it
+                int k = i > 0 && Character.isHighSurrogate(a.charAt(i - 1))
+                        && (Character.isLowSurrogate(x) || Character.isLowSurrogate(y)) ? i - 1 : i;
+                return a.codePointAt(k) - b.codePointAt(k);
+            }
+        }
+        return a.length() - b.length();
+    }
+
     // Setters with validation
     public void setName(String name) {
         if (name == null || name.trim().isEmpty()) {
             throw new IllegalArgumentException("Name cannot be null or empty");
         }
+        fireChanging(StudentField.NAME);
         this.name = name.trim();
+        this.sortKey = null;
+        fireChanged(StudentField.NAME);
     }
 
     public void setAge(int age) {
         if (age <= 0 || age > 150) {
             throw new IllegalArgumentException("Age must be between 1 and 150");
         }
+        fireChanging(StudentField.AGE);
         this.age = age;
+        fireChanged(StudentField.AGE);
     }
 
     public void setGpa(double gpa) {
         if (gpa < 0.0 || gpa > 4.0) {
             throw new IllegalArgumentException("GPA must be between 0.0 and 4.0");
         }
+        fireChanging(StudentField.GPA);
         this.gpa = gpa;
+        fireChanged(StudentField.GPA);
+    }
+
+    // Detached copy of the current field values, without listeners
+    Student copy() {
+        return new Student(name, age, gpa);
+    }
+
+    void addListener(StudentListener listener) {
+        StudentListener[] current = listeners;
+        if (current == null) {
+            listeners = new StudentListener[] {listener};
+        } else {
+            StudentListener[] grown = Arrays.copyOf(current, current.length + 1);
+            grown[current.length] = listener;
+            listeners = grown;
+        }
+    }
+
+    void removeListener(StudentListener listener) {
+        StudentListener[] current = listeners;
+        if (current == null) {
+            return;
+        }
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == listener) {
+                if (current.length == 1) {
+                    listeners = null;
+                } else {
+                    StudentListener[] shrunk = new StudentListener[current.length - 1];
+                    System.arraycopy(current, 0, shrunk, 0, i);
+                    System.arraycopy(current, i + 1, shrunk, i, shrunk.length - i);
+                    listeners = shrunk;
+                }
+                return;
+            }
+        }
+    }
+
+    // Notify registered rosters that a field is about to be set
+    final void fireChanging(StudentField field) {
+        StudentListener[] current = listeners;
+        if (current != null) {
+            for (StudentListener listener : current) {
+                listener.beforeChange(this, field);
+            }
+        }
+    }
+
+    // Notify registered rosters that a field was just set
+    final void fireChanged(StudentField field) {
+        StudentListener[] current = listeners;
+        if (current != null) {
+            for (StudentListener listener : current) {
+                listener.afterChange(this, field);
+            }
+        }
     }
 
     // Check if student is on honor roll
@@ -76,7 +197,14 @@ public class Student implements Serializable, Comparable<Student>, Gradeable {
 
     @Override
     public String toString() {
-        return "Student{name='" + name + "', age=" + age + ", gpa=" + gpa + "}";
+        return appendTo(new StringBuilder(64)).toString();
+    }
+
+    // Append the toString() text to an existing buffer (used for bulk output)
+    public StringBuilder appendTo(StringBuilder sb) {
+        return sb.append("Student{name='").append(name)
+                 .append("', age=").append(age)
+                 .append(", gpa=").append(gpa).append('}');
     }
 
     @Override
@@ -103,6 +231,6 @@ public class Student implements Serializable, Comparable<Student>, Gradeable {
         if (gpaCompare != 0) {
             return gpaCompare;
         }
-        return this.name.compareToIgnoreCase(other.name);
+        return compareKeys(getSortKey(), other.getSortKey());
     }
 }
@@ -0,0 +1,14 @@
+package interview;
+
+/**
+ * Settable attributes of a Student, used to describe which one changed.
+ * THESIS_TITLE, ADVISOR and PHD only apply to graduate students.
+ */
+public enum StudentField {
+    NAME,
+    AGE,
+    GPA,
+    THESIS_TITLE,
+    ADVISOR,
+    PHD
+}
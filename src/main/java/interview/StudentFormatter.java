@@ -0,0 +1,30 @@
+package interview;
+
+import java.io.PrintWriter;
+
+/**
+ * Writes students to a PrintWriter using the same text as toString(),
+ * but through one reusable buffer so printing a long listing does not
+ * build a new String for every row. Not thread-safe.
+ */
+public final class StudentFormatter {
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final StringBuilder line = new StringBuilder(128);
+    private char[] chars = new char[128];
+
+    /**
+     * Write one student followed by a line separator
+     */
+    public void println(Student student, PrintWriter out) {
+        line.setLength(0);
+        student.appendTo(line).append(LINE_SEPARATOR);
+
+        int length = line.length();
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+        }
+        line.getChars(0, length, chars, 0);
+        out.write(chars, 0, length);
+    }
+}
@@ -0,0 +1,15 @@
+package interview;
+
+/**
+ * Callback a roster registers on its students so that derived structures
+ * (indexes, caches) can follow setter changes made after the student was added.
+ */
+interface StudentListener {
+
+    // Called after validation, while the student still holds the old value
+    default void beforeChange(Student student, StudentField field) {
+    }
+
+    // Called after a setter has validated and stored a new value
+    void afterChange(Student student, StudentField field);
+}
@@ -1,63 +1,607 @@
 package interview;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import interview.OperationStats.Operation;
 
 /**
  * Demonstrates Collections, Streams, and common operations
  */
 public class StudentManager {
-    private List<Student> students;
+    private RosterList students;
     private static final String DEFAULT_FILE = "students.dat";
+    // Sorted pages whose offset + limit reaches 1/DEEP_PAGE_FRACTION of the roster build the full ordering
+    private static final int DEEP_PAGE_FRACTION = 8;
+    // Latency histograms per operation; off unless -Dinterview.stats=true or enabled later
+    private final OperationStats stats = new OperationStats(Boolean.getBoolean("interview.stats"));
+    // Secondary indexes over row positions that the query planner may use
+    private final List<QueryIndex> indexes = new ArrayList<>();
+    // Bitmaps for honors, passing, type, PhD and standing; see BitmapIndex
+    private final BitmapIndex bitmaps = new BitmapIndex();
+    // Students per GPA hundredth (0-400), for rank and percentile in O(log n)
+    private final FenwickTree gpaCounts = new FenwickTree(401);
+    // First student per case-folded name; rebuilt lazily after renames and loads
+    private final Map<String, Student> byName = new HashMap<>();
+    private boolean byNameCurrent = true;
+    // Bumped by every roster or student change; cached results carry the epoch they were computed at
+    private long epoch;
+    // Set while dedup mode is on (see setDedupEnabled); null otherwise
+    private DuplicateFilter dedup;
+    private long duplicatesDropped;
+    // True while applyUpdates runs; per-change index maintenance waits for the end of the batch
+    private boolean batching;
+    private final ResultCache cache = new ResultCache(Long.getLong("interview.cache.bytes", 32L << 20));
+    // Change-data-capture feed of every add, removal, setter change and reload
+    private final MutationStream mutations = new MutationStream();
+    // Name of the student being renamed, between beforeChange and afterChange
+    private String renamingFrom;
+    // Roster versions and the before-images pinned snapshots still need
+    private final RosterVersions versions = new RosterVersions();
+    // Background snapshot writer for saveAsync and scheduled checkpoints; created on first use
+    private Checkpointer checkpointer;
+    // Base file that saveDelta extends (null until a save or load), and what changed since
+    private Path deltaBase;
+    private long deltaBaseFingerprint;
+    private long deltaBaseBytes;
+    private int deltaCount;
+    private long deltaBytes;
+    private long nextRecordId;
+    private final Map<Long, Student> dirty = new LinkedHashMap<>();
+    private final Set<Long> deleted = new LinkedHashSet<>();
+    // Compact into a new base once the deltas reach this fraction of the base's size
+    private final double compactionRatio = Double.parseDouble(System.getProperty("interview.delta.ratio", "0.5"));
+    // Registered on every student in the roster so setter changes reach the indexes
+    private final StudentListener changeListener = new StudentListener() {
+        @Override
+        public void beforeChange(Student student, StudentField field) {
+            versions.beginChange(student);
+            if (field == StudentField.NAME) {
+                renamingFrom = student.getName();
+            }
+            if (batching) {
+                return;
+            }
+            if (field == StudentField.GPA) {
+                gpaCounts.add(student.getGpaHundredths(), -1);
+            }
+            if (dedup != null) {
+                dedup.remove(student); // re-added under its new hash afterwards
+            }
+        }
+
+        @Override
+        public void afterChange(Student student, StudentField field) {
+            versions.endChange();
+            if (deltaBase != null) {
+                dirty.put(student.recordId, student);
+            }
+            if (!batching) {
+                studentChanged(student, field);
+            }
+            mutations.publishChanged(student, field, field == StudentField.NAME ? renamingFrom : null);
+            renamingFrom = null;
+        }
+    };
 
     public StudentManager() {
-        this.students = new ArrayList<>();
+        this.students = new RosterList();
+        indexes.add(bitmaps);
+        if (Boolean.getBoolean("interview.dedup")) {
+            setDedupEnabled(true);
+        }
+    }
+
+    // In dedup mode a student equal to one already in the roster is dropped by
+    // addStudent/addAll instead of being added again
+    public void setDedupEnabled(boolean enabled) {
+        dedup = enabled ? new DuplicateFilter(students) : null;
+    }
+
+    public boolean isDedupEnabled() {
+        return dedup != null;
+    }
+
+    // Students dropped as duplicates since this manager was created
+    public long getDuplicatesDropped() {
+        return duplicatesDropped;
+    }
+
+    // One-line description of dedup mode and how often the Bloom filter settled a check alone
+    public String getDedupSummary() {
+        if (dedup == null) {
+            return "Dedup is off; " + duplicatesDropped + " duplicates dropped";
+        }
+        return String.format("Dedup is on: %d rows tracked, %d duplicates dropped; Bloom filter answered %d of %d checks",
+                dedup.size(), duplicatesDropped, dedup.getDefinitelyNew(),
+                dedup.getDefinitelyNew() + dedup.getExactChecks());
     }
 
     // Add a student
     public void addStudent(Student student) {
-        students.add(student);
+        long start = stats.start();
+        RosterQueryEvent event = RosterQueryEvent.start();
+        if (dedup != null && !dedup.admit(student)) {
+            duplicatesDropped++;
+            finish(Operation.ADD, start, event, 0);
+            return;
+        }
+        versions.commit(() -> students.add(student));
+        student.addListener(changeListener);
+        trackAdded(student);
+        bitmaps.added(students.size() - 1, student);
+        gpaCounts.add(student.getGpaHundredths(), 1);
+        if (byNameCurrent) {
+            byName.putIfAbsent(student.getSortKey(), student);
+        }
+        epoch++;
+        mutations.publishAdded(student);
+        finish(Operation.ADD, start, event, 1);
+    }
+
+    // Add many students at once: storage grows once and derived state is merged once per batch.
+    // Returns how many were added (fewer than the batch when dedup mode drops duplicates).
+    public int addAll(Collection<? extends Student> batch) {
+        long start = stats.start();
+        RosterQueryEvent event = RosterQueryEvent.start();
+        Student[] added = batch.toArray(new Student[0]);
+        // Check the whole batch before changing anything
+        if (Arrays.stream(added).parallel().anyMatch(Objects::isNull)) {
+            throw new NullPointerException("Batch contains a null student");
+        }
+        if (dedup != null) {
+            int kept = 0;
+            for (Student s : added) {
+                if (dedup.admit(s)) {
+                    added[kept++] = s;
+                }
+            }
+            duplicatesDropped += added.length - kept;
+            added = Arrays.copyOf(added, kept);
+        }
+        List<Student> appended = Arrays.asList(added);
+        versions.commit(() -> students.addAll(appended));
+        long[] gpaDeltas = new long[gpaCounts.size()];
+        for (Student s : added) {
+            s.addListener(changeListener);
+            gpaDeltas[s.getGpaHundredths()]++;
+            mutations.publishAdded(s);
+            trackAdded(s);
+        }
+        mergeGpaCounts(gpaDeltas);
+        bitmaps.invalidate();
+        byNameCurrent = false;
+        epoch++;
+        finish(Operation.BULK_ADD, start, event, added.length);
+        return added.length;
+    }
+
+    // Apply many field changes as one batch and return how many were applied.
+    // Every update is validated first, in parallel; if any is invalid nothing is
+    // changed. Names refer to the roster as it was before the batch.
+    public int applyUpdates(Stream<StudentUpdate> updates) {
+        long start = stats.start();
+        RosterQueryEvent event = RosterQueryEvent.start();
+        List<StudentUpdate> batch = updates.collect(Collectors.toList());
+        Map<String, Student> names = nameIndex();
+        Student[] targets = new Student[batch.size()];
+        List<String> errors = IntStream.range(0, batch.size()).parallel()
+                .mapToObj(i -> {
+                    targets[i] = names.get(Student.foldCase(batch.get(i).getName()));
+                    return batch.get(i).validate(targets[i]);
+                })
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException(errors.size() + " invalid update(s), none applied; first: " + errors.get(0));
+        }
+
+        long[] gpaDeltas = new long[gpaCounts.size()];
+        boolean renamed = false;
+        batching = true;
+        try {
+            for (int i = 0; i < targets.length; i++) {
+                StudentUpdate update = batch.get(i);
+                if (dedup != null) {
+                    dedup.remove(targets[i]);
+                }
+                if (update.getField() == StudentField.GPA) {
+                    gpaDeltas[targets[i].getGpaHundredths()]--;
+                    update.applyTo(targets[i]);
+                    gpaDeltas[targets[i].getGpaHundredths()]++;
+                } else {
+                    update.applyTo(targets[i]);
+                    renamed |= update.getField() == StudentField.NAME;
+                }
+                if (dedup != null) {
+                    dedup.add(targets[i]);
+                }
+            }
+        } finally {
+            batching = false;
+            mergeGpaCounts(gpaDeltas);
+            bitmaps.invalidate();
+            if (renamed) {
+                byNameCurrent = false;
+            }
+            epoch++;
+        }
+        finish(Operation.BULK_UPDATE, start, event, targets.length);
+        return targets.length;
+    }
+
+    private void mergeGpaCounts(long[] deltas) {
+        for (int bucket = 0; bucket < deltas.length; bucket++) {
+            if (deltas[bucket] != 0) {
+                gpaCounts.add(bucket, deltas[bucket]);
+            }
+        }
     }
 
     // Get all students
     public List<Student> getAllStudents() {
-        return new ArrayList<>(students); // Return copy for safety
+        long start = stats.start();
+        RosterQueryEvent event = RosterQueryEvent.start();
+        List<Student> copy = new ArrayList<>(students); // Return copy for safety
+        finish(Operation.LIST, start, event, copy.size());
+        return copy;
     }
 
     // Find student by name
     public Student findByName(String name) {
-        for (Student student : students) {
-            if (student.getName().equalsIgnoreCase(name)) {
-                return student;
-            }
-        }
-        return null;
+        long start = stats.start();
+        RosterQueryEvent event = RosterQueryEvent.start();
+        Student found = lookup(name);
+        finish(Operation.FIND, start, event, found == null ? 0 : 1);
+        return found;
+    }
+
+    // Sequential stream over the roster as it is now, without copying it
+    public Stream<Student> stream() {
+        return StreamSupport.stream(students.spliterator(), false);
+    }
+
+    // Parallel stream over the roster as it is now; splits evenly for fork-join
+    public Stream<Student> parallelStream() {
+        return StreamSupport.stream(students.spliterator(), true);
+    }
+
+    // Required GPA and Dean's List feasibility for the whole roster, computed in parallel
+    public DeansListProjection projectDeansList(ToIntFunction<? super Student> completedCredits,
+                                                int remainingCredits, double minimum) {
+        return DeansListProjection.run(students, completedCredits, remainingCredits, minimum);
     }
 
     // Get students on honor roll (using streams)
     public List<Student> getHonorRollStudents() {
-        return students.stream()
-                .filter(Student::isHonorRoll)
-                .collect(Collectors.toList());
+        long start = stats.start();
+        RosterQueryEvent event = RosterQueryEvent.start();
+        List<Student> cached = cache.get("honors", epoch);
+        if (cached == null) {
+            bitmaps.refresh(students);
+            CompressedBitmap rows = bitmaps.getHonorRoll();
+            cached = new ArrayList<>(rows.cardinality());
+            for (PrimitiveIterator.OfInt it = rows.iterator(); it.hasNext(); ) {
+                cached.add(students.get(it.nextInt()));
+            }
+            cache.put("honors", epoch, cached, ResultCache.referencesWeight(cached.size()));
+        }
+        List<Student> honorRoll = new ArrayList<>(cached);
+        finish(Operation.HONOR_ROLL, start, event, honorRoll.size());
+        return honorRoll;
     }
 
     // Get average GPA
     public double getAverageGpa() {
-        if (students.isEmpty()) {
-            return 0.0;
+        long start = stats.start();
+        RosterQueryEvent event = RosterQueryEvent.start();
+        Double average = cache.get("average", epoch);
+        if (average == null) {
+            average = students.isEmpty() ? 0.0 : students.stream()
+                    .mapToDouble(Student::getGpa)
+                    .average()
+                    .orElse(0.0);
+            cache.put("average", epoch, average, 16);
         }
-        return students.stream()
-                .mapToDouble(Student::getGpa)
-                .average()
-                .orElse(0.0);
+        finish(Operation.AVERAGE, start, event, 1);
+        return average;
     }
 
     // Sort students by GPA (descending)
     public List<Student> sortByGpa() {
-        return students.stream()
-                .sorted((s1, s2) -> Double.compare(s2.getGpa(), s1.getGpa()))
-                .collect(Collectors.toList());
+        long start = stats.start();
+        RosterQueryEvent event = RosterQueryEvent.start();
+        Student[] order = cache.get("sortByGpa", epoch);
+        if (order == null) {
+            order = GpaSort.byGpaDescending(students);
+            cache.put("sortByGpa", epoch, order, ResultCache.referencesWeight(order.length));
+        }
+        List<Student> sorted = new ArrayList<>(Arrays.asList(order));
+        finish(Operation.SORT, start, event, sorted.size());
+        return sorted;
+    }
+
+    // 1-based GPA rank (ties share a rank, GPAs compared to the hundredth), or -1 if not found
+    public int rank(String name) {
+        long start = stats.start();
+        RosterQueryEvent event = RosterQueryEvent.start();
+        Student student = lookup(name);
+        int rank = student == null ? -1
+                : (int) (gpaCounts.total() - gpaCounts.prefixSum(student.getGpaHundredths())) + 1;
+        finish(Operation.RANK, start, event, student == null ? 0 : 1);
+        return rank;
+    }
+
+    // Percent of the roster with a lower GPA, counting equal GPAs as half; NaN if not found
+    public double percentile(String name) {
+        long start = stats.start();
+        RosterQueryEvent event = RosterQueryEvent.start();
+        Student student = lookup(name);
+        double percentile = Double.NaN;
+        if (student != null) {
+            int bucket = student.getGpaHundredths();
+            long below = gpaCounts.prefixSum(bucket - 1);
+            long equal = gpaCounts.prefixSum(bucket) - below;
+            percentile = 100.0 * (below + equal / 2.0) / gpaCounts.total();
+        }
+        finish(Operation.RANK, start, event, student == null ? 0 : 1);
+        return percentile;
+    }
+
+    // First student with the name (ignoring case) via the name index
+    private Student lookup(String name) {
+        return name == null ? null : nameIndex().get(Student.foldCase(name));
+    }
+
+    private Map<String, Student> nameIndex() {
+        if (!byNameCurrent) {
+            byName.clear();
+            for (Student s : students) {
+                byName.putIfAbsent(s.getSortKey(), s);
+            }
+            byNameCurrent = true;
+        }
+        return byName;
+    }
+
+    // Pin the roster as it is now for a long read; other threads may take and read
+    // snapshots while this manager's thread keeps changing the roster. Close when done.
+    public RosterSnapshot snapshot() {
+        return versions.pin(() -> students);
+    }
+
+    RosterVersions getVersions() {
+        return versions;
+    }
+
+    // Subscribe here to receive roster changes asynchronously, in batches
+    public MutationStream getMutations() {
+        return mutations;
+    }
+
+    // Hit/miss counters and size of the query result cache
+    public ResultCache getCache() {
+        return cache;
+    }
+
+    // Operation counters and latency histograms for this manager
+    public OperationStats getStats() {
+        return stats;
+    }
+
+    // Record an operation's latency and emit its flight recorder event
+    private void finish(Operation operation, long start, RosterQueryEvent event, int resultSize) {
+        stats.record(operation, start);
+        event.finish(operation.name(), students.size(), resultSize);
+    }
+
+    // Visit one page of students in insertion order; returns rows visited
+    public int forEachStudent(PageRequest page, Consumer<? super Student> action) {
+        long start = stats.start();
+        RosterQueryEvent event = RosterQueryEvent.start();
+        int visited = forEachMatching(page, null, action);
+        finish(Operation.PAGE, start, event, visited);
+        return visited;
+    }
+
+    // Visit one page of honor roll students in insertion order; returns rows visited
+    public int forEachHonorRollStudent(PageRequest page, Consumer<? super Student> action) {
+        long start = stats.start();
+        RosterQueryEvent event = RosterQueryEvent.start();
+        int visited = forEachMatching(page, Student::isHonorRoll, action);
+        finish(Operation.PAGE, start, event, visited);
+        return visited;
+    }
+
+    // Visit one page of students ordered by compareTo (GPA descending, then name).
+    // A short page keeps only offset + limit rows in a bounded heap, costing O(n log k)
+    // instead of a full sort; whole-roster and deep pages build the cached full ordering,
+    // which later pages then reuse until the roster changes.
+    public int forEachSortedByGpa(PageRequest page, Consumer<? super Student> action) {
+        long start = stats.start();
+        RosterQueryEvent event = RosterQueryEvent.start();
+        int visited = sortedPage(page, action);
+        finish(Operation.PAGE, start, event, visited);
+        return visited;
+    }
+
+    private int sortedPage(PageRequest page, Consumer<? super Student> action) {
+        Student cursor = null;
+        if (page.getAfter() != null) {
+            cursor = findByName(page.getAfter());
+            if (cursor == null) {
+                throw new IllegalArgumentException("Unknown cursor: " + page.getAfter());
+            }
+        }
+
+        List<Student> window;
+        int from = page.getOffset();
+        int k = page.getWindow();
+        Student[] ranked = naturalOrder(page.isUnbounded() || (long) k * DEEP_PAGE_FRACTION >= students.size());
+        if (ranked != null) {
+            // Served from the cached full ordering: skip straight past the cursor
+            window = Arrays.asList(ranked);
+            if (cursor != null) {
+                from += upperBound(ranked, cursor);
+            }
+        } else if (page.isUnbounded()) {
+            List<Student> after = students;
+            if (cursor != null) {
+                after = new ArrayList<>(students.size());
+                for (Student s : students) {
+                    if (s.compareTo(cursor) > 0) {
+                        after.add(s);
+                    }
+                }
+            }
+            window = Arrays.asList(GpaSort.inNaturalOrder(after));
+        } else {
+            if (k == 0) {
+                return 0;
+            }
+            // Max-heap on compareTo: the root is the worst row currently kept
+            PriorityQueue<Student> heap = new PriorityQueue<>(Math.min(k, 1024) + 1, Collections.reverseOrder());
+            for (Student s : students) {
+                if (cursor != null && s.compareTo(cursor) <= 0) {
+                    continue;
+                }
+                if (heap.size() < k) {
+                    heap.add(s);
+                } else if (s.compareTo(heap.peek()) < 0) {
+                    heap.poll();
+                    heap.add(s);
+                }
+            }
+            window = new ArrayList<>(heap);
+            window.sort(null);
+        }
+
+        int visited = 0;
+        for (int i = from; i < window.size() && visited < page.getLimit(); i++) {
+            action.accept(window.get(i));
+            visited++;
+        }
+        return visited;
+    }
+
+    // The whole roster in compareTo order from the cache, sorting and caching it first if
+    // build is set; null when not cached (or too large for the cache)
+    private Student[] naturalOrder(boolean build) {
+        Student[] ranked = cache.get("naturalOrder", epoch);
+        long weight = ResultCache.referencesWeight(students.size());
+        if (ranked == null && build && cache.fits(weight)) {
+            ranked = GpaSort.inNaturalOrder(students);
+            cache.put("naturalOrder", epoch, ranked, weight);
+        }
+        return ranked;
+    }
+
+    // Index of the first student ordered after the cursor
+    private static int upperBound(Student[] ranked, Student cursor) {
+        int lo = 0;
+        int hi = ranked.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (ranked[mid].compareTo(cursor) <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // Shared scan for insertion-ordered pages; a null filter matches everyone
+    private int forEachMatching(PageRequest page, Predicate<Student> filter,
+                                Consumer<? super Student> action) {
+        int start = 0;
+        if (page.getAfter() != null) {
+            start = indexOfName(page.getAfter()) + 1;
+            if (start == 0) {
+                throw new IllegalArgumentException("Unknown cursor: " + page.getAfter());
+            }
+        }
+
+        int skipped = 0;
+        int visited = 0;
+        for (int i = start; i < students.size() && visited < page.getLimit(); i++) {
+            Student s = students.get(i);
+            if (filter != null && !filter.test(s)) {
+                continue;
+            }
+            if (skipped < page.getOffset()) {
+                skipped++;
+                continue;
+            }
+            action.accept(s);
+            visited++;
+        }
+        return visited;
+    }
+
+    private int indexOfName(String name) {
+        for (int i = 0; i < students.size(); i++) {
+            if (students.get(i).getName().equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Run a query such as "gpa >= 3.5 and type = grad order by gpa desc limit 10"
+    public QueryResult query(String text) {
+        long start = stats.start();
+        RosterQueryEvent event = RosterQueryEvent.start();
+        Query parsed = Query.parse(text);
+        // Keyed by the normalised query so spacing and keyword case do not matter
+        String key = "query:" + parsed;
+        QueryResult result = cache.get(key, epoch);
+        if (result == null) {
+            result = plan(parsed).execute();
+            cache.put(key, epoch, result, 64 + ResultCache.referencesWeight(result.getRows().size()));
+        }
+        result = result.copy();
+        finish(Operation.QUERY, start, event, result.size());
+        return result;
+    }
+
+    // Describe how a query would run (indexes used, filter, ordering) without running it
+    public String explain(String text) {
+        return plan(Query.parse(text)).explain();
+    }
+
+    QueryPlan plan(Query query) {
+        bitmaps.refresh(students);
+        return QueryPlanner.plan(query, students, indexes);
+    }
+
+    void addIndex(QueryIndex index) {
+        indexes.add(index);
+    }
+
+    // Keep indexes in step with a student changed through its setters
+    private void studentChanged(Student student, StudentField field) {
+        epoch++;
+        bitmaps.changed(student, field);
+        if (field == StudentField.GPA) {
+            gpaCounts.add(student.getGpaHundredths(), 1);
+        } else if (field == StudentField.NAME) {
+            byNameCurrent = false;
+        }
+        if (dedup != null) {
+            dedup.add(student);
+        }
     }
 
     // Get count
@@ -67,20 +611,177 @@ public class StudentManager {
 
     // Remove student by name
     public boolean removeStudent(String name) {
-        return students.removeIf(s -> s.getName().equalsIgnoreCase(name));
+        long start = stats.start();
+        RosterQueryEvent event = RosterQueryEvent.start();
+        int before = students.size();
+        // Published once the commit returns, so a slow subscriber never holds up snapshot pins
+        List<Student> leaving = new ArrayList<>();
+        boolean removed = versions.commit(() -> students.removeIf(s -> {
+            if (!s.getName().equalsIgnoreCase(name)) {
+                return false;
+            }
+            versions.retire(s);
+            s.removeListener(changeListener);
+            if (deltaBase != null) {
+                dirty.remove(s.recordId);
+                deleted.add(s.recordId);
+            }
+            gpaCounts.add(s.getGpaHundredths(), -1);
+            if (dedup != null) {
+                dedup.remove(s);
+            }
+            leaving.add(s);
+            return true;
+        }));
+        for (Student s : leaving) {
+            mutations.publishRemoved(s);
+        }
+        if (removed) {
+            epoch++;
+            bitmaps.invalidate();
+            byName.remove(Student.foldCase(name));
+        }
+        finish(Operation.REMOVE, start, event, before - students.size());
+        return removed;
     }
 
     // Group students by honor roll status
     public Map<Boolean, List<Student>> groupByHonorRoll() {
-        return students.stream()
-                .collect(Collectors.groupingBy(Student::isHonorRoll));
+        long start = stats.start();
+        RosterQueryEvent event = RosterQueryEvent.start();
+        Map<Boolean, List<Student>> cached = cache.get("groupByHonorRoll", epoch);
+        if (cached == null) {
+            cached = splitByHonorRoll();
+            cache.put("groupByHonorRoll", epoch, cached, 64 + ResultCache.referencesWeight(students.size()));
+        }
+        // Hand out fresh lists so callers cannot change the cached ones
+        Map<Boolean, List<Student>> groups = new HashMap<>();
+        for (Map.Entry<Boolean, List<Student>> group : cached.entrySet()) {
+            groups.put(group.getKey(), new ArrayList<>(group.getValue()));
+        }
+        finish(Operation.GROUP_BY_HONOR_ROLL, start, event, groups.size());
+        return groups;
+    }
+
+    private Map<Boolean, List<Student>> splitByHonorRoll() {
+        // Split by walking the honor roll bitmap alongside the rows
+        bitmaps.refresh(students);
+        CompressedBitmap honors = bitmaps.getHonorRoll();
+        List<Student> yes = new ArrayList<>(honors.cardinality());
+        List<Student> no = new ArrayList<>(students.size() - honors.cardinality());
+        PrimitiveIterator.OfInt it = honors.iterator();
+        int next = it.hasNext() ? it.nextInt() : -1;
+        for (int row = 0; row < students.size(); row++) {
+            if (row == next) {
+                yes.add(students.get(row));
+                next = it.hasNext() ? it.nextInt() : -1;
+            } else {
+                no.add(students.get(row));
+            }
+        }
+        Map<Boolean, List<Student>> groups = new HashMap<>();
+        if (!yes.isEmpty()) {
+            groups.put(true, yes);
+        }
+        if (!no.isEmpty()) {
+            groups.put(false, no);
+        }
+        return groups;
+    }
+
+    // Count and GPA/age aggregates per value of a field (age, grade, standing, degree, advisor...)
+    public List<GroupStats> groupBy(QueryField key) {
+        return groupBy(key, false);
+    }
+
+    // Same as groupBy(key); in parallel mode worker partials are merged at the end
+    public List<GroupStats> groupBy(QueryField key, boolean parallel) {
+        long start = stats.start();
+        RosterQueryEvent event = RosterQueryEvent.start();
+        List<GroupStats> groups = GroupBy.run(students, key, parallel);
+        finish(Operation.GROUP_BY, start, event, groups.size());
+        return groups;
     }
 
-    // Save students to file
+    // Save students to file (records plus a summary footer, see RosterFile); the file is
+    // replaced atomically, so a crash mid-save leaves the previous save intact
     public void saveToFile(String filename) throws IOException {
-        try (ObjectOutputStream oos = new ObjectOutputStream(
-                new FileOutputStream(filename))) {
-            oos.writeObject(students);
+        long start = stats.start();
+        RosterPersistenceEvent event = RosterPersistenceEvent.start();
+        Path path = Paths.get(filename);
+        RosterFile.replace(path, students);
+        startDeltas(path);
+        stats.record(Operation.SAVE, start);
+        event.finish("save", path, students.size());
+    }
+
+    // Save only what changed since the last save or load of this file, as a delta file next
+    // to it (see DeltaFile); returns how many records were written. Writes a full base instead
+    // when the file has no base from this manager, and compacts once deltas outgrow the base.
+    public int saveDelta(String filename) throws IOException {
+        Path path = Paths.get(filename);
+        if (!path.equals(deltaBase) || !Files.exists(path)
+                || RosterFile.fingerprint(path) != deltaBaseFingerprint) {
+            saveToFile(filename);
+            return students.size();
+        }
+        if (dirty.isEmpty() && deleted.isEmpty()) {
+            return 0;
+        }
+        long start = stats.start();
+        RosterPersistenceEvent event = RosterPersistenceEvent.start();
+        int changed = dirty.size() + deleted.size();
+        Path delta = DeltaFile.deltaPath(path, deltaCount + 1);
+        deltaBytes += DeltaFile.write(path, deltaBaseFingerprint, deltaCount + 1, dirty, deleted);
+        deltaCount++;
+        dirty.clear();
+        deleted.clear();
+        stats.record(Operation.SAVE, start);
+        event.finish("delta", delta, changed);
+        if (deltaBytes > compactionRatio * deltaBaseBytes) {
+            saveToFile(filename); // fold the deltas into a new base
+        }
+        return changed;
+    }
+
+    // Delta-save the default file
+    public int saveDelta() throws IOException {
+        return saveDelta(DEFAULT_FILE);
+    }
+
+    // One-line description of the base file, its deltas and unsaved changes
+    public String getDeltaStatus() {
+        if (deltaBase == null) {
+            return "No base snapshot yet; the next delta save writes a full one";
+        }
+        return String.format("Base %s (%d bytes) + %d deltas (%d bytes); %d changed and %d removed records unsaved",
+                deltaBase, deltaBaseBytes, deltaCount, deltaBytes, dirty.size(), deleted.size());
+    }
+
+    // A full base was just written to path: number records by position and forget older deltas
+    private void startDeltas(Path path) throws IOException {
+        DeltaFile.deleteAll(path);
+        for (int i = 0; i < students.size(); i++) {
+            students.get(i).recordId = i;
+        }
+        trackDeltas(path, RosterFile.fingerprint(path), 0, 0, students.size());
+    }
+
+    private void trackDeltas(Path path, long fingerprint, int count, long bytes, long nextId) throws IOException {
+        deltaBase = path;
+        deltaBaseFingerprint = fingerprint;
+        deltaBaseBytes = Files.size(path);
+        deltaCount = count;
+        deltaBytes = bytes;
+        nextRecordId = nextId;
+        dirty.clear();
+        deleted.clear();
+    }
+
+    private void trackAdded(Student student) {
+        if (deltaBase != null) {
+            student.recordId = nextRecordId++;
+            dirty.put(student.recordId, student);
         }
     }
 
@@ -89,17 +790,104 @@ public class StudentManager {
         saveToFile(DEFAULT_FILE);
     }
 
-    // Load students from file
-    @SuppressWarnings("unchecked")
+    // Checkpoint to a file in the background: the caller only pins a snapshot. The file is
+    // replaced atomically; requests made while one is still waiting share its future.
+    public CompletableFuture<RosterSummary> saveToFileAsync(String filename) {
+        return checkpointer().request(Paths.get(filename).toAbsolutePath().normalize());
+    }
+
+    // Checkpoint the default file in the background
+    public CompletableFuture<RosterSummary> saveAsync() {
+        return saveToFileAsync(DEFAULT_FILE);
+    }
+
+    // Checkpoint the default file every period while the roster keeps changing
+    public void scheduleCheckpoints(long period, TimeUnit unit) {
+        checkpointer().schedule(Paths.get(DEFAULT_FILE).toAbsolutePath().normalize(), period, unit);
+    }
+
+    public void cancelCheckpoints() {
+        if (checkpointer != null) {
+            checkpointer.cancelSchedule();
+        }
+    }
+
+    // Block until requested checkpoints are on disk (e.g. before exiting)
+    public void awaitCheckpoints() throws InterruptedException {
+        if (checkpointer != null) {
+            checkpointer.awaitIdle();
+        }
+    }
+
+    // One-line summary of background checkpoints
+    public String getCheckpointStatus() {
+        return checkpointer == null ? "Checkpoints: none requested" : checkpointer.toString();
+    }
+
+    private Checkpointer checkpointer() {
+        if (checkpointer == null) {
+            checkpointer = new Checkpointer(this::snapshot, stats);
+        }
+        return checkpointer;
+    }
+
+    // Load students from file, applying any delta files saved against it
     public void loadFromFile(String filename) throws IOException, ClassNotFoundException {
-        try (ObjectInputStream ois = new ObjectInputStream(
-                new FileInputStream(filename))) {
-            students = (List<Student>) ois.readObject();
+        long start = stats.start();
+        RosterPersistenceEvent event = RosterPersistenceEvent.start();
+        Path path = Paths.get(filename);
+        DeltaFile.Merged merged = DeltaFile.read(path);
+        List<Student> loaded = merged.students;
+        for (int i = 0; i < loaded.size(); i++) {
+            Student s = loaded.get(i);
+            s.recordId = merged.ids[i];
+            s.addListener(changeListener);
+        }
+        versions.commit(() -> {
+            for (Student s : students) {
+                versions.retire(s);
+                s.removeListener(changeListener);
+            }
+            students = new RosterList(loaded);
+            return null;
+        });
+        epoch++;
+        if (dedup != null) {
+            dedup = new DuplicateFilter(students);
+        }
+        bitmaps.invalidate();
+        byNameCurrent = false;
+        gpaCounts.clear();
+        for (Student s : loaded) {
+            gpaCounts.add(s.getGpaHundredths(), 1);
+        }
+        mutations.publishReload();
+        if (merged.fingerprint != 0) {
+            trackDeltas(path, merged.fingerprint, merged.deltas, merged.deltaBytes, merged.nextId);
+        } else {
+            deltaBase = null; // a legacy base cannot carry deltas; the next delta save rewrites it
         }
+        stats.record(Operation.LOAD, start);
+        event.finish("load", path, students.size());
     }
 
     // Load from default file
     public void load() throws IOException, ClassNotFoundException {
         loadFromFile(DEFAULT_FILE);
     }
+
+    // Read the aggregates stored in a snapshot's footer without loading any students.
+    // Throws IOException if delta files have changed the roster since the footer was written.
+    public static RosterSummary readSummary(String filename) throws IOException {
+        Path path = Paths.get(filename);
+        if (DeltaFile.hasDeltas(path)) {
+            throw new IOException("Snapshot has delta files; its footer is out of date");
+        }
+        return RosterFile.readSummary(path);
+    }
+
+    // Read the default file's footer aggregates
+    public static RosterSummary readSummary() throws IOException {
+        return readSummary(DEFAULT_FILE);
+    }
 }
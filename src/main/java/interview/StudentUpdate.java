@@ -0,0 +1,117 @@
+package interview;
+
+/**
+ * One field change addressed to a student by name, for
+ * StudentManager.applyUpdates. Values are checked against the same rules
+ * as the Student and GraduateStudent setters before anything is applied.
+ */
+public final class StudentUpdate {
+    private final String name;
+    private final StudentField field;
+    private final Object value;
+
+    private StudentUpdate(String name, StudentField field, Object value) {
+        if (name == null || field == null) {
+            throw new IllegalArgumentException("Update needs a student name and a field");
+        }
+        this.name = name;
+        this.field = field;
+        this.value = value;
+    }
+
+    public static StudentUpdate gpa(String name, double gpa) {
+        return new StudentUpdate(name, StudentField.GPA, gpa);
+    }
+
+    public static StudentUpdate age(String name, int age) {
+        return new StudentUpdate(name, StudentField.AGE, age);
+    }
+
+    public static StudentUpdate rename(String name, String newName) {
+        return new StudentUpdate(name, StudentField.NAME, newName);
+    }
+
+    public static StudentUpdate thesisTitle(String name, String thesisTitle) {
+        return new StudentUpdate(name, StudentField.THESIS_TITLE, thesisTitle);
+    }
+
+    public static StudentUpdate advisor(String name, String advisor) {
+        return new StudentUpdate(name, StudentField.ADVISOR, advisor);
+    }
+
+    public static StudentUpdate phd(String name, boolean isPhD) {
+        return new StudentUpdate(name, StudentField.PHD, isPhD);
+    }
+
+    // Build an update from text, e.g. ("Alice", "gpa", "3.9")
+    public static StudentUpdate parse(String name, String field, String value) {
+        StudentField f;
+        try {
+            f = StudentField.valueOf(field.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown field: " + field);
+        }
+        switch (f) {
+            case GPA: return gpa(name, Double.parseDouble(value.trim()));
+            case AGE: return age(name, Integer.parseInt(value.trim()));
+            case PHD: return phd(name, Boolean.parseBoolean(value.trim()));
+            default: return new StudentUpdate(name, f, value);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public StudentField getField() {
+        return field;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    // Reason this update cannot be applied to the student, or null if it can
+    String validate(Student target) {
+        if (target == null) {
+            return "Student not found: " + name;
+        }
+        boolean graduate = target instanceof GraduateStudent;
+        switch (field) {
+            case GPA: {
+                double gpa = (Double) value;
+                return gpa < 0.0 || gpa > 4.0 ? "GPA must be between 0.0 and 4.0: " + name : null;
+            }
+            case AGE: {
+                int age = (Integer) value;
+                return age <= 0 || age > 150 ? "Age must be between 1 and 150: " + name : null;
+            }
+            case PHD:
+                return graduate ? null : name + " is not a graduate student";
+            default:
+                if (field != StudentField.NAME && !graduate) {
+                    return name + " is not a graduate student";
+                }
+                String text = (String) value;
+                return text == null || text.trim().isEmpty()
+                        ? field.name().toLowerCase() + " cannot be null or empty: " + name : null;
+        }
+    }
+
+    // Apply through the setter; validate() must have passed
+    void applyTo(Student target) {
+        switch (field) {
+            case GPA: target.setGpa((Double) value); break;
+            case AGE: target.setAge((Integer) value); break;
+            case NAME: target.setName((String) value); break;
+            case THESIS_TITLE: ((GraduateStudent) target).setThesisTitle((String) value); break;
+            case ADVISOR: ((GraduateStudent) target).setAdvisor((String) value); break;
+            default: ((GraduateStudent) target).setPhD((Boolean) value);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name + ": " + field.name().toLowerCase() + " = " + value;
+    }
+}
@@ -0,0 +1,163 @@
+package interview;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Unit tests for background checkpoints
+ */
+public class CheckpointerTest {
+    private Path dir;
+    private Path file;
+    private StudentManager manager;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("checkpoints");
+        file = dir.resolve("roster.dat");
+        manager = new StudentManager();
+        for (int i = 0; i < 20_000; i++) {
+            manager.addStudent(new Student("S" + i, 20, (i % 401) / 100.0));
+        }
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        manager.cancelCheckpoints();
+        manager.awaitCheckpoints();
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path p : (Iterable<Path>) files::iterator) {
+                Files.delete(p);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    @Test
+    public void testCheckpointShowsRosterAsRequested() throws Exception {
+        CompletableFuture<RosterSummary> done = manager.saveToFileAsync(file.toString());
+        manager.addStudent(new Student("Late", 30, 4.0));
+        manager.findByName("S0").setGpa(0.0);
+
+        assertEquals(20_000, done.get(30, TimeUnit.SECONDS).getCount());
+        List<Student> saved = RosterFile.readAll(file);
+        assertEquals(20_000, saved.size());
+        assertEquals(0.0, saved.get(0).getGpa()); // S0 had GPA 0.0 to begin with
+        assertEquals(new Student("S1", 20, 0.01), saved.get(1));
+        assertTrue(saved.stream().noneMatch(s -> s.getName().equals("Late")));
+    }
+
+    @Test
+    public void testRepeatedRequestsCoalesce() throws Exception {
+        List<CompletableFuture<RosterSummary>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            manager.findByName("S" + i).setGpa(4.0);
+            futures.add(manager.saveToFileAsync(file.toString()));
+        }
+        manager.awaitCheckpoints();
+
+        for (CompletableFuture<RosterSummary> future : futures) {
+            assertTrue(future.isDone() && !future.isCompletedExceptionally());
+        }
+        // The last request always wins: every change made before it is in the file
+        List<Student> saved = RosterFile.readAll(file);
+        for (int i = 0; i < 20; i++) {
+            assertEquals(4.0, saved.get(i).getGpa());
+        }
+        assertTrue(futures.stream().distinct().count() < 20, "waiting requests should share a checkpoint");
+    }
+
+    @Test
+    public void testFileIsReplacedAtomically() throws Exception {
+        manager.saveToFileAsync(file.toString()).get(30, TimeUnit.SECONDS);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                try {
+                    RosterFile.readSummary(file);
+                } catch (Exception e) {
+                    failure.compareAndSet(null, e);
+                }
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 5; i++) {
+            manager.addStudent(new Student("Extra" + i, 20, 3.0));
+            manager.saveToFileAsync(file.toString()).get(30, TimeUnit.SECONDS);
+        }
+        done.set(true);
+        reader.join();
+
+        assertNull(failure.get());
+        assertEquals(20_005, RosterFile.readSummary(file).getCount());
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(1, files.count(), "no temporary files should be left behind");
+        }
+    }
+
+    @Test
+    public void testFailedCheckpointCompletesExceptionally() {
+        CompletableFuture<RosterSummary> done = manager.saveToFileAsync(dir.resolve("missing/roster.dat").toString());
+        ExecutionException e = assertThrows(ExecutionException.class, () -> done.get(30, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof IOException);
+        assertTrue(manager.getCheckpointStatus().contains("1 failed"));
+    }
+
+    @Test
+    public void testScheduledCheckpointsSkipUnchangedRoster() throws Exception {
+        Checkpointer checkpointer = new Checkpointer(manager::snapshot, manager.getStats());
+        checkpointer.schedule(file, 20, TimeUnit.MILLISECONDS);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (checkpointer.getWritten() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        Thread.sleep(100);
+        assertEquals(1, checkpointer.getWritten()); // nothing changed after the first round
+        assertTrue(checkpointer.toString().contains("skipped"));
+
+        manager.addStudent(new Student("Later", 22, 3.3));
+        while (checkpointer.getWritten() == 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        checkpointer.cancelSchedule();
+        checkpointer.awaitIdle();
+        assertEquals(20_001, RosterFile.readSummary(file).getCount());
+        assertFalse(checkpointer.isScheduled());
+    }
+
+    @Test
+    public void testFailedScheduledCheckpointIsRetried() throws Exception {
+        Path missing = dir.resolve("later");
+        Checkpointer checkpointer = new Checkpointer(manager::snapshot, manager.getStats());
+        checkpointer.schedule(missing.resolve("roster.dat"), 20, TimeUnit.MILLISECONDS);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (checkpointer.getFailed() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        Files.createDirectory(missing); // the roster has not changed since the failure
+        while (checkpointer.getWritten() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        checkpointer.cancelSchedule();
+        checkpointer.awaitIdle();
+        assertEquals(1, checkpointer.getWritten());
+        assertEquals(20_000, RosterFile.readSummary(missing.resolve("roster.dat")).getCount());
+        Files.delete(missing.resolve("roster.dat"));
+        Files.delete(missing);
+    }
+}
@@ -0,0 +1,59 @@
+package interview;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CommandTokenizer
+ */
+public class CommandTokenizerTest {
+    private CommandTokenizer tokenizer;
+
+    @BeforeEach
+    public void setUp() {
+        tokenizer = new CommandTokenizer();
+    }
+
+    @Test
+    public void testSplitsOnWhitespace() {
+        assertArrayEquals(new String[] {"add", "Alice", "20", "3.8"},
+            tokenizer.tokenize("add Alice 20 3.8"));
+    }
+
+    @Test
+    public void testCollapsesRepeatedWhitespace() {
+        assertArrayEquals(new String[] {"find", "Bob"},
+            tokenizer.tokenize("  find \t  Bob   "));
+    }
+
+    @Test
+    public void testBlankLineHasNoTokens() {
+        assertEquals(0, tokenizer.tokenize("").length);
+        assertEquals(0, tokenizer.tokenize("   ").length);
+    }
+
+    @Test
+    public void testQuotedArgumentKeepsSpaces() {
+        String[] args = tokenizer.tokenize("addgrad Jane 25 3.9 \"AI Research\" \"Dr. Smith\" true");
+        assertEquals(7, args.length);
+        assertEquals("AI Research", args[4]);
+        assertEquals("Dr. Smith", args[5]);
+    }
+
+    @Test
+    public void testEmptyQuotesProduceEmptyArgument() {
+        assertArrayEquals(new String[] {"find", ""}, tokenizer.tokenize("find \"\""));
+    }
+
+    @Test
+    public void testUnterminatedQuoteThrows() {
+        assertThrows(IllegalArgumentException.class, () -> tokenizer.tokenize("find \"Alice"));
+    }
+
+    @Test
+    public void testTokenizerIsReusable() {
+        tokenizer.tokenize("add Alice 20 3.8");
+        assertArrayEquals(new String[] {"count"}, tokenizer.tokenize("count"));
+    }
+}
@@ -0,0 +1,117 @@
+package interview;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.BitSet;
+import java.util.Random;
+
+/**
+ * Unit tests for CompressedBitmap, checked against java.util.BitSet
+ */
+public class CompressedBitmapTest {
+
+    @Test
+    public void testAddContainsRemove() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        bitmap.add(5);
+        bitmap.add(70000);
+        bitmap.add(5);
+        assertTrue(bitmap.contains(5));
+        assertTrue(bitmap.contains(70000));
+        assertFalse(bitmap.contains(6));
+        assertEquals(2, bitmap.cardinality());
+
+        bitmap.remove(5);
+        assertFalse(bitmap.contains(5));
+        assertArrayEquals(new int[] {70000}, bitmap.toArray());
+        assertThrows(IllegalArgumentException.class, () -> bitmap.add(-1));
+    }
+
+    @Test
+    public void testDenseChunkConvertsBothWays() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int i = 0; i < 10000; i += 2) {
+            bitmap.add(i);
+        }
+        assertEquals(5000, bitmap.cardinality());
+        for (int i = 0; i < 10000; i += 4) {
+            bitmap.remove(i);
+        }
+        assertEquals(2500, bitmap.cardinality());
+        assertTrue(bitmap.contains(2));
+        assertFalse(bitmap.contains(4));
+    }
+
+    @Test
+    public void testSparseChunkStaysSmall() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int i = 0; i < 100; i++) {
+            bitmap.add(i * 600);
+        }
+        assertTrue(bitmap.sizeInBytes() < 1024);
+        assertTrue(CompressedBitmap.range(0, 65536).sizeInBytes() > 8192);
+    }
+
+    @Test
+    public void testRange() {
+        CompressedBitmap range = CompressedBitmap.range(65530, 131080);
+        assertEquals(131080 - 65530, range.cardinality());
+        assertFalse(range.contains(65529));
+        assertTrue(range.contains(65530));
+        assertTrue(range.contains(131079));
+        assertFalse(range.contains(131080));
+        assertTrue(CompressedBitmap.range(3, 3).isEmpty());
+    }
+
+    @Test
+    public void testSetOperationsMatchBitSet() {
+        Random random = new Random(42);
+        for (int round = 0; round < 20; round++) {
+            // Mix sparse and dense chunks across three 65536-wide chunks
+            BitSet a = randomBits(random, round % 2 == 0 ? 0.01 : 0.4);
+            BitSet b = randomBits(random, round % 3 == 0 ? 0.6 : 0.02);
+            CompressedBitmap ca = toBitmap(a);
+            CompressedBitmap cb = toBitmap(b);
+
+            BitSet and = (BitSet) a.clone();
+            and.and(b);
+            BitSet or = (BitSet) a.clone();
+            or.or(b);
+            BitSet andNot = (BitSet) a.clone();
+            andNot.andNot(b);
+
+            assertArrayEquals(and.stream().toArray(), CompressedBitmap.and(ca, cb).toArray());
+            assertArrayEquals(or.stream().toArray(), CompressedBitmap.or(ca, cb).toArray());
+            assertArrayEquals(andNot.stream().toArray(), CompressedBitmap.andNot(ca, cb).toArray());
+            assertEquals(and.cardinality(), CompressedBitmap.and(ca, cb).cardinality());
+        }
+    }
+
+    @Test
+    public void testOperandsAreNotModified() {
+        CompressedBitmap a = CompressedBitmap.range(0, 10);
+        CompressedBitmap b = CompressedBitmap.range(5, 15);
+        CompressedBitmap.and(a, b);
+        CompressedBitmap.or(a, b);
+        CompressedBitmap.andNot(a, b);
+        assertEquals(CompressedBitmap.range(0, 10), a);
+        assertEquals(CompressedBitmap.range(5, 15), b);
+    }
+
+    private static BitSet randomBits(Random random, double density) {
+        BitSet bits = new BitSet();
+        for (int i = 0; i < 3 * 65536; i++) {
+            if (random.nextDouble() < density) {
+                bits.set(i);
+            }
+        }
+        return bits;
+    }
+
+    private static CompressedBitmap toBitmap(BitSet bits) {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        bits.stream().forEach(bitmap::add);
+        return bitmap;
+    }
+}
@@ -0,0 +1,91 @@
+package interview;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit tests for the roster-wide Dean's List projection
+ */
+public class DeansListProjectionTest {
+
+    @Test
+    public void testMatchesCalculatorPerStudent() {
+        Random random = new Random(11);
+        List<Student> roster = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            roster.add(new Student("S" + i, 20, random.nextInt(401) / 100.0));
+        }
+        DeansListProjection projection = DeansListProjection.run(roster, s -> s.getAge() * 3 + s.getName().length(), 30, 3.5);
+
+        int feasible = 0;
+        for (int i = 0; i < roster.size(); i++) {
+            Student s = roster.get(i);
+            int credits = s.getAge() * 3 + s.getName().length();
+            assertEquals(GradeCalculator.calculateRequiredGPA(s.getGpa(), credits, 3.5, 30),
+                    projection.getRequiredGpa(i), 1e-12);
+            boolean expected = GradeCalculator.canMakeDeansList(s.getGpa(), credits, 30, 3.5);
+            assertEquals(expected, projection.canMakeDeansList(i), s.getName());
+            feasible += expected ? 1 : 0;
+        }
+        assertEquals(feasible, projection.getFeasibleCount());
+        assertTrue(feasible > 0 && feasible < roster.size());
+    }
+
+    @Test
+    public void testNoRemainingCredits() {
+        List<Student> roster = List.of(new Student("Alice", 20, 3.8), new Student("Bob", 21, 3.2));
+        DeansListProjection projection = DeansListProjection.run(roster, s -> 90, 0, 3.5);
+        assertTrue(projection.canMakeDeansList(0));
+        assertFalse(projection.canMakeDeansList(1));
+        assertEquals(1, projection.getFeasibleCount());
+    }
+
+    @Test
+    public void testWritesCsvRows() throws Exception {
+        StudentManager manager = new StudentManager();
+        manager.addStudent(new Student("Alice", 20, 3.8));
+        manager.addStudent(new Student("Bob", 21, 2.0));
+        DeansListProjection projection = manager.projectDeansList(s -> 60, 15, 3.5);
+
+        StringWriter csv = new StringWriter();
+        assertEquals(2, projection.writeTo(csv));
+        assertEquals("name,gpa,credits,required_gpa,deans_list\n"
+                + "Alice,3.80,60,2.30,true\n"
+                + "Bob,2.00,60,9.50,false\n", csv.toString());
+        assertTrue(projection.toString().contains("1 of 2 students"));
+    }
+
+    @Test
+    public void testNamesAreQuotedWhenNeeded() throws Exception {
+        List<Student> roster = List.of(new Student("Smith, John", 20, 3.8), new Student("Ann \"Red\" Lee", 21, 3.0),
+                new Student("Plain", 22, 2.0));
+        StringWriter csv = new StringWriter();
+        DeansListProjection.run(roster, s -> 60, 15, 3.5).writeTo(csv);
+        String[] lines = csv.toString().split("\n");
+        assertEquals("\"Smith, John\",3.80,60,2.30,true", lines[1]);
+        assertEquals("\"Ann \"\"Red\"\" Lee\",3.00,60,5.50,false", lines[2]);
+        assertEquals("Plain,2.00,60,9.50,false", lines[3]);
+    }
+
+    @Test
+    public void testNegativeRequiredGpaFormatting() throws Exception {
+        DeansListProjection projection = DeansListProjection.run(List.of(new Student("Ace", 22, 4.0)), s -> 120, 3, 3.0);
+        StringWriter csv = new StringWriter();
+        projection.writeTo(csv);
+        assertTrue(csv.toString().endsWith("Ace,4.00,120,-37.00,true\n"));
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        List<Student> roster = List.of(new Student("Alice", 20, 3.8));
+        assertThrows(IllegalArgumentException.class, () -> DeansListProjection.run(roster, s -> 10, -1, 3.5));
+        assertThrows(IllegalArgumentException.class, () -> DeansListProjection.run(roster, s -> 10, 15, 4.5));
+        assertThrows(IllegalArgumentException.class, () -> DeansListProjection.run(roster, s -> -5, 15, 3.5));
+        assertEquals(0, DeansListProjection.run(List.of(), s -> 0, 15, 3.5).size());
+    }
+}
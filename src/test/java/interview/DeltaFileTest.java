@@ -0,0 +1,189 @@
+package interview;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+/**
+ * Unit tests for incremental delta saves
+ */
+public class DeltaFileTest {
+    private Path dir;
+    private Path file;
+    private StudentManager manager;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("deltas");
+        file = dir.resolve("roster.dat");
+        manager = new StudentManager();
+        for (int i = 0; i < 5_000; i++) {
+            manager.addStudent(new Student("S" + i, 20, (i % 401) / 100.0));
+        }
+        manager.saveToFile(file.toString());
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path p : (Iterable<Path>) files::iterator) {
+                Files.delete(p);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    @Test
+    public void testDeltaHoldsOnlyChangedRecords() throws Exception {
+        manager.findByName("S10").setGpa(4.0);
+        manager.findByName("S20").setAge(30);
+        manager.findByName("S10").setAge(21); // the same record again
+
+        assertEquals(2, manager.saveDelta(file.toString()));
+        Path delta = DeltaFile.deltaPath(file, 1);
+        assertTrue(Files.size(delta) * 100 < Files.size(file), "a delta should be far smaller than the base");
+        assertEquals(0, manager.saveDelta(file.toString()), "nothing changed since the last delta");
+        assertFalse(Files.exists(DeltaFile.deltaPath(file, 2)));
+    }
+
+    @Test
+    public void testLoadMergesBaseAndDeltas() throws Exception {
+        manager.findByName("S1").setGpa(0.5);
+        manager.addStudent(new Student("New", 19, 3.3));
+        manager.saveDelta(file.toString());
+        manager.removeStudent("S2");
+        manager.findByName("S3").setName("Renamed");
+        manager.findByName("New").setGpa(3.9);
+        manager.saveDelta(file.toString());
+
+        StudentManager loaded = new StudentManager();
+        loaded.loadFromFile(file.toString());
+        assertEquals(5_000, loaded.getCount());
+        assertEquals(0.5, loaded.findByName("S1").getGpa());
+        assertNull(loaded.findByName("S2"));
+        assertNull(loaded.findByName("S3"));
+        assertEquals(new Student("Renamed", 20, 0.03), loaded.findByName("Renamed"));
+        assertEquals(3.9, loaded.findByName("New").getGpa());
+        assertEquals("Renamed", loaded.getAllStudents().get(2).getName()); // base order is kept
+    }
+
+    @Test
+    public void testLoadedManagerKeepsExtendingTheSameBase() throws Exception {
+        manager.findByName("S1").setGpa(0.5);
+        manager.saveDelta(file.toString());
+
+        StudentManager loaded = new StudentManager();
+        loaded.loadFromFile(file.toString());
+        loaded.findByName("S4").setGpa(1.0);
+        loaded.addStudent(new Student("Another", 25, 2.5));
+        assertEquals(2, loaded.saveDelta(file.toString()));
+        assertTrue(Files.exists(DeltaFile.deltaPath(file, 2)));
+
+        StudentManager again = new StudentManager();
+        again.loadFromFile(file.toString());
+        assertEquals(5_001, again.getCount());
+        assertEquals(0.5, again.findByName("S1").getGpa());
+        assertEquals(1.0, again.findByName("S4").getGpa());
+        assertEquals("Another", again.getAllStudents().get(5_000).getName());
+    }
+
+    @Test
+    public void testDeltasCompactIntoNewBase() throws Exception {
+        for (Student s : manager.getAllStudents()) {
+            s.setGpa(1.0); // every record is dirty, so the delta outgrows half the base
+        }
+        assertEquals(5_000, manager.saveDelta(file.toString()));
+
+        assertFalse(Files.exists(DeltaFile.deltaPath(file, 1)), "compaction should remove the deltas");
+        assertTrue(manager.getDeltaStatus().contains("0 deltas"));
+        assertEquals(1.0, RosterFile.readSummary(file).getAverageGpa(), 1e-9);
+    }
+
+    @Test
+    public void testFullSaveDiscardsDeltas() throws Exception {
+        manager.findByName("S1").setGpa(0.5);
+        manager.saveDelta(file.toString());
+        manager.findByName("S1").setGpa(0.7);
+        manager.saveToFile(file.toString());
+
+        assertFalse(Files.exists(DeltaFile.deltaPath(file, 1)));
+        StudentManager loaded = new StudentManager();
+        loaded.loadFromFile(file.toString());
+        assertEquals(0.7, loaded.findByName("S1").getGpa());
+    }
+
+    @Test
+    public void testStaleDeltasAreIgnored() throws Exception {
+        manager.findByName("S1").setGpa(0.5);
+        manager.saveDelta(file.toString());
+        Path stale = dir.resolve("stale.delta");
+        Files.copy(DeltaFile.deltaPath(file, 1), stale);
+        manager.saveToFile(file.toString());
+        Files.move(stale, DeltaFile.deltaPath(file, 1)); // written against the previous base
+
+        StudentManager loaded = new StudentManager();
+        loaded.loadFromFile(file.toString());
+        assertEquals(0.5, loaded.findByName("S1").getGpa()); // from the new base itself
+        manager.findByName("S1").setGpa(0.9);
+        manager.saveDelta(file.toString());
+        loaded.loadFromFile(file.toString());
+        assertEquals(0.9, loaded.findByName("S1").getGpa());
+    }
+
+    @Test
+    public void testReplacedBaseGetsRewritten() throws Exception {
+        manager.findByName("S1").setGpa(0.5);
+        new StudentManager().saveToFile(file.toString()); // someone else replaced the file
+
+        assertEquals(5_000, manager.saveDelta(file.toString()));
+        StudentManager loaded = new StudentManager();
+        loaded.loadFromFile(file.toString());
+        assertEquals(5_000, loaded.getCount());
+        assertEquals(0.5, loaded.findByName("S1").getGpa());
+    }
+
+    @Test
+    public void testSummaryRefusedWhileDeltasExist() throws Exception {
+        manager.findByName("S1").setGpa(0.5);
+        manager.saveDelta(file.toString());
+        assertThrows(IOException.class, () -> StudentManager.readSummary(file.toString()));
+    }
+
+    @Test
+    public void testCheckpointAfterDeltaInvalidatesIt() throws Exception {
+        manager.findByName("S1").setGpa(3.5);
+        manager.saveDelta(file.toString());
+        manager.findByName("S1").setGpa(0.01); // back to the value in the base
+        manager.saveToFileAsync(file.toString()).get(); // same bytes as the old base
+
+        assertFalse(Files.exists(DeltaFile.deltaPath(file, 1)));
+        StudentManager loaded = new StudentManager();
+        loaded.loadFromFile(file.toString());
+        assertEquals(0.01, loaded.findByName("S1").getGpa());
+        assertEquals(5_000, StudentManager.readSummary(file.toString()).getCount());
+    }
+
+    @Test
+    public void testIdenticalRewriteGetsANewFingerprint() throws Exception {
+        long first = RosterFile.fingerprint(file);
+        manager.findByName("S1").setGpa(3.5);
+        manager.saveDelta(file.toString());
+        Path kept = dir.resolve("kept.delta");
+        Files.copy(DeltaFile.deltaPath(file, 1), kept);
+        manager.findByName("S1").setGpa(0.01);
+        manager.saveToFile(file.toString()); // same contents, new base
+        Files.move(kept, DeltaFile.deltaPath(file, 1)); // as if a crash left it behind
+
+        assertNotEquals(first, RosterFile.fingerprint(file));
+        assertFalse(DeltaFile.hasDeltas(file));
+        StudentManager loaded = new StudentManager();
+        loaded.loadFromFile(file.toString());
+        assertEquals(0.01, loaded.findByName("S1").getGpa());
+    }
+}
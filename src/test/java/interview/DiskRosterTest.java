@@ -0,0 +1,194 @@
+package interview;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.StreamCorruptedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Unit tests for the disk-resident roster and its record cache
+ */
+public class DiskRosterTest {
+    private static final Path FILE = Paths.get("test_roster.log");
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(FILE);
+    }
+
+    @Test
+    public void testRecordsSurviveReopen() throws IOException {
+        try (DiskRoster roster = DiskRoster.open(FILE, 1 << 20)) {
+            roster.add(new Student("Alice", 20, 3.8));
+            roster.add(new GraduateStudent("Diana", 26, 3.85, "ML", "Dr. Johnson", true));
+        }
+        try (DiskRoster roster = DiskRoster.open(FILE, 1 << 20)) {
+            assertEquals(2, roster.size());
+            assertEquals(new Student("Alice", 20, 3.8), roster.findByName("alice"));
+            assertTrue(roster.findByName("Diana") instanceof GraduateStudent);
+            assertNull(roster.findByName("Nobody"));
+        }
+    }
+
+    @Test
+    public void testRepeatedLookupsHitTheCache() throws IOException {
+        try (DiskRoster roster = DiskRoster.open(FILE, 1 << 20)) {
+            roster.add(new Student("Alice", 20, 3.8));
+        }
+        try (DiskRoster roster = DiskRoster.open(FILE, 1 << 20)) {
+            Student first = roster.findByName("Alice");
+            assertSame(first, roster.findByName("Alice"));
+            assertSame(first, roster.findByName("ALICE"));
+            assertEquals(1, roster.getReads());
+            assertEquals(2, roster.getCache().getHits());
+            assertEquals(1, roster.getCache().getMisses());
+        }
+    }
+
+    @Test
+    public void testSetterChangesAreWrittenThrough() throws IOException {
+        try (DiskRoster roster = DiskRoster.open(FILE, 1 << 20)) {
+            roster.add(new Student("Alice", 20, 3.8));
+            roster.add(new Student("Bob", 21, 3.2));
+            roster.findByName("Alice").setGpa(2.5);
+            roster.findByName("Bob").setName("Robert");
+            assertNull(roster.findByName("Bob"));
+        }
+        try (DiskRoster roster = DiskRoster.open(FILE, 1 << 20)) {
+            assertEquals(2, roster.size());
+            assertEquals(2.5, roster.findByName("Alice").getGpa());
+            assertNull(roster.findByName("Bob"));
+            assertEquals(21, roster.findByName("Robert").getAge());
+        }
+    }
+
+    @Test
+    public void testRemovalIsWrittenThroughAndDetaches() throws IOException {
+        try (DiskRoster roster = DiskRoster.open(FILE, 1 << 20)) {
+            roster.add(new Student("Alice", 20, 3.8));
+            Student alice = roster.findByName("Alice");
+            assertTrue(roster.remove("alice"));
+            assertFalse(roster.remove("Alice"));
+            alice.setGpa(1.0); // no longer in the roster, so nothing is written
+            assertEquals(0, roster.size());
+        }
+        try (DiskRoster roster = DiskRoster.open(FILE, 1 << 20)) {
+            assertEquals(0, roster.size());
+            assertNull(roster.findByName("Alice"));
+        }
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsedWithinBudget() throws IOException {
+        try (DiskRoster roster = DiskRoster.open(FILE, 1 << 20)) {
+            for (int i = 0; i < 50; i++) {
+                roster.add(new Student("S" + i, 20, 3.0));
+            }
+        }
+        try (DiskRoster roster = DiskRoster.open(FILE, 2048)) {
+            for (int i = 0; i < 50; i++) {
+                roster.findByName("S" + i);
+            }
+            ResultCache cache = roster.getCache();
+            assertTrue(cache.getWeight() <= 2048);
+            assertTrue(cache.getEvictions() > 0);
+            assertEquals(50, cache.getEntryCount() + cache.getEvictions());
+
+            // The most recent lookups are still cached, the first ones were read again
+            long reads = roster.getReads();
+            roster.findByName("S49");
+            assertEquals(reads, roster.getReads());
+            roster.findByName("S0");
+            assertEquals(reads + 1, roster.getReads());
+        }
+    }
+
+    @Test
+    public void testEvictedStudentStillWritesThrough() throws IOException {
+        try (DiskRoster roster = DiskRoster.open(FILE, 0)) {
+            roster.add(new Student("Alice", 20, 3.8));
+            Student alice = roster.findByName("Alice");
+            assertEquals(0, roster.getCache().getEntryCount());
+            alice.setAge(22);
+            assertEquals(22, roster.findByName("Alice").getAge());
+        }
+    }
+
+    @Test
+    public void testStaleCopyCannotOverwriteNewerRecord() throws IOException {
+        try (DiskRoster roster = DiskRoster.open(FILE, 0)) {
+            roster.add(new Student("Alice", 20, 3.8));
+            Student first = roster.findByName("Alice");
+            Student second = roster.findByName("Alice"); // evicted, so a second copy
+            assertNotSame(first, second);
+            second.setGpa(1.0);
+            assertThrows(IllegalStateException.class, () -> first.setAge(30));
+            first.setAge(31); // detached: no longer written, and no longer throws
+
+            Student reread = roster.findByName("Alice");
+            assertEquals(1.0, reread.getGpa());
+            assertEquals(20, reread.getAge());
+        }
+    }
+
+    @Test
+    public void testCopyFromBeforeRemoveAndReAddIsStale() throws IOException {
+        try (DiskRoster roster = DiskRoster.open(FILE, 1 << 20)) {
+            roster.add(new Student("Alice", 20, 3.8));
+            Student old = roster.findByName("Alice");
+            roster.remove("Alice");
+            roster.add(new Student("Alice", 25, 2.0));
+            assertThrows(IllegalStateException.class, () -> old.setAge(99));
+
+            Student current = roster.findByName("Alice");
+            assertEquals(25, current.getAge());
+            current.setAge(26);
+            assertEquals(26, roster.findByName("alice").getAge());
+        }
+        try (DiskRoster roster = DiskRoster.open(FILE, 1 << 20)) {
+            assertEquals(26, roster.findByName("Alice").getAge());
+            assertEquals(2.0, roster.findByName("Alice").getGpa());
+        }
+    }
+
+    @Test
+    public void testDuplicateNameRejected() throws IOException {
+        try (DiskRoster roster = DiskRoster.open(FILE, 1 << 20)) {
+            roster.add(new Student("Alice", 20, 3.8));
+            assertThrows(IllegalArgumentException.class, () -> roster.add(new Student("ALICE", 30, 2.0)));
+        }
+    }
+
+    @Test
+    public void testTornTailIsCutOff() throws IOException {
+        long intact;
+        try (DiskRoster roster = DiskRoster.open(FILE, 1 << 20)) {
+            roster.add(new Student("Alice", 20, 3.8));
+            intact = roster.getFileSize();
+            roster.add(new Student("Bob", 21, 3.2));
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(FILE.toFile(), "rw")) {
+            raf.setLength(raf.length() - 5);
+        }
+        try (DiskRoster roster = DiskRoster.open(FILE, 1 << 20)) {
+            assertEquals(1, roster.size());
+            assertEquals(intact, roster.getFileSize());
+            roster.add(new Student("Carol", 22, 3.5));
+        }
+        try (DiskRoster roster = DiskRoster.open(FILE, 1 << 20)) {
+            assertEquals(3.5, roster.findByName("Carol").getGpa());
+        }
+    }
+
+    @Test
+    public void testRejectsOtherFiles() throws IOException {
+        Files.write(FILE, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9});
+        assertThrows(StreamCorruptedException.class, () -> DiskRoster.open(FILE, 1 << 20));
+    }
+}
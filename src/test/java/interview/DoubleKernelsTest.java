@@ -0,0 +1,82 @@
+package interview;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit tests for the scalar and Vector API reduction kernels
+ */
+public class DoubleKernelsTest {
+    private final DoubleKernels scalar = DoubleKernels.scalar();
+    private final DoubleKernels best = DoubleKernels.best();
+
+    @Test
+    public void testVectorSelectedWhenModulePresent() {
+        boolean module = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+        assertEquals(module, best.name().startsWith("vector"), best.name());
+    }
+
+    @Test
+    public void testKernelsAgreeOnEveryLength() {
+        Random random = new Random(5);
+        for (int n = 0; n < 70; n++) {
+            double[] a = new double[n];
+            double[] b = new double[n];
+            for (int i = 0; i < n; i++) {
+                a[i] = random.nextInt(401) / 100.0;
+                b[i] = 1 + random.nextInt(5);
+            }
+            assertEquals(scalar.sum(a), best.sum(a), 1e-9, "sum of " + n);
+            assertEquals(scalar.dot(a, b), best.dot(a, b), 1e-9, "dot of " + n);
+            assertEquals(scalar.min(a), best.min(a), "min of " + n);
+            assertEquals(scalar.max(a), best.max(a), "max of " + n);
+            assertEquals(scalar.countAtLeast(a, 3.5), best.countAtLeast(a, 3.5), "count of " + n);
+        }
+    }
+
+    @Test
+    public void testEdgeValues() {
+        for (DoubleKernels kernels : new DoubleKernels[] {scalar, best}) {
+            assertEquals(0.0, kernels.sum(new double[0]));
+            assertEquals(Double.POSITIVE_INFINITY, kernels.min(new double[0]));
+            assertEquals(Double.NEGATIVE_INFINITY, kernels.max(new double[0]));
+            double[] values = new double[37];
+            values[20] = -1;
+            values[36] = 9;
+            assertEquals(-1, kernels.min(values));
+            assertEquals(9, kernels.max(values));
+            assertEquals(36, kernels.countAtLeast(values, 0.0));
+            assertEquals(3.0, kernels.dot(new double[] {1, 1, 1}, new double[] {1, 1, 1, 1, 1}));
+            values[3] = Double.NaN;
+            assertTrue(Double.isNaN(kernels.min(values)));
+            assertTrue(Double.isNaN(kernels.sum(values)));
+        }
+    }
+
+    @Test
+    public void testCalculatorUsesKernels() {
+        double[] gpas = {3.9, 3.5, 3.49, 2.0, 4.0};
+        assertEquals(3, GradeCalculator.countAtLeast(gpas, 3.5));
+        assertEquals(0, GradeCalculator.countAtLeast(null, 3.5));
+    }
+
+    @Test
+    public void testMeansUseCompensatedSummation() {
+        List<Double> tenths = Collections.nCopies(10, 0.1); // a plain running sum gives 0.9999999999999999
+        assertEquals(0.1, GradeCalculator.calculateSemesterGPA(tenths));
+        assertEquals(0.1, GradeCalculator.calculateGradeStatistics(tenths).get("mean"));
+
+        Random random = new Random(8);
+        List<Double> grades = new ArrayList<>();
+        for (int i = 0; i < 1_001; i++) {
+            grades.add(random.nextInt(401) / 100.0);
+        }
+        double expected = grades.stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
+        assertEquals(expected, GradeCalculator.calculateSemesterGPA(grades));
+    }
+}
@@ -0,0 +1,96 @@
+package interview;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for the Bloom filter and StudentManager's dedup mode
+ */
+public class DuplicateFilterTest {
+
+    @Test
+    public void testBloomFilterHasNoFalseNegativesAndFewFalsePositives() {
+        BloomFilter bloom = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            bloom.add(i * 31);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(bloom.mightContain(i * 31));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (bloom.mightContain(-1 - i * 31)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+        assertFalse(bloom.isFull());
+    }
+
+    @Test
+    public void testDedupDropsEqualStudents() {
+        StudentManager manager = new StudentManager();
+        manager.setDedupEnabled(true);
+        manager.addStudent(new Student("Alice", 20, 3.8));
+        manager.addStudent(new Student("Alice", 20, 3.8));
+        manager.addStudent(new Student("Alice", 20, 3.7));
+        manager.addStudent(new GraduateStudent("Alice", 20, 3.8, "T", "A", false));
+
+        assertEquals(3, manager.getCount());
+        assertEquals(1, manager.getDuplicatesDropped());
+    }
+
+    @Test
+    public void testAddAllReportsDuplicatesWithinAndAcrossBatches() {
+        StudentManager manager = new StudentManager();
+        manager.addStudent(new Student("Bob", 21, 3.2));
+        manager.setDedupEnabled(true);
+
+        List<Student> batch = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            batch.add(new Student("S" + (i % 2500), 20, 3.0));
+        }
+        batch.add(new Student("Bob", 21, 3.2));
+
+        assertEquals(2500, manager.addAll(batch));
+        assertEquals(2501, manager.getDuplicatesDropped());
+        assertEquals(2501, manager.getCount());
+        assertTrue(manager.getDedupSummary().contains("2501 rows tracked"));
+    }
+
+    @Test
+    public void testDedupFollowsSettersAndRemovals() {
+        StudentManager manager = new StudentManager();
+        manager.setDedupEnabled(true);
+        Student alice = new Student("Alice", 20, 3.8);
+        manager.addStudent(alice);
+
+        alice.setGpa(3.9);
+        manager.addStudent(new Student("Alice", 20, 3.8));
+        assertEquals(2, manager.getCount(), "old values are no longer taken");
+        manager.addStudent(new Student("Alice", 20, 3.9));
+        assertEquals(2, manager.getCount(), "new values are");
+
+        manager.removeStudent("Alice");
+        manager.addStudent(new Student("Alice", 20, 3.9));
+        assertEquals(1, manager.getCount());
+        assertEquals(1, manager.getDuplicatesDropped());
+    }
+
+    @Test
+    public void testDedupOffAllowsDuplicates() {
+        StudentManager manager = new StudentManager();
+        manager.addStudent(new Student("Alice", 20, 3.8));
+        manager.addStudent(new Student("Alice", 20, 3.8));
+        assertFalse(manager.isDedupEnabled());
+        assertEquals(2, manager.getCount());
+
+        // Turning it on afterwards tracks both existing rows
+        manager.setDedupEnabled(true);
+        manager.addStudent(new Student("Alice", 20, 3.8));
+        assertEquals(2, manager.getCount());
+    }
+}
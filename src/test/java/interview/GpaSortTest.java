@@ -0,0 +1,110 @@
+package interview;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit tests for the counting-sort GPA orderings
+ */
+public class GpaSortTest {
+
+    @Test
+    public void testGpaHundredths() {
+        assertEquals(385, new Student("A", 20, 3.85).getGpaHundredths());
+        assertEquals(0, new Student("A", 20, 0.0).getGpaHundredths());
+        assertEquals(400, new Student("A", 20, 4.0).getGpaHundredths());
+        assertEquals(386, new Student("A", 20, 3.855).getGpaHundredths());
+    }
+
+    @Test
+    public void testSortKeyMatchesCompareToIgnoreCase() {
+        // Supplementary characters (Deseret, emoji, Adlam) sort after high-BMP ones by code point
+        String[] names = {"alice", "Alice", "ALICE", "bob", "Böb", "BOB", "Zoë", "zoe", "ıstanbul", "Istanbul", "ß", "ss",
+                "\uD801\uDC00", "\uD801\uDC28x", "\uD83D\uDE00", "\uD83A\uDD00", "\uD83A\uDD22", "\uFF21", "\uFF41b",
+                "\uFFFF", "\uE000", "a\uD801\uDC00", "a\uFFFF", "a\uD83D\uDE00z"};
+        for (String a : names) {
+            for (String b : names) {
+                Student sa = new Student(a, 20, 3.0);
+                Student sb = new Student(b, 20, 3.0);
+                assertEquals(Integer.signum(a.compareToIgnoreCase(b)),
+                        Integer.signum(Student.compareKeys(sa.getSortKey(), sb.getSortKey())), a + " vs " + b);
+            }
+        }
+    }
+
+    @Test
+    public void testSupplementaryNamesSortByCodePoint() {
+        List<Student> roster = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            roster.add(new Student(i % 2 == 0 ? "\uD801\uDC00" + i : "\uFF21" + i, 20, 3.5));
+        }
+        roster.add(new Student("\uFFFF", 20, 3.5));
+
+        Student[] sorted = GpaSort.inNaturalOrder(roster);
+        for (int i = 1; i < sorted.length; i++) {
+            assertTrue(sorted[i - 1].getName().compareToIgnoreCase(sorted[i].getName()) <= 0, "position " + i);
+        }
+        assertEquals("\uFFFF", sorted[20].getName()); // after every U+FF21 name, before U+10400
+    }
+
+    @Test
+    public void testSortKeyFollowsRename() {
+        Student s = new Student("bob", 20, 3.0);
+        assertEquals("bob", s.getSortKey());
+        s.setName("Carol");
+        assertEquals("carol", s.getSortKey());
+    }
+
+    @Test
+    public void testByGpaDescendingIsStableAndExact() {
+        List<Student> roster = randomRoster(new Random(7), 5000);
+        List<Student> expected = new ArrayList<>(roster);
+        expected.sort((a, b) -> Double.compare(b.getGpa(), a.getGpa()));
+
+        assertEquals(expected, Arrays.asList(GpaSort.byGpaDescending(roster)));
+    }
+
+    @Test
+    public void testInNaturalOrderMatchesCompareTo() {
+        List<Student> roster = randomRoster(new Random(11), 5000);
+        List<Student> expected = new ArrayList<>(roster);
+        Collections.sort(expected);
+
+        assertEquals(expected, Arrays.asList(GpaSort.inNaturalOrder(roster)));
+    }
+
+    @Test
+    public void testNameRadixSortIsStableAcrossCharsAndLengths() {
+        String[] stems = {"", "a", "Al", "ali", "Alice", "alicE", "Ålborg", "Zoë", "zoe", "Ωmega", "日本", "ß", "ss", "a\uFFFF"};
+        Random random = new Random(3);
+        List<Student> roster = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            String name = stems[random.nextInt(stems.length)] + (random.nextInt(4) == 0 ? "" : random.nextInt(300));
+            roster.add(new Student(name.isEmpty() ? "x" : name, 20 + i % 7, random.nextInt(3) / 100.0 + 3.0));
+        }
+        List<Student> expected = new ArrayList<>(roster);
+        Collections.sort(expected); // stable, so equal names keep roster order
+
+        Student[] sorted = GpaSort.inNaturalOrder(roster);
+        for (int i = 0; i < sorted.length; i++) {
+            assertSame(expected.get(i), sorted[i], "position " + i);
+        }
+    }
+
+    // Mostly two-decimal GPAs, with some three-decimal values sharing their buckets
+    private static List<Student> randomRoster(Random random, int n) {
+        List<Student> roster = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            double gpa = random.nextInt(5) == 0 ? random.nextInt(4001) / 1000.0 : random.nextInt(401) / 100.0;
+            String name = (random.nextBoolean() ? "S" : "s") + random.nextInt(n);
+            roster.add(new Student(name, 20, gpa));
+        }
+        return roster;
+    }
+}
@@ -0,0 +1,107 @@
+package interview;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Unit tests for bulk grade curving
+ */
+public class GradeCurveTest {
+
+    @Test
+    public void testLinearScalesTopScoreTo100() {
+        double[] curved = GradeCurve.linear().apply(new double[] {40, 60, 80});
+        assertArrayEquals(new double[] {50, 75, 100}, curved, 1e-9);
+        assertArrayEquals(new double[] {0, 0}, GradeCurve.linear().apply(new double[] {0, 0}), 1e-9);
+    }
+
+    @Test
+    public void testSquareRoot() {
+        assertArrayEquals(new double[] {0, 80, 90, 100},
+                GradeCurve.squareRoot().apply(new double[] {0, 64, 81, 100}), 1e-9);
+    }
+
+    @Test
+    public void testTargetMeanAndStddev() {
+        double[] scores = {50, 60, 70, 80, 90};
+        double[] curved = GradeCurve.target(75, 5).apply(scores);
+        double mean = 0;
+        for (double c : curved) {
+            mean += c / curved.length;
+        }
+        double variance = 0;
+        for (double c : curved) {
+            variance += (c - mean) * (c - mean) / curved.length;
+        }
+        assertEquals(75, mean, 1e-9);
+        assertEquals(5, Math.sqrt(variance), 1e-9);
+        // Identical scores have no spread: all land on the target mean
+        assertArrayEquals(new double[] {75, 75}, GradeCurve.target(75, 5).apply(new double[] {30, 30}), 1e-9);
+        // Results are clamped to percentages
+        double[] wide = GradeCurve.target(50, 60).apply(new double[] {0, 100});
+        assertArrayEquals(new double[] {0, 100}, wide, 1e-9);
+    }
+
+    @Test
+    public void testInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> GradeCurve.linear().apply(new double[] {50, 101}));
+        assertThrows(IllegalArgumentException.class, () -> GradeCurve.linear().apply(new double[] {Double.NaN}));
+        assertThrows(IllegalArgumentException.class, () -> GradeCurve.target(120, 5));
+        assertThrows(IllegalArgumentException.class, () -> GradeCurve.target(70, -1));
+        assertThrows(IllegalArgumentException.class,
+                () -> GradeCurve.squareRoot().curveAll(new double[][] {{50}, {-1}}));
+    }
+
+    @Test
+    public void testBulkMatchesOneAtATime() {
+        Random random = new Random(3);
+        double[][] sections = new double[2_000][];
+        for (int s = 0; s < sections.length; s++) {
+            sections[s] = new double[random.nextInt(40)];
+            for (int i = 0; i < sections[s].length; i++) {
+                sections[s][i] = Math.min(100, Math.max(0, 70 + random.nextGaussian() * 12));
+            }
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        for (GradeCurve curve : new GradeCurve[] {GradeCurve.linear(), GradeCurve.squareRoot(), GradeCurve.target(78, 9)}) {
+            CurveResult result = curve.curveAll(sections, pool);
+            long total = 0;
+            for (int s = 0; s < sections.length; s++) {
+                double[] expected = curve.apply(sections[s]);
+                assertArrayEquals(expected, result.getCurvedScores(s));
+                String[] letters = result.getLetterGrades(s);
+                for (int i = 0; i < expected.length; i++) {
+                    assertEquals(GradeCalculator.percentageToLetterGrade(expected[i]), letters[i]);
+                }
+                total += expected.length;
+            }
+            assertEquals(total, result.getScoreCount());
+            Map<String, Long> distribution = result.getDistribution();
+            assertEquals(total, distribution.values().stream().mapToLong(Long::longValue).sum());
+            assertEquals("A", distribution.keySet().iterator().next());
+            assertTrue(result.getScoresPerSecond() > 0);
+            assertTrue(result.toString().contains("scores/sec"));
+        }
+        pool.shutdown();
+    }
+
+    @Test
+    public void testEmptyInput() {
+        CurveResult result = GradeCurve.linear().curveAll(new double[][] {{}, {}});
+        assertEquals(2, result.getSectionCount());
+        assertEquals(0, result.getLetterGrades(1).length);
+        assertEquals(0, GradeCurve.linear().curveAll(new double[0][]).getScoreCount());
+    }
+
+    @Test
+    public void testBulkLetterConversion() {
+        assertArrayEquals(new String[] {"A", "A-", "B+", "F"},
+                GradeCalculator.percentagesToLetterGrades(new double[] {100, 90, 89.99, 0}));
+        assertThrows(IllegalArgumentException.class,
+                () -> GradeCalculator.percentagesToLetterGrades(new double[] {50, -1}));
+    }
+}
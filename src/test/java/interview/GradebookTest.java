@@ -0,0 +1,167 @@
+package interview;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Unit tests for the sparse gradebook and incremental weighted GPA
+ */
+public class GradebookTest {
+    private Gradebook gradebook;
+    private Student alice;
+
+    @BeforeEach
+    public void setUp() {
+        gradebook = new Gradebook();
+        alice = new Student("Alice", 20, 2.0);
+    }
+
+    @Test
+    public void testWeightedGpaWrittenBack() {
+        gradebook.setGrade(alice, "CS101", 4.0, 4);
+        assertEquals(4.0, alice.getGpa());
+        double gpa = gradebook.setGrade(alice, "MATH201", 3.0, 2);
+        assertEquals((4.0 * 4 + 3.0 * 2) / 6, gpa, 1e-9);
+        assertEquals(gpa, alice.getGpa());
+        assertEquals(6, gradebook.getCredits(alice));
+    }
+
+    @Test
+    public void testChangingAGradeReplacesIt() {
+        gradebook.setGrade(alice, "CS101", 4.0, 4);
+        gradebook.setGrade(alice, "MATH201", 3.0, 2);
+        gradebook.setGrade(alice, "CS101", 2.0, 3);
+        assertEquals((2.0 * 3 + 3.0 * 2) / 5, alice.getGpa(), 1e-9);
+        assertEquals(5, gradebook.getCredits(alice));
+        assertEquals(2.0, gradebook.getGrade(alice, "CS101").getAsDouble());
+        assertEquals(2, gradebook.getEntryCount());
+    }
+
+    @Test
+    public void testRemoveGrade() {
+        gradebook.setGrade(alice, "CS101", 4.0, 4);
+        gradebook.setGrade(alice, "MATH201", 3.0, 2);
+        gradebook.setGrade(alice, "ART100", 2.0, 1);
+
+        assertTrue(gradebook.removeGrade(alice, "CS101"));
+        assertFalse(gradebook.removeGrade(alice, "CS101"));
+        assertEquals((3.0 * 2 + 2.0) / 3, alice.getGpa(), 1e-9);
+        assertEquals(List.of("MATH201", "ART100"), List.copyOf(gradebook.getGrades(alice).keySet()));
+        assertFalse(gradebook.getGrade(alice, "CS101").isPresent());
+
+        gradebook.removeGrade(alice, "MATH201");
+        gradebook.removeGrade(alice, "ART100");
+        assertEquals(2.0, alice.getGpa()); // no graded courses left: GPA keeps its last value
+        assertEquals(0.0, gradebook.getWeightedGpa(alice));
+    }
+
+    @Test
+    public void testRemoveStudent() {
+        Student bob = new Student("Bob", 21, 3.0);
+        gradebook.setGrade(alice, "CS101", 4.0, 4);
+        gradebook.setGrade(bob, "CS101", 1.0, 4);
+        gradebook.setGrade(alice, "MATH201", 3.0, 2);
+
+        assertTrue(gradebook.removeStudent(alice));
+        assertEquals(1, gradebook.getStudentCount());
+        assertEquals(1, gradebook.getEntryCount());
+        assertEquals(1.0, gradebook.getGrade(bob, "CS101").getAsDouble());
+        assertTrue(gradebook.getGrades(alice).isEmpty());
+    }
+
+    @Test
+    public void testRemovedRowsAreReused() {
+        List<Student> kept = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Student s = new Student("K" + i, 20, 3.0);
+            kept.add(s);
+            gradebook.setGrade(s, "CS101", i / 2.0, 3);
+            gradebook.setGrade(s, "MATH201", 4.0 - i / 2.0, 1);
+        }
+        for (int round = 0; round < 10_000; round++) {
+            Student passing = new Student("P" + round, 20, 3.0);
+            gradebook.setGrade(passing, "ART100", 2.0, 2);
+            gradebook.removeStudent(kept.get(round % kept.size())); // moves the last row into its slot
+            gradebook.setGrade(kept.get(round % kept.size()), "CS101", (round % kept.size()) / 2.0, 3);
+            gradebook.removeStudent(passing);
+        }
+        assertTrue(gradebook.getRowCapacity() <= 16, "rows grew to " + gradebook.getRowCapacity());
+        assertEquals(kept.size(), gradebook.getStudentCount());
+        assertEquals(kept.size(), gradebook.getEntryCount());
+        for (int i = 0; i < kept.size(); i++) {
+            assertEquals(Map.of("CS101", i / 2.0), gradebook.getGrades(kept.get(i)));
+            assertEquals(i / 2.0, gradebook.getWeightedGpa(kept.get(i)), 1e-12);
+        }
+        assertEquals(0, gradebook.recomputeAll(), "running totals match a full recompute");
+    }
+
+    @Test
+    public void testInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> gradebook.setGrade(null, "CS101", 3.0, 3));
+        assertThrows(IllegalArgumentException.class, () -> gradebook.setGrade(alice, " ", 3.0, 3));
+        assertThrows(IllegalArgumentException.class, () -> gradebook.setGrade(alice, "CS101", 4.5, 3));
+        assertThrows(IllegalArgumentException.class, () -> gradebook.setGrade(alice, "CS101", 3.0, 0));
+        assertEquals(0, gradebook.getEntryCount());
+    }
+
+    @Test
+    public void testMatchesCalculatorAndRecompute() {
+        Random random = new Random(7);
+        Student[] students = new Student[200];
+        List<Map<String, Double>> grades = new ArrayList<>();
+        Map<String, Integer> credits = new HashMap<>();
+        for (int c = 0; c < 30; c++) {
+            credits.put("C" + c, 1 + c % 5);
+        }
+        for (int i = 0; i < students.length; i++) {
+            students[i] = new Student("S" + i, 20, 0.0);
+            grades.add(new HashMap<>());
+        }
+        for (int op = 0; op < 20_000; op++) {
+            int i = random.nextInt(students.length);
+            String course = "C" + random.nextInt(30);
+            if (random.nextInt(5) == 0) {
+                gradebook.removeGrade(students[i], course);
+                grades.get(i).remove(course);
+            } else {
+                double grade = random.nextInt(401) / 100.0;
+                gradebook.setGrade(students[i], course, grade, credits.get(course));
+                grades.get(i).put(course, grade);
+            }
+        }
+
+        for (int i = 0; i < students.length; i++) {
+            double expected = GradeCalculator.calculateWeightedGPA(grades.get(i), credits);
+            assertEquals(expected, gradebook.getWeightedGpa(students[i]), 1e-9);
+            assertEquals(grades.get(i), gradebook.getGrades(students[i]));
+        }
+        double[] before = new double[students.length];
+        for (int i = 0; i < students.length; i++) {
+            before[i] = students[i].getGpa();
+            students[i].setGpa(0.0);
+        }
+        gradebook.recomputeAll();
+        for (int i = 0; i < students.length; i++) {
+            if (!grades.get(i).isEmpty()) {
+                assertEquals(before[i], students[i].getGpa()); // running totals are exact
+            }
+        }
+    }
+
+    @Test
+    public void testWriteBackReachesRosterIndexes() {
+        StudentManager manager = new StudentManager();
+        manager.addStudent(alice);
+        manager.addStudent(new Student("Bob", 21, 3.0));
+        gradebook.setGrade(alice, "CS101", 4.0, 3);
+        assertEquals("Alice", manager.sortByGpa().get(0).getName());
+        assertEquals(1, manager.getHonorRollStudents().size());
+    }
+}
@@ -0,0 +1,308 @@
+package interview;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Unit tests for the roster's mutation event stream
+ */
+public class MutationStreamTest {
+
+    // Subscriber that keeps copies of everything it is given
+    private static final class Recorder implements MutationSubscriber {
+        final List<MutationEvent> events = Collections.synchronizedList(new ArrayList<>());
+        final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch gate;
+
+        Recorder(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public void onBatch(List<MutationEvent> batch) {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            batchSizes.add(batch.size());
+            for (MutationEvent event : batch) {
+                events.add(event.copy());
+            }
+        }
+    }
+
+    private static void assertInOrder(List<MutationEvent> events) {
+        for (int i = 1; i < events.size(); i++) {
+            assertTrue(events.get(i - 1).getSequence() < events.get(i).getSequence(), "out of order at " + i);
+        }
+    }
+
+    @Test
+    public void testManagerPublishesEveryChange() throws Exception {
+        StudentManager manager = new StudentManager();
+        Recorder recorder = new Recorder(new CountDownLatch(0));
+        MutationStream.Subscription subscription = manager.getMutations()
+                .subscribe("audit", recorder, MutationStream.Backpressure.BLOCK);
+
+        Student alice = new Student("Alice", 20, 3.8);
+        GraduateStudent diana = new GraduateStudent("Diana", 26, 3.85, "ML", "Dr. Johnson", true);
+        manager.addStudent(alice);
+        manager.addAll(List.of(diana));
+        alice.setGpa(3.1);
+        alice.setName("Alicia");
+        diana.setAdvisor("Dr. Smith");
+        manager.applyUpdates(Stream.of(StudentUpdate.age("Alicia", 21)));
+        manager.removeStudent("Diana");
+        diana.setGpa(1.0); // no longer in the roster
+        subscription.close();
+
+        List<MutationEvent> events = recorder.events;
+        assertEquals(7, events.size());
+        for (int i = 0; i < events.size(); i++) {
+            assertEquals(i, events.get(i).getSequence());
+        }
+        assertEquals(MutationEvent.Type.ADD, events.get(0).getType());
+        assertEquals("Alice", events.get(0).getName());
+        assertEquals(MutationEvent.Type.ADD, events.get(1).getType());
+        assertSame(diana, events.get(1).getStudent());
+        assertEquals(StudentField.GPA, events.get(2).getField());
+        assertEquals(3.1, events.get(2).getValue());
+        assertEquals(StudentField.NAME, events.get(3).getField());
+        assertEquals("Alicia", events.get(3).getValue());
+        assertEquals("Alice", events.get(3).getPreviousName());
+        assertEquals("Dr. Smith", events.get(4).getValue());
+        assertEquals(StudentField.AGE, events.get(5).getField());
+        assertEquals(21, events.get(5).getValue());
+        assertEquals(MutationEvent.Type.REMOVE, events.get(6).getType());
+        assertEquals("Diana", events.get(6).getName());
+    }
+
+    @Test
+    public void testAddAndRemoveCaptureTheWholeRecord() throws Exception {
+        StudentManager manager = new StudentManager();
+        Recorder recorder = new Recorder(new CountDownLatch(0));
+        MutationStream.Subscription subscription = manager.getMutations()
+                .subscribe("replica", recorder, MutationStream.Backpressure.BLOCK);
+
+        GraduateStudent diana = new GraduateStudent("Diana", 26, 3.85, "ML", "Dr. Johnson", true);
+        manager.addStudent(new Student("Alice", 20, 3.8));
+        manager.addStudent(diana);
+        diana.setAdvisor("Dr. Smith");
+        diana.setGpa(3.9);
+        manager.removeStudent("Diana");
+        diana.setThesisTitle("Changed after removal");
+        subscription.close();
+
+        MutationEvent alice = recorder.events.get(0);
+        assertEquals(20, alice.getAge());
+        assertEquals(3.8, alice.getGpa());
+        assertFalse(alice.isGraduate());
+        assertNull(alice.getAdvisor());
+        MutationEvent added = recorder.events.get(1);
+        assertTrue(added.isGraduate());
+        assertEquals(3.85, added.getGpa());
+        assertEquals("Dr. Johnson", added.getAdvisor());
+        assertEquals("ML", added.getThesisTitle());
+        assertTrue(added.isPhD());
+        MutationEvent removed = recorder.events.get(4);
+        assertEquals(MutationEvent.Type.REMOVE, removed.getType());
+        assertEquals(3.9, removed.getGpa());
+        assertEquals("Dr. Smith", removed.getAdvisor());
+        assertEquals("ML", removed.getThesisTitle());
+        assertEquals(0, recorder.events.get(2).getAge(), "UPDATE events carry only their field");
+    }
+
+    @Test
+    public void testBlockedSubscriberCanPinSnapshotsDuringRemoves() {
+        StudentManager manager = new StudentManager();
+        for (int i = 0; i < 20; i++) {
+            manager.addStudent(new Student("S" + i, 20, 3.0));
+        }
+        List<Integer> seen = Collections.synchronizedList(new ArrayList<>());
+        MutationStream.Subscription subscription = manager.getMutations().subscribe("replica", batch -> {
+            try (RosterSnapshot snapshot = manager.snapshot()) { // needs the roster's version lock
+                seen.add(snapshot.size());
+            }
+        }, MutationStream.Backpressure.BLOCK, 1, 1);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            for (int i = 0; i < 20; i++) {
+                assertTrue(manager.removeStudent("S" + i));
+            }
+            subscription.close();
+        });
+        assertEquals(20, seen.size());
+    }
+
+    @Test
+    public void testNothingPublishedWithoutSubscribers() {
+        StudentManager manager = new StudentManager();
+        manager.addStudent(new Student("Alice", 20, 3.8));
+        assertFalse(manager.getMutations().hasSubscribers());
+        assertEquals(0, manager.getMutations().getPublished());
+    }
+
+    @Test
+    public void testBatchesAreBounded() throws Exception {
+        MutationStream stream = new MutationStream();
+        CountDownLatch gate = new CountDownLatch(1);
+        Recorder recorder = new Recorder(gate);
+        MutationStream.Subscription subscription = stream.subscribe("batched", recorder,
+                MutationStream.Backpressure.BLOCK, 64, 8);
+        Student student = new Student("Alice", 20, 3.8);
+        for (int i = 0; i < 40; i++) {
+            stream.publishAdded(student);
+        }
+        gate.countDown();
+        assertTrue(subscription.awaitDelivered(10, TimeUnit.SECONDS));
+        subscription.close();
+
+        assertEquals(40, recorder.events.size());
+        assertInOrder(recorder.events);
+        assertTrue(recorder.batchSizes.stream().allMatch(n -> n >= 1 && n <= 8));
+        assertTrue(recorder.batchSizes.size() < 40, "events should arrive in batches");
+    }
+
+    @Test
+    public void testBlockWaitsForSlowSubscriber() throws Exception {
+        MutationStream stream = new MutationStream();
+        CountDownLatch gate = new CountDownLatch(1);
+        Recorder recorder = new Recorder(gate);
+        MutationStream.Subscription subscription = stream.subscribe("slow", recorder,
+                MutationStream.Backpressure.BLOCK, 4, 2);
+        Student student = new Student("Alice", 20, 3.8);
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 20; i++) {
+                stream.publishAdded(student);
+            }
+        });
+        writer.start();
+        writer.join(200);
+        assertTrue(writer.isAlive(), "writer should be held back by the full ring");
+        gate.countDown();
+        writer.join(10_000);
+        assertFalse(writer.isAlive());
+        subscription.close();
+
+        assertEquals(20, recorder.events.size());
+        assertEquals(0, subscription.getDropped());
+        assertInOrder(recorder.events);
+    }
+
+    @Test
+    public void testDropLosesEventsButNeverBlocks() throws Exception {
+        MutationStream stream = new MutationStream();
+        CountDownLatch gate = new CountDownLatch(1);
+        Recorder recorder = new Recorder(gate);
+        MutationStream.Subscription subscription = stream.subscribe("lossy", recorder,
+                MutationStream.Backpressure.DROP, 4, 4);
+        Student student = new Student("Alice", 20, 3.8);
+        for (int i = 0; i < 20; i++) {
+            stream.publishAdded(student);
+        }
+        gate.countDown();
+        assertTrue(subscription.awaitDelivered(10, TimeUnit.SECONDS));
+        subscription.close();
+
+        assertTrue(subscription.getDropped() > 0);
+        assertEquals(20, recorder.events.size() + subscription.getDropped());
+        assertInOrder(recorder.events);
+    }
+
+    @Test
+    public void testSpillKeepsEveryEventInOrder() throws Exception {
+        MutationStream stream = new MutationStream();
+        CountDownLatch gate = new CountDownLatch(1);
+        Recorder recorder = new Recorder(gate);
+        MutationStream.Subscription subscription = stream.subscribe("spilling", recorder,
+                MutationStream.Backpressure.SPILL, 4, 3);
+        Student student = new Student("Alice", 20, 3.8);
+        for (int i = 0; i < 50; i++) {
+            stream.publishAdded(student);
+        }
+        assertTrue(subscription.getSpilled() > 0);
+        gate.countDown();
+        assertTrue(subscription.awaitDelivered(10, TimeUnit.SECONDS));
+        for (int i = 0; i < 50; i++) {
+            stream.publishAdded(student);
+        }
+        subscription.close();
+
+        assertEquals(100, recorder.events.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, recorder.events.get(i).getSequence());
+        }
+        assertEquals(0, subscription.getDropped());
+        assertEquals(0, subscription.getLag());
+    }
+
+    @Test
+    public void testFailingSubscriberKeepsReceiving() throws Exception {
+        MutationStream stream = new MutationStream();
+        List<Long> seen = Collections.synchronizedList(new ArrayList<>());
+        MutationStream.Subscription subscription = stream.subscribe("flaky", batch -> {
+            for (MutationEvent event : batch) {
+                seen.add(event.getSequence());
+            }
+            throw new IllegalStateException("downstream unavailable");
+        }, MutationStream.Backpressure.BLOCK, 8, 1);
+        Student student = new Student("Alice", 20, 3.8);
+        for (int i = 0; i < 5; i++) {
+            stream.publishAdded(student);
+        }
+        subscription.close();
+
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L), seen);
+        assertEquals(5, subscription.getFailures());
+    }
+
+    @Test
+    public void testClosedSubscriptionStopsReceiving() throws Exception {
+        MutationStream stream = new MutationStream();
+        Recorder recorder = new Recorder(new CountDownLatch(0));
+        MutationStream.Subscription subscription = stream.subscribe("short", recorder,
+                MutationStream.Backpressure.BLOCK);
+        Student student = new Student("Alice", 20, 3.8);
+        stream.publishAdded(student);
+        subscription.close();
+        stream.publishAdded(student);
+
+        assertEquals(1, recorder.events.size());
+        assertFalse(stream.hasSubscribers());
+    }
+
+    @Test
+    public void testPublishAllocatesNothing() throws Exception {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        MutationStream stream = new MutationStream();
+        MutationStream.Subscription subscription = stream.subscribe("counting", batch -> { },
+                MutationStream.Backpressure.DROP, 1024, 256);
+        Student student = new Student("Alice", 20, 3.8);
+        for (int i = 0; i < 200_000; i++) {
+            stream.publishChanged(student, StudentField.GPA, null); // warm up
+        }
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100_000; i++) {
+            stream.publishChanged(student, StudentField.GPA, null);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+        subscription.close();
+
+        assertTrue(allocated < 1024, "publishing 100k events allocated " + allocated + " bytes");
+    }
+}
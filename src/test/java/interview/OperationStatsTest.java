@@ -0,0 +1,84 @@
+package interview;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import interview.OperationStats.Operation;
+
+/**
+ * Unit tests for LatencyHistogram and OperationStats
+ */
+public class OperationStatsTest {
+
+    @Test
+    public void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 10; i++) {
+            histogram.record(i);
+        }
+        assertEquals(10, histogram.getCount());
+        assertEquals(5.5, histogram.getMean(), 1e-9);
+        assertEquals(5, histogram.getValueAtPercentile(50));
+        assertEquals(10, histogram.getValueAtPercentile(100));
+        assertEquals(10, histogram.getMax());
+    }
+
+    @Test
+    public void testLargeValuesWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long v = 1_000; v <= 1_000_000; v += 1_000) {
+            histogram.record(v);
+        }
+        long p50 = histogram.getValueAtPercentile(50);
+        long p99 = histogram.getValueAtPercentile(99);
+        assertEquals(500_000, p50, 500_000 / 16.0);
+        assertEquals(990_000, p99, 990_000 / 16.0);
+        assertEquals(1_000_000, histogram.getMax());
+    }
+
+    @Test
+    public void testBucketBoundsAreContiguous() {
+        for (long v = 0; v < 100_000; v++) {
+            int index = LatencyHistogram.bucketIndex(v);
+            assertTrue(LatencyHistogram.highestValueInBucket(index) >= v);
+            if (index > 0) {
+                assertTrue(LatencyHistogram.highestValueInBucket(index - 1) < v);
+            }
+        }
+        assertEquals(Long.MAX_VALUE,
+            LatencyHistogram.highestValueInBucket(LatencyHistogram.bucketIndex(Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void testEmptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        assertEquals(0.0, histogram.getMean());
+    }
+
+    @Test
+    public void testDisabledStatsRecordNothing() {
+        OperationStats stats = new OperationStats(false);
+        stats.record(Operation.FIND, stats.start());
+        assertEquals(0, stats.getHistogram(Operation.FIND).getCount());
+    }
+
+    @Test
+    public void testManagerOperationsAreCounted() throws Exception {
+        StudentManager manager = new StudentManager();
+        manager.getStats().setEnabled(true);
+        manager.addStudent(new Student("Alice", 20, 3.8));
+        manager.addStudent(new Student("Bob", 21, 3.2));
+        manager.findByName("Bob");
+        manager.sortByGpa();
+
+        OperationStats stats = manager.getStats();
+        assertEquals(2, stats.getCount("add"));
+        assertEquals(1, stats.getCount("FIND"));
+        assertEquals(1, stats.getCount("sort"));
+        assertTrue(stats.getReport().contains("find"));
+
+        stats.reset();
+        assertEquals(0, stats.getCount("add"));
+    }
+}
@@ -0,0 +1,192 @@
+package interview;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+/**
+ * Unit tests for the query language, planner and executor
+ */
+public class QueryTest {
+    private StudentManager manager;
+    private Student alice;
+    private Student bob;
+    private Student charlie;
+    private GraduateStudent diana;
+    private GraduateStudent evan;
+
+    @BeforeEach
+    public void setUp() {
+        manager = new StudentManager();
+        alice = new Student("Alice", 20, 3.8);
+        bob = new Student("Bob", 21, 3.2);
+        charlie = new Student("Charlie", 19, 3.9);
+        diana = new GraduateStudent("Diana", 26, 3.85, "ML in Healthcare", "Dr. Johnson", true);
+        evan = new GraduateStudent("Evan", 24, 1.9, "Compilers", "Dr. Lee", false);
+        manager.addStudent(alice);
+        manager.addStudent(bob);
+        manager.addStudent(charlie);
+        manager.addStudent(diana);
+        manager.addStudent(evan);
+    }
+
+    @Test
+    public void testParseRoundTrip() {
+        Query query = Query.parse("gpa >= 3.5 AND age < 22 and type = graduate order by gpa desc limit 10");
+        assertEquals("(gpa >= 3.5 and age < 22 and type = 'grad') order by gpa desc limit 10", query.toString());
+        assertEquals(QueryField.GPA, query.getOrderBy());
+        assertTrue(query.isDescending());
+        assertEquals(10, query.getLimit());
+    }
+
+    @Test
+    public void testParseErrors() {
+        assertThrows(IllegalArgumentException.class, () -> Query.parse("gpa >="));
+        assertThrows(IllegalArgumentException.class, () -> Query.parse("height > 3"));
+        assertThrows(IllegalArgumentException.class, () -> Query.parse("gpa > abc"));
+        assertThrows(IllegalArgumentException.class, () -> Query.parse("honors < true"));
+        assertThrows(IllegalArgumentException.class, () -> Query.parse("(gpa > 3"));
+        assertThrows(IllegalArgumentException.class, () -> Query.parse("avg(name)"));
+        assertThrows(IllegalArgumentException.class, () -> Query.parse("gpa > 3 limit x"));
+    }
+
+    @Test
+    public void testConjunction() {
+        List<Student> rows = manager.query("gpa >= 3.5 and age < 22").getRows();
+        assertEquals(List.of(alice, charlie), rows);
+    }
+
+    @Test
+    public void testOrNotAndParentheses() {
+        List<Student> rows = manager.query("not (type = grad) and (name = bob or gpa > 3.85)").getRows();
+        assertEquals(List.of(bob, charlie), rows);
+    }
+
+    @Test
+    public void testBareBooleanAndGraduateFields() {
+        assertEquals(List.of(diana), manager.query("phd").getRows());
+        assertEquals(List.of(evan), manager.query("type = grad and not passing").getRows());
+        assertEquals(List.of(diana), manager.query("advisor = 'Dr. Johnson'").getRows());
+        assertEquals(List.of(bob), manager.query("grade = 'B+'").getRows());
+    }
+
+    @Test
+    public void testOrderByWithLimitUsesTopK() {
+        List<Student> rows = manager.query("order by gpa desc limit 2").getRows();
+        assertEquals(List.of(charlie, diana), rows);
+
+        rows = manager.query("type = student order by age").getRows();
+        assertEquals(List.of(charlie, alice, bob), rows);
+    }
+
+    @Test
+    public void testLimitWithoutOrderStopsEarly() {
+        QueryResult result = manager.query("gpa > 3 limit 1");
+        assertEquals(List.of(alice), result.getRows());
+        assertEquals(1, result.getRowsExamined());
+    }
+
+    @Test
+    public void testAggregates() {
+        assertEquals(3, manager.query("count where honors").getAggregate());
+        assertEquals(5, manager.query("count").getAggregate());
+        assertEquals(0, manager.query("count").getRowsExamined());
+        assertEquals((20 + 21 + 19) / 3.0, manager.query("avg(age) where type = student").getAggregate(), 1e-9);
+        assertEquals(1.9, manager.query("min(gpa)").getAggregate());
+        assertEquals(3.9, manager.query("max(gpa) where age < 25").getAggregate());
+        assertTrue(Double.isNaN(manager.query("avg(gpa) where age > 100").getAggregate()));
+    }
+
+    @Test
+    public void testExplainFullScan() {
+        String plan = manager.explain("gpa >= 3.5 order by gpa desc limit 10");
+        assertTrue(plan.contains("full scan of 5 rows"));
+        assertTrue(plan.contains("top-10 heap"));
+    }
+
+    @Test
+    public void testPlannerUsesIndex() {
+        manager.addIndex(new HonorsIndex(manager.getAllStudents()));
+
+        QueryPlan plan = manager.plan(Query.parse("honors and age < 22"));
+        assertTrue(plan.usesIndex());
+        assertTrue(plan.explain().contains("re-checked on candidate rows"));
+
+        QueryResult result = plan.execute();
+        assertEquals(List.of(alice, charlie), result.getRows());
+        assertEquals(3, result.getRowsExamined());
+
+        QueryResult count = manager.query("count where not honors");
+        assertEquals(2, count.getAggregate());
+        assertEquals(0, count.getRowsExamined());
+        assertTrue(manager.explain("count where not honors").contains("index cardinality"));
+    }
+
+    @Test
+    public void testOrWithUncoveredBranchFallsBackToScan() {
+        manager.addIndex(new HonorsIndex(manager.getAllStudents()));
+        QueryPlan plan = manager.plan(Query.parse("honors or age > 25"));
+        assertFalse(plan.usesIndex());
+        assertEquals(List.of(alice, charlie, diana), plan.execute().getRows());
+    }
+
+    @Test
+    public void testBitmapIndexAnswersBooleanPredicates() {
+        QueryPlan plan = manager.plan(Query.parse("count where type = grad and not passing"));
+        assertTrue(plan.usesIndex());
+        assertEquals(1, plan.execute().getAggregate());
+        assertEquals(0, plan.execute().getRowsExamined());
+
+        assertEquals(List.of(alice, charlie, diana), manager.query("standing = honors").getRows());
+        assertEquals(List.of(bob, evan), manager.query("honors != true").getRows());
+        assertEquals(List.of(diana), manager.query("phd or (type = student and not honors and not passing)").getRows());
+    }
+
+    @Test
+    public void testBitmapIndexFollowsSettersAndRemovals() {
+        assertEquals(3, manager.query("count where honors").getAggregate());
+
+        bob.setGpa(3.95);
+        evan.setPhD(true);
+        assertEquals(List.of(alice, bob, charlie, diana), manager.getHonorRollStudents());
+        assertEquals(List.of(diana, evan), manager.query("phd").getRows());
+
+        manager.removeStudent("Alice");
+        alice.setGpa(1.0); // no longer in the roster, must not affect it
+        assertEquals(List.of(bob, charlie, diana), manager.query("honors").getRows());
+        assertEquals(List.of(evan), manager.query("standing = 'Academic Probation'").getRows());
+
+        Student frank = new Student("Frank", 22, 3.6);
+        manager.addStudent(frank);
+        assertEquals(4, manager.query("count where honors").getAggregate());
+        assertEquals(List.of(evan), manager.groupByHonorRoll().get(false));
+    }
+
+    // Minimal test index answering "honors = true/false" from a precomputed bitmap
+    private static final class HonorsIndex implements QueryIndex {
+        private final CompressedBitmap honors = new CompressedBitmap();
+        private final CompressedBitmap others = new CompressedBitmap();
+
+        HonorsIndex(List<Student> roster) {
+            for (int i = 0; i < roster.size(); i++) {
+                (roster.get(i).isHonorRoll() ? honors : others).add(i);
+            }
+        }
+
+        @Override
+        public String getName() {
+            return "honors";
+        }
+
+        @Override
+        public CompressedBitmap lookup(Query.Comparison c) {
+            if (c.getField() != QueryField.HONORS) {
+                return null;
+            }
+            boolean wanted = c.getOp() == Query.Op.EQ ? c.getBool() : !c.getBool();
+            return wanted ? honors : others;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package interview;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for ResultCache and the manager results it serves
+ */
+public class ResultCacheTest {
+
+    @Test
+    public void testHitOnlyAtSameEpoch() {
+        ResultCache cache = new ResultCache(1000);
+        assertNull(cache.get("a", 1));
+        cache.put("a", 1, "value", 10);
+        assertEquals("value", cache.get("a", 1));
+        assertNull(cache.get("a", 2));
+        assertEquals(0, cache.getEntryCount(), "stale entry is dropped");
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsedByWeight() {
+        ResultCache cache = new ResultCache(100);
+        cache.put("a", 0, "A", 40);
+        cache.put("b", 0, "B", 40);
+        cache.get("a", 0); // b is now least recently used
+        cache.put("c", 0, "C", 40);
+
+        assertNull(cache.get("b", 0));
+        assertEquals("A", cache.get("a", 0));
+        assertEquals("C", cache.get("c", 0));
+        assertEquals(80, cache.getWeight());
+        assertEquals(1, cache.getEvictions());
+
+        cache.put("huge", 0, "H", 500);
+        assertNull(cache.get("huge", 0), "values over the budget are not cached");
+        assertEquals(2, cache.getEntryCount());
+    }
+
+    @Test
+    public void testRepeatQueriesAreServedFromCache() {
+        StudentManager manager = new StudentManager();
+        Student alice = new Student("Alice", 20, 3.8);
+        Student bob = new Student("Bob", 21, 3.2);
+        manager.addStudent(alice);
+        manager.addStudent(bob);
+
+        List<Student> first = manager.getHonorRollStudents();
+        long misses = manager.getCache().getMisses();
+        List<Student> second = manager.getHonorRollStudents();
+        assertEquals(first, second);
+        assertNotSame(first, second);
+        assertEquals(misses, manager.getCache().getMisses());
+        assertEquals(1, manager.getCache().getHits());
+
+        second.clear();
+        assertEquals(List.of(alice), manager.getHonorRollStudents(), "callers get copies");
+        assertEquals(3.5, manager.getAverageGpa(), 1e-9);
+        assertEquals(3.5, manager.getAverageGpa(), 1e-9);
+        assertEquals(1, manager.query("count where honors").getAggregate());
+        assertEquals(1, manager.query("COUNT  where honors").getAggregate());
+        assertTrue(manager.getCache().getHits() >= 4);
+    }
+
+    @Test
+    public void testEveryKindOfChangeInvalidates() {
+        StudentManager manager = new StudentManager();
+        Student alice = new Student("Alice", 20, 3.8);
+        Student bob = new Student("Bob", 21, 3.2);
+        manager.addStudent(alice);
+        manager.addStudent(bob);
+        assertEquals(List.of(alice, bob), manager.sortByGpa());
+
+        bob.setGpa(3.9);
+        assertEquals(List.of(bob, alice), manager.sortByGpa());
+        Map<Boolean, List<Student>> groups = manager.groupByHonorRoll();
+        assertEquals(List.of(alice, bob), groups.get(true));
+
+        Student carol = new Student("Carol", 22, 1.0);
+        manager.addStudent(carol);
+        assertEquals(List.of(carol), manager.groupByHonorRoll().get(false));
+
+        manager.removeStudent("Alice");
+        assertEquals(List.of(bob), manager.getHonorRollStudents());
+        assertEquals(2.45, manager.getAverageGpa(), 1e-9);
+
+        carol.setName("Caroline");
+        List<String> names = new ArrayList<>();
+        manager.forEachSortedByGpa(PageRequest.ALL, s -> names.add(s.getName()));
+        assertEquals(List.of("Bob", "Caroline"), names);
+    }
+
+    @Test
+    public void testShortSortedPagesSkipTheFullOrdering() {
+        StudentManager manager = new StudentManager();
+        for (int i = 0; i < 1_000; i++) {
+            manager.addStudent(new Student("S" + i, 20, (i % 401) / 100.0));
+        }
+        List<Student> top = new ArrayList<>();
+        manager.forEachSortedByGpa(new PageRequest(0, 10, null), top::add);
+        assertEquals(manager.sortByGpa().subList(0, 10), top);
+        int entries = manager.getCache().getEntryCount();
+
+        List<Student> again = new ArrayList<>();
+        manager.forEachSortedByGpa(new PageRequest(0, 10, null), again::add);
+        assertEquals(top, again);
+        assertEquals(entries, manager.getCache().getEntryCount(), "a short page is served by the heap");
+
+        manager.forEachSortedByGpa(PageRequest.ALL, s -> { });
+        assertEquals(entries + 1, manager.getCache().getEntryCount());
+        long hits = manager.getCache().getHits();
+        again.clear();
+        manager.forEachSortedByGpa(new PageRequest(5, 5, null), again::add);
+        assertEquals(top.subList(5, 10), again);
+        assertEquals(hits + 1, manager.getCache().getHits(), "once built, the ordering serves short pages too");
+    }
+}
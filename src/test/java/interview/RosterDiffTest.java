@@ -0,0 +1,126 @@
+package interview;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Unit tests for streaming roster diffs
+ */
+public class RosterDiffTest {
+    private Path dir;
+    private Path older;
+    private Path newer;
+    private List<Student> roster;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("diff");
+        older = dir.resolve("older.dat");
+        newer = dir.resolve("newer.dat");
+        roster = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            roster.add(new Student("S" + i, 20 + i % 5, (i % 401) / 100.0));
+        }
+        roster.add(new GraduateStudent("Diana", 26, 3.85, "ML", "Dr. Johnson", true));
+        RosterFile.write(older, roster);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path p : (Iterable<Path>) files::iterator) {
+                Files.delete(p);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    private List<RosterChange> diff(long memoryBytes) throws Exception {
+        List<RosterChange> changes = new ArrayList<>();
+        new RosterDiff(memoryBytes).run(older, newer, changes::add);
+        return changes;
+    }
+
+    @Test
+    public void testIdenticalSnapshots() throws Exception {
+        Collections.shuffle(roster, new Random(1)); // file order does not matter
+        RosterFile.write(newer, roster);
+        List<RosterChange> changes = new ArrayList<>();
+        RosterDiff diff = new RosterDiff(1 << 20).run(older, newer, changes::add);
+        assertTrue(changes.isEmpty());
+        assertEquals(20_001, diff.getUnchanged());
+    }
+
+    @Test
+    public void testAddedRemovedAndChanged() throws Exception {
+        List<Student> today = new ArrayList<>(roster);
+        today.set(7, new Student("S7", 30, 0.07));
+        today.remove(5);
+        today.add(new Student("Zed", 19, 3.3));
+        RosterFile.write(newer, today);
+
+        List<RosterChange> changes = diff(1 << 20); // small enough to spill runs
+        assertEquals(3, changes.size());
+        RosterChange removed = changes.stream().filter(c -> c.getKind() == RosterChange.Kind.REMOVED).findFirst().get();
+        assertEquals("S5", removed.getName());
+        assertNull(removed.getAfter());
+        RosterChange changed = changes.stream().filter(c -> c.getKind() == RosterChange.Kind.CHANGED).findFirst().get();
+        assertEquals(EnumSet.of(StudentField.AGE), changed.getFields());
+        assertEquals("~ S7: age 22 -> 30", changed.toString());
+        assertEquals("Zed", changes.get(2).getName()); // reported in name order
+        assertEquals(RosterChange.Kind.ADDED, changes.get(2).getKind());
+    }
+
+    @Test
+    public void testGraduateFieldsAndTypeChanges() throws Exception {
+        List<Student> today = new ArrayList<>(roster);
+        today.set(today.size() - 1, new GraduateStudent("Diana", 26, 3.85, "ML", "Dr. Smith", false));
+        today.set(0, new GraduateStudent("S0", 20, 0.0, "Databases", "Dr. Lee", false));
+        RosterFile.write(newer, today);
+
+        List<RosterChange> changes = diff(64L << 20);
+        assertEquals(2, changes.size());
+        assertEquals("Diana", changes.get(0).getName());
+        assertEquals(EnumSet.of(StudentField.ADVISOR, StudentField.PHD), changes.get(0).getFields());
+        assertEquals("~ Diana: advisor Dr. Johnson -> Dr. Smith; phd true -> false", changes.get(0).toString());
+        assertEquals(EnumSet.of(StudentField.THESIS_TITLE, StudentField.ADVISOR, StudentField.PHD),
+                changes.get(1).getFields());
+        assertTrue(changes.get(1).toString().contains("thesis_title (none) -> Databases"));
+    }
+
+    @Test
+    public void testNameCaseChangeIsAChangeNotARemoval() throws Exception {
+        List<Student> today = new ArrayList<>(roster);
+        today.set(3, new Student("s3", 23, 0.03));
+        RosterFile.write(newer, today);
+
+        List<RosterChange> changes = diff(1 << 20);
+        assertEquals(1, changes.size());
+        assertEquals(EnumSet.of(StudentField.NAME), changes.get(0).getFields());
+    }
+
+    @Test
+    public void testEmptySides() throws Exception {
+        RosterFile.write(newer, List.of());
+        List<RosterChange> changes = new ArrayList<>();
+        RosterDiff diff = new RosterDiff(1 << 20).run(older, newer, changes::add);
+        assertEquals(20_001, diff.getRemoved());
+        assertEquals(20_001, changes.size());
+
+        diff = new RosterDiff(1 << 20).run(newer, older, c -> { });
+        assertEquals(20_001, diff.getAdded());
+        assertTrue(diff.toString().startsWith("20001 added, 0 removed"));
+    }
+}
@@ -0,0 +1,75 @@
+package interview;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Checks that StudentManager emits its flight recorder events
+ */
+public class RosterEventsTest {
+    private static final Path SNAPSHOT = Paths.get("test_events.dat");
+    private static final Path RECORDING = Paths.get("test_events.jfr");
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(SNAPSHOT);
+        Files.deleteIfExists(RECORDING);
+    }
+
+    @Test
+    public void testQueryAndPersistenceEventsAreRecorded() throws Exception {
+        StudentManager manager = new StudentManager();
+        try (Recording recording = new Recording()) {
+            recording.enable("interview.RosterQuery").withoutThreshold();
+            recording.enable("interview.RosterPersistence").withoutThreshold();
+            recording.start();
+
+            manager.addStudent(new Student("Alice", 20, 3.8));
+            manager.addStudent(new Student("Bob", 21, 3.2));
+            manager.getHonorRollStudents();
+            manager.saveToFile(SNAPSHOT.toString());
+            manager.loadFromFile(SNAPSHOT.toString());
+
+            recording.stop();
+            recording.dump(RECORDING);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(RECORDING);
+        List<RecordedEvent> queries = events.stream()
+            .filter(e -> e.getEventType().getName().equals("interview.RosterQuery"))
+            .collect(Collectors.toList());
+        List<RecordedEvent> persistence = events.stream()
+            .filter(e -> e.getEventType().getName().equals("interview.RosterPersistence"))
+            .collect(Collectors.toList());
+
+        RecordedEvent honorRoll = queries.stream()
+            .filter(e -> e.getString("queryType").equals("HONOR_ROLL"))
+            .findFirst().orElseThrow(AssertionError::new);
+        assertEquals(2, honorRoll.getInt("rosterSize"));
+        assertEquals(1, honorRoll.getInt("resultSize"));
+
+        assertEquals(2, persistence.size());
+        RecordedEvent save = persistence.get(0);
+        assertEquals("save", save.getString("operation"));
+        assertEquals(2, save.getLong("records"));
+        assertEquals(Files.size(SNAPSHOT), save.getLong("bytes"));
+    }
+
+    @Test
+    public void testSampleConfigurationParses() throws Exception {
+        Path jfc = Paths.get("src/main/resources/jfr/roster.jfc");
+        jdk.jfr.Configuration configuration = jdk.jfr.Configuration.create(jfc);
+        assertEquals("1 ms", configuration.getSettings().get("interview.RosterQuery#threshold"));
+        assertEquals("true", configuration.getSettings().get("interview.RosterPersistence#enabled"));
+    }
+}
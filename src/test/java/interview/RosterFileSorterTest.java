@@ -0,0 +1,120 @@
+package interview;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Unit tests for the out-of-core roster file sort
+ */
+public class RosterFileSorterTest {
+    private Path dir;
+    private Path in;
+    private Path out;
+    private List<Student> roster;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("sortfile");
+        in = dir.resolve("in.dat");
+        out = dir.resolve("out.dat");
+        Random random = new Random(9);
+        roster = new ArrayList<>();
+        for (int i = 0; i < 30_000; i++) {
+            String name = "S" + random.nextInt(20_000); // repeated names exercise the tie-break
+            double gpa = random.nextInt(401) / 100.0;
+            roster.add(i % 50 == 0 ? new GraduateStudent(name, 25, gpa, "Thesis " + i, "Dr. X", i % 100 == 0)
+                    : new Student(name, 20, gpa));
+        }
+        RosterFile.write(in, roster);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path p : (Iterable<Path>) files::iterator) {
+                Files.delete(p);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    private List<Student> expected() {
+        List<Student> sorted = new ArrayList<>(roster);
+        Collections.sort(sorted);
+        return sorted;
+    }
+
+    @Test
+    public void testSpillsRunsAndMerges() throws Exception {
+        RosterFileSorter sorter = new RosterFileSorter(1 << 20);
+        RosterSummary summary = sorter.sort(in, out);
+
+        assertTrue(sorter.getRuns() > 2, sorter.toString());
+        assertEquals(1, sorter.getMergePasses());
+        assertEquals(30_000, summary.getCount());
+        assertEquals(expected(), RosterFile.readAll(out));
+        assertEquals(RosterFile.readSummary(in).getAverageGpa(), RosterFile.readSummary(out).getAverageGpa(), 1e-9);
+    }
+
+    @Test
+    public void testTinyBudgetTakesSeveralMergePasses() throws Exception {
+        RosterFileSorter sorter = new RosterFileSorter(100_000); // fan-in of 2
+        sorter.sort(in, out);
+
+        assertTrue(sorter.getMergePasses() > 1, sorter.toString());
+        List<Student> sorted = RosterFile.readAll(out);
+        assertEquals(expected(), sorted);
+        assertEquals(600, sorted.stream().filter(s -> s instanceof GraduateStudent).count());
+    }
+
+    @Test
+    public void testFitsInMemory() throws Exception {
+        RosterFileSorter sorter = new RosterFileSorter(1L << 30);
+        sorter.sort(in, out);
+        assertEquals(1, sorter.getRuns());
+        assertEquals(0, sorter.getMergePasses());
+        assertEquals(0, sorter.getSpilledBytes());
+        assertEquals(expected(), RosterFile.readAll(out));
+    }
+
+    @Test
+    public void testSortInPlaceLeavesNoTemporaryFiles() throws Exception {
+        new RosterFileSorter(1 << 20).sort(in, in);
+        assertEquals(expected(), RosterFile.readAll(in));
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    public void testEqualStudentsKeepInputOrder() throws Exception {
+        List<Student> twins = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            twins.add(new Student("Same", 18 + i % 30, 3.0)); // equal under compareTo, different ages
+        }
+        RosterFile.write(in, twins);
+        new RosterFileSorter(100_000).sort(in, out);
+
+        List<Student> sorted = RosterFile.readAll(out);
+        for (int i = 0; i < twins.size(); i++) {
+            assertEquals(twins.get(i).getAge(), sorted.get(i).getAge());
+        }
+    }
+
+    @Test
+    public void testInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> new RosterFileSorter(0));
+        assertThrows(IOException.class, () -> new RosterFileSorter(1 << 20).sort(dir.resolve("missing.dat"), out));
+    }
+}
@@ -0,0 +1,137 @@
+package interview;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.io.StreamCorruptedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Unit tests for the RosterFile snapshot format
+ */
+public class RosterFileTest {
+    private static final Path FILE = Paths.get("test_roster.dat");
+    private List<Student> students;
+
+    @BeforeEach
+    public void setUp() {
+        students = new ArrayList<>();
+        students.add(new Student("Alice", 20, 3.8));
+        students.add(new Student("Bob", 21, 3.2));
+        students.add(new Student("Eve", 23, 1.0));
+        students.add(new GraduateStudent("Diana", 26, 3.85,
+            "Machine Learning in Healthcare", "Dr. Johnson", true));
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(FILE);
+    }
+
+    @Test
+    public void testRoundTripPreservesOrderAndTypes() throws Exception {
+        RosterFile.write(FILE, students);
+        List<Student> loaded = RosterFile.readAll(FILE);
+        assertEquals(students, loaded);
+        assertTrue(loaded.get(3) instanceof GraduateStudent);
+    }
+
+    @Test
+    public void testSummaryFromFooter() throws Exception {
+        RosterFile.write(FILE, students);
+        RosterSummary summary = RosterFile.readSummary(FILE);
+
+        assertEquals(4, summary.getCount());
+        assertEquals((3.8 + 3.2 + 1.0 + 3.85) / 4, summary.getAverageGpa(), 1e-9);
+        assertEquals(1.0, summary.getMinGpa());
+        assertEquals(3.85, summary.getMaxGpa());
+        assertEquals(2, summary.getHonorRollCount());
+        assertEquals(2, summary.getStandingCount("Honors"));
+        assertEquals(1, summary.getStandingCount("Good Standing"));
+        assertEquals(0, summary.getStandingCount("Academic Probation"));
+        assertEquals(1, summary.getStandingCount("Academic Warning"));
+    }
+
+    @Test
+    public void testEmptyRoster() throws Exception {
+        RosterFile.write(FILE, new ArrayList<Student>());
+        assertEquals(0, RosterFile.readSummary(FILE).getCount());
+        assertEquals(0.0, RosterFile.readSummary(FILE).getAverageGpa());
+        assertTrue(RosterFile.readAll(FILE).isEmpty());
+    }
+
+    @Test
+    public void testLargeRosterAcrossHandleResets() throws Exception {
+        List<Student> many = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            many.add(new Student("S" + i, 18 + i % 10, (i % 401) / 100.0));
+        }
+        RosterFile.write(FILE, many);
+        assertEquals(many, RosterFile.readAll(FILE));
+        assertEquals(5000, RosterFile.readSummary(FILE).getCount());
+    }
+
+    @Test
+    public void testReadsLegacyFormat() throws Exception {
+        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(FILE.toFile()))) {
+            oos.writeObject(students);
+        }
+        assertEquals(students, RosterFile.readAll(FILE));
+        assertThrows(IOException.class, () -> RosterFile.readSummary(FILE));
+    }
+
+    @Test
+    public void testFailedReplaceKeepsPreviousFile() throws Exception {
+        RosterFile.replace(FILE, students);
+        // Dies on the second record, like a save cut short part way through
+        Iterable<Student> failing = () -> students.stream().limit(2).map(s -> {
+            if (s.getName().equals("Bob")) {
+                throw new IllegalStateException("crash");
+            }
+            return s;
+        }).iterator();
+        assertThrows(IllegalStateException.class, () -> RosterFile.replace(FILE, failing));
+
+        assertEquals(students, RosterFile.readAll(FILE));
+        try (Stream<Path> files = Files.list(FILE.toAbsolutePath().getParent())) {
+            assertFalse(files.anyMatch(p -> p.getFileName().toString().startsWith(FILE + ".")));
+        }
+    }
+
+    @Test
+    public void testDamagedFooterIsDetected() throws Exception {
+        RosterFile.write(FILE, students);
+        flipByte(Files.size(FILE) - 30);
+        assertThrows(StreamCorruptedException.class, () -> RosterFile.readSummary(FILE));
+    }
+
+    @Test
+    public void testDamagedBodyIsDetected() throws Exception {
+        RosterFile.write(FILE, students);
+        // Flip a byte inside Alice's name so the record still parses
+        byte[] bytes = Files.readAllBytes(FILE);
+        int index = new String(bytes, "ISO-8859-1").indexOf("Alice");
+        flipByte(index + 1);
+        assertThrows(StreamCorruptedException.class, () -> RosterFile.readAll(FILE));
+    }
+
+    private void flipByte(long position) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(FILE.toFile(), "rw")) {
+            file.seek(position);
+            int b = file.read();
+            file.seek(position);
+            file.write(b ^ 0x01);
+        }
+    }
+}
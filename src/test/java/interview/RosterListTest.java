@@ -0,0 +1,78 @@
+package interview;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Unit tests for RosterList and the roster streams built on it
+ */
+public class RosterListTest {
+
+    private static StudentManager managerWith(int n) {
+        StudentManager manager = new StudentManager();
+        for (int i = 0; i < n; i++) {
+            manager.addStudent(new Student("S" + i, 18 + i % 10, (i % 401) / 100.0));
+        }
+        return manager;
+    }
+
+    @Test
+    public void testSpliteratorSplitsEvenlyAndReportsSize() {
+        RosterList list = new RosterList();
+        for (int i = 0; i < 1001; i++) {
+            list.add(new Student("S" + i, 20, 3.0));
+        }
+        Spliterator<Student> right = list.spliterator();
+        assertTrue(right.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.IMMUTABLE));
+        assertEquals(1001, right.estimateSize());
+
+        Spliterator<Student> left = right.trySplit();
+        assertEquals(500, left.estimateSize());
+        assertEquals(501, right.estimateSize());
+        assertEquals(250, left.trySplit().getExactSizeIfKnown());
+    }
+
+    @Test
+    public void testStreamSeesSnapshotNotLaterChanges() {
+        StudentManager manager = managerWith(3);
+        Spliterator<Student> before = manager.stream().spliterator();
+        manager.addStudent(new Student("Late", 30, 4.0));
+        manager.removeStudent("S0");
+
+        List<String> names = StreamSupport.stream(before, false)
+                .map(Student::getName).collect(Collectors.toList());
+        assertEquals(List.of("S0", "S1", "S2"), names);
+        assertEquals(List.of("S1", "S2", "Late"),
+                manager.stream().map(Student::getName).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testParallelStreamMatchesSequential() {
+        StudentManager manager = managerWith(100_000);
+        assertEquals(manager.stream().filter(Student::isHonorRoll).count(),
+                manager.parallelStream().filter(Student::isHonorRoll).count());
+        assertEquals(manager.stream().mapToDouble(Student::getGpa).sum(),
+                manager.parallelStream().mapToDouble(Student::getGpa).sum(), 1e-6);
+        assertEquals(manager.stream().map(Student::getName).collect(Collectors.toList()),
+                manager.parallelStream().map(Student::getName).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testRemoveIfKeepsOrder() {
+        RosterList list = new RosterList();
+        for (int i = 0; i < 10; i++) {
+            list.add(new Student("S" + i, 20, 3.0));
+        }
+        assertTrue(list.removeIf(s -> s.getName().compareTo("S5") < 0));
+        assertFalse(list.removeIf(s -> false));
+        assertEquals(5, list.size());
+        assertEquals("S5", list.get(0).getName());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(5));
+        assertThrows(NullPointerException.class, () -> list.add(null));
+    }
+}
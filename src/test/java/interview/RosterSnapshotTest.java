@@ -0,0 +1,214 @@
+package interview;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Unit tests for pinned roster snapshots and version reclamation
+ */
+public class RosterSnapshotTest {
+    private StudentManager manager;
+    private Student alice;
+    private GraduateStudent diana;
+
+    @BeforeEach
+    public void setUp() {
+        manager = new StudentManager();
+        alice = new Student("Alice", 20, 3.8);
+        diana = new GraduateStudent("Diana", 26, 3.85, "ML", "Dr. Johnson", true);
+        manager.addStudent(alice);
+        manager.addStudent(new Student("Bob", 21, 3.2));
+        manager.addStudent(diana);
+    }
+
+    @Test
+    public void testSnapshotIgnoresLaterChanges() {
+        try (RosterSnapshot snapshot = manager.snapshot()) {
+            manager.addStudent(new Student("Charlie", 19, 3.9));
+            manager.removeStudent("Bob");
+            alice.setGpa(2.0);
+            alice.setName("Alicia");
+            diana.setAdvisor("Dr. Smith");
+
+            assertEquals(3, snapshot.size());
+            assertEquals(new Student("Alice", 20, 3.8), snapshot.get(0));
+            assertEquals("Bob", snapshot.get(1).getName());
+            assertEquals("Dr. Johnson", ((GraduateStudent) snapshot.get(2)).getAdvisor());
+            assertNotSame(alice, snapshot.get(0));
+        }
+        try (RosterSnapshot now = manager.snapshot()) {
+            assertEquals(3, now.size());
+            assertEquals("Alicia", now.get(0).getName());
+            assertEquals("Charlie", now.get(2).getName());
+        }
+    }
+
+    @Test
+    public void testReturnedStudentsDoNotChange() {
+        try (RosterSnapshot snapshot = manager.snapshot()) {
+            Student seen = snapshot.get(0);
+            alice.setGpa(1.5);
+            assertEquals(3.8, seen.getGpa());
+            assertEquals(3.8, snapshot.get(0).getGpa());
+        }
+    }
+
+    @Test
+    public void testEachSnapshotSeesItsOwnVersion() {
+        List<RosterSnapshot> snapshots = new ArrayList<>();
+        double[] gpas = {3.0, 2.5, 2.0, 1.5};
+        snapshots.add(manager.snapshot());
+        for (double gpa : gpas) {
+            alice.setGpa(gpa);
+            snapshots.add(manager.snapshot());
+        }
+        assertEquals(3.8, snapshots.get(0).get(0).getGpa());
+        for (int i = 0; i < gpas.length; i++) {
+            assertEquals(gpas[i], snapshots.get(i + 1).get(0).getGpa());
+        }
+        for (RosterSnapshot snapshot : snapshots) {
+            snapshot.close();
+        }
+    }
+
+    @Test
+    public void testReportsRunOnTheSnapshot() {
+        try (RosterSnapshot snapshot = manager.snapshot()) {
+            alice.setGpa(0.5);
+            manager.removeStudent("Diana");
+
+            List<Student> sorted = snapshot.sortByGpa();
+            assertEquals("Diana", sorted.get(0).getName());
+            assertEquals("Alice", sorted.get(1).getName());
+            List<GroupStats> groups = snapshot.groupBy(QueryField.parse("type"), false);
+            assertEquals(2, groups.size());
+            assertEquals(3, snapshot.stream().count());
+        }
+    }
+
+    @Test
+    public void testNoImagesWithoutReaders() {
+        alice.setGpa(3.0);
+        manager.removeStudent("Bob");
+        assertEquals(0, manager.getVersions().getImagesRecorded());
+    }
+
+    @Test
+    public void testImagesReclaimedWhenReadersClose() {
+        RosterVersions versions = manager.getVersions();
+        RosterSnapshot first = manager.snapshot();
+        alice.setGpa(3.0);
+        alice.setGpa(2.9); // first already has Alice's image; nothing new is needed
+        RosterSnapshot second = manager.snapshot();
+        alice.setGpa(2.8);
+        manager.removeStudent("Bob");
+        assertEquals(3, versions.getRetainedImages());
+        assertEquals(2, versions.getPinnedCount());
+
+        first.close();
+        assertEquals(2, versions.getRetainedImages()); // second still needs Alice at 2.9 and Bob
+        assertEquals(2.9, second.get(0).getGpa());
+        assertEquals("Bob", second.get(1).getName());
+
+        second.close();
+        assertEquals(0, versions.getRetainedImages());
+        assertEquals(0, versions.getPinnedCount());
+        assertThrows(IllegalStateException.class, () -> second.get(0));
+    }
+
+    @Test
+    public void testLongScansDuringWrites() throws Exception {
+        StudentManager roster = new StudentManager();
+        RosterVersions versions = roster.getVersions();
+        for (int i = 0; i < 200; i++) {
+            roster.addStudent(new Student("S" + i, 20, 2.0));
+        }
+        // Expected GPA total (in hundredths) and count at every committed version
+        Map<Long, long[]> expected = new ConcurrentHashMap<>();
+        List<Student> live = new ArrayList<>(roster.getAllStudents());
+        long[] totals = {200 * 200, 200};
+        expected.put(versions.getVersion(), totals.clone());
+
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicInteger verified = new AtomicInteger();
+        AtomicReference<String> failure = new AtomicReference<>();
+        Runnable reader = () -> {
+            while (!done.get() && failure.get() == null) {
+                try (RosterSnapshot snapshot = roster.snapshot()) {
+                    long[] first = scan(snapshot);
+                    long[] again = scan(snapshot);
+                    long[] want;
+                    while ((want = expected.get(snapshot.getVersion())) == null) {
+                        Thread.onSpinWait(); // writer records a version just after committing it
+                    }
+                    if (first[0] != want[0] || first[1] != want[1] || again[0] != first[0] || again[1] != first[1]) {
+                        failure.set("version " + snapshot.getVersion() + ": expected " + want[0] + "/" + want[1]
+                                + ", saw " + first[0] + "/" + first[1] + " then " + again[0] + "/" + again[1]);
+                    }
+                    verified.incrementAndGet();
+                }
+            }
+        };
+        Thread[] readers = {new Thread(reader), new Thread(reader)};
+        for (Thread t : readers) {
+            t.start();
+        }
+
+        Random random = new Random(42);
+        int next = 200;
+        for (int op = 0; op < 20_000 && failure.get() == null; op++) {
+            int choice = random.nextInt(10);
+            if (choice < 6 || live.size() < 50) {
+                Student s = live.get(random.nextInt(live.size()));
+                int gpa = random.nextInt(401);
+                totals[0] += gpa - s.getGpaHundredths();
+                s.setGpa(gpa / 100.0);
+            } else if (choice < 8) {
+                Student s = new Student("S" + next++, 20, 3.0);
+                roster.addStudent(s);
+                live.add(s);
+                totals[0] += 300;
+                totals[1]++;
+            } else {
+                Student s = live.remove(random.nextInt(live.size()));
+                roster.removeStudent(s.getName());
+                totals[0] -= s.getGpaHundredths();
+                totals[1]--;
+            }
+            expected.put(versions.getVersion(), totals.clone());
+        }
+        done.set(true);
+        for (Thread t : readers) {
+            t.join(30_000);
+        }
+
+        assertNull(failure.get());
+        assertTrue(verified.get() > 0);
+        assertEquals(0, versions.getPinnedCount());
+        assertEquals(0, versions.getRetainedImages());
+    }
+
+    // GPA total in hundredths and row count, with a pause per row so writes interleave
+    private static long[] scan(RosterSnapshot snapshot) {
+        long total = 0;
+        long count = 0;
+        for (Student s : snapshot) {
+            total += s.getGpaHundredths();
+            count++;
+            if (count % 16 == 0) {
+                Thread.yield();
+            }
+        }
+        return new long[] {total, count};
+    }
+}
@@ -0,0 +1,67 @@
+package interview;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+/**
+ * Unit tests for StudentFormatter and PageRequest parsing
+ */
+public class StudentFormatterTest {
+
+    @Test
+    public void testMatchesToString() {
+        Student student = new Student("Alice", 20, 3.8);
+        GraduateStudent grad = new GraduateStudent("Diana", 26, 3.85,
+            "Machine Learning in Healthcare", "Dr. Johnson", true);
+
+        StringWriter buffer = new StringWriter();
+        PrintWriter out = new PrintWriter(buffer);
+        StudentFormatter formatter = new StudentFormatter();
+        formatter.println(student, out);
+        formatter.println(grad, out);
+        out.flush();
+
+        String expected = student + System.lineSeparator() + grad + System.lineSeparator();
+        assertEquals(expected, buffer.toString());
+    }
+
+    @Test
+    public void testGrowsBufferForLongRows() {
+        String longTitle = "T".repeat(500);
+        GraduateStudent grad = new GraduateStudent("Eve", 30, 3.0, longTitle, "Dr. X", false);
+
+        StringWriter buffer = new StringWriter();
+        PrintWriter out = new PrintWriter(buffer);
+        new StudentFormatter().println(grad, out);
+        out.flush();
+
+        assertEquals(grad + System.lineSeparator(), buffer.toString());
+    }
+
+    @Test
+    public void testParsePageFlags() {
+        String[] args = {"list", "--limit", "10", "--offset", "5", "--after", "Bob"};
+        PageRequest page = PageRequest.parse(args, 1);
+        assertEquals(10, page.getLimit());
+        assertEquals(5, page.getOffset());
+        assertEquals("Bob", page.getAfter());
+    }
+
+    @Test
+    public void testParseWithoutFlagsIsAll() {
+        assertSame(PageRequest.ALL, PageRequest.parse(new String[] {"list"}, 1));
+    }
+
+    @Test
+    public void testParseRejectsBadFlags() {
+        assertThrows(IllegalArgumentException.class,
+            () -> PageRequest.parse(new String[] {"list", "--limit"}, 1));
+        assertThrows(IllegalArgumentException.class,
+            () -> PageRequest.parse(new String[] {"list", "--bogus", "1"}, 1));
+        assertThrows(IllegalArgumentException.class,
+            () -> PageRequest.parse(new String[] {"list", "--limit", "-1"}, 1));
+    }
+}
@@ -7,7 +7,9 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Unit tests for StudentManager
@@ -115,6 +117,218 @@ public class StudentManagerTest {
         assertNotNull(newManager.findByName("Alice"));
     }
 
+    @Test
+    public void testForEachStudentWithLimitAndOffset() {
+        List<Student> page = new ArrayList<>();
+        int shown = manager.forEachStudent(new PageRequest(1, 1, null), page::add);
+        assertEquals(1, shown);
+        assertEquals(bob, page.get(0));
+    }
+
+    @Test
+    public void testForEachStudentAfterCursor() {
+        List<Student> page = new ArrayList<>();
+        manager.forEachStudent(new PageRequest(0, 10, "alice"), page::add);
+        assertEquals(List.of(bob, charlie), page);
+    }
+
+    @Test
+    public void testForEachStudentUnknownCursor() {
+        assertThrows(IllegalArgumentException.class,
+            () -> manager.forEachStudent(new PageRequest(0, 10, "Nobody"), s -> { }));
+    }
+
+    @Test
+    public void testForEachHonorRollStudentPage() {
+        List<Student> page = new ArrayList<>();
+        manager.forEachHonorRollStudent(new PageRequest(1, 5, null), page::add);
+        assertEquals(List.of(charlie), page);
+    }
+
+    @Test
+    public void testForEachSortedByGpaTopK() {
+        manager.addStudent(new Student("Dave", 22, 3.8));
+        List<Student> page = new ArrayList<>();
+        manager.forEachSortedByGpa(new PageRequest(0, 2, null), page::add);
+        assertEquals(2, page.size());
+        assertEquals(charlie, page.get(0));
+        assertEquals(alice, page.get(1));
+    }
+
+    @Test
+    public void testForEachSortedByGpaPagesWithCursor() {
+        manager.addStudent(new Student("Dave", 22, 3.8));
+        List<Student> all = new ArrayList<>();
+        manager.forEachSortedByGpa(PageRequest.ALL, all::add);
+
+        List<Student> paged = new ArrayList<>();
+        String after = null;
+        while (true) {
+            List<Student> page = new ArrayList<>();
+            manager.forEachSortedByGpa(new PageRequest(0, 1, after), page::add);
+            if (page.isEmpty()) {
+                break;
+            }
+            paged.addAll(page);
+            after = page.get(0).getName();
+        }
+        assertEquals(all, paged);
+        assertEquals("Dave", all.get(2).getName());
+    }
+
+    @Test
+    public void testGroupByStanding() {
+        manager.addStudent(new Student("Dave", 22, 2.5));
+        manager.addStudent(new Student("Eve", 23, 1.0));
+
+        List<GroupStats> groups = manager.groupBy(QueryField.STANDING);
+        assertEquals(3, groups.size());
+        assertEquals("Academic Warning", groups.get(0).getKey());
+        GroupStats honors = groups.get(2);
+        assertEquals("Honors", honors.getKey());
+        assertEquals(2, honors.getCount());
+        assertEquals(3.85, honors.getAverageGpa(), 1e-9);
+        assertEquals(3.8, honors.getMinGpa());
+        assertEquals(3.9, honors.getMaxGpa());
+        assertEquals(19.5, honors.getAverageAge(), 1e-9);
+        assertEquals("Good Standing", groups.get(1).getKey());
+        assertEquals(2, groups.get(1).getCount());
+    }
+
+    @Test
+    public void testGroupByAdvisorPutsUndergraduatesLast() {
+        manager.addStudent(new GraduateStudent("Diana", 26, 3.85, "ML", "Dr. Smith", true));
+        List<GroupStats> groups = manager.groupBy(QueryField.ADVISOR);
+        assertEquals("Dr. Smith", groups.get(0).getKey());
+        assertNull(groups.get(1).getKey());
+        assertEquals(3, groups.get(1).getCount());
+    }
+
+    @Test
+    public void testParallelGroupByMatchesSequential() {
+        for (int i = 0; i < 20000; i++) {
+            manager.addStudent(new Student("S" + i, 18 + i % 40, (i % 401) / 100.0));
+        }
+        for (QueryField key : new QueryField[] {QueryField.AGE, QueryField.GRADE, QueryField.HONORS}) {
+            List<GroupStats> sequential = manager.groupBy(key);
+            List<GroupStats> parallel = manager.groupBy(key, true);
+            assertEquals(sequential.size(), parallel.size());
+            for (int i = 0; i < sequential.size(); i++) {
+                assertEquals(sequential.get(i).getKey(), parallel.get(i).getKey());
+                assertEquals(sequential.get(i).getCount(), parallel.get(i).getCount());
+                assertEquals(sequential.get(i).getAverageGpa(), parallel.get(i).getAverageGpa(), 1e-9);
+                assertEquals(sequential.get(i).getMaxGpa(), parallel.get(i).getMaxGpa());
+            }
+        }
+        assertEquals(40, manager.groupBy(QueryField.AGE).size());
+    }
+
+    @Test
+    public void testRankAndPercentile() {
+        manager.addStudent(new Student("Dave", 22, 3.8));
+        // Charlie 3.9, Alice and Dave 3.8, Bob 3.2
+        assertEquals(1, manager.rank("charlie"));
+        assertEquals(2, manager.rank("Alice"));
+        assertEquals(2, manager.rank("Dave"));
+        assertEquals(4, manager.rank("Bob"));
+        assertEquals(87.5, manager.percentile("Charlie"), 1e-9);
+        assertEquals(50.0, manager.percentile("Alice"), 1e-9);
+        assertEquals(12.5, manager.percentile("Bob"), 1e-9);
+        assertEquals(-1, manager.rank("Nobody"));
+        assertTrue(Double.isNaN(manager.percentile("Nobody")));
+    }
+
+    @Test
+    public void testRankFollowsSetGpaRemoveAndRename() {
+        bob.setGpa(4.0);
+        assertEquals(1, manager.rank("Bob"));
+        assertEquals(3, manager.rank("Alice"));
+
+        manager.removeStudent("Charlie");
+        assertEquals(2, manager.rank("Alice"));
+        assertEquals(-1, manager.rank("Charlie"));
+        assertNull(manager.findByName("Charlie"));
+
+        alice.setName("Alicia");
+        assertNull(manager.findByName("Alice"));
+        assertSame(alice, manager.findByName("ALICIA"));
+        assertEquals(2, manager.rank("alicia"));
+    }
+
+    @Test
+    public void testRankAfterLoad() throws Exception {
+        manager.saveToFile("test_students.dat");
+        StudentManager loaded = new StudentManager();
+        loaded.loadFromFile("test_students.dat");
+        assertEquals(1, loaded.rank("Charlie"));
+        assertEquals(3, loaded.rank("Bob"));
+        loaded.findByName("Bob").setGpa(3.95);
+        assertEquals(1, loaded.rank("Bob"));
+    }
+
+    @Test
+    public void testAddAllKeepsIndexesCurrent() {
+        assertEquals(1, manager.query("count where not honors").getAggregate());
+        List<Student> batch = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            batch.add(new Student("S" + i, 20, i % 2 == 0 ? 3.9 : 2.0));
+        }
+        manager.addAll(batch);
+
+        assertEquals(1003, manager.getCount());
+        assertEquals(502, manager.getHonorRollStudents().size());
+        assertEquals(501, manager.query("count where not honors").getAggregate());
+        assertEquals(1, manager.rank("S0"));
+        assertNotNull(manager.findByName("s999"));
+        batch.get(1).setGpa(4.0);
+        assertEquals(1, manager.rank("S1"));
+    }
+
+    @Test
+    public void testAddAllRejectsNullsWithoutAddingAnything() {
+        List<Student> batch = new ArrayList<>();
+        batch.add(new Student("Dave", 22, 3.0));
+        batch.add(null);
+        assertThrows(NullPointerException.class, () -> manager.addAll(batch));
+        assertEquals(3, manager.getCount());
+    }
+
+    @Test
+    public void testApplyUpdates() {
+        GraduateStudent diana = new GraduateStudent("Diana", 26, 3.5, "ML", "Dr. Smith", false);
+        manager.addStudent(diana);
+        assertEquals(4, manager.rank("Bob"));
+
+        int applied = manager.applyUpdates(Stream.of(
+                StudentUpdate.gpa("bob", 4.0),
+                StudentUpdate.parse("Alice", "age", "23"),
+                StudentUpdate.phd("Diana", true),
+                StudentUpdate.rename("Charlie", "Chuck")));
+
+        assertEquals(4, applied);
+        assertEquals(4.0, bob.getGpa());
+        assertEquals(23, alice.getAge());
+        assertTrue(diana.isPhD());
+        assertEquals(1, manager.rank("Bob"));
+        assertSame(charlie, manager.findByName("chuck"));
+        assertNull(manager.findByName("Charlie"));
+        assertEquals(List.of(diana), manager.query("phd").getRows());
+        assertEquals(List.of(bob, charlie, alice, diana), manager.sortByGpa());
+    }
+
+    @Test
+    public void testApplyUpdatesIsAllOrNothing() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> manager.applyUpdates(Stream.of(
+                        StudentUpdate.gpa("Alice", 1.0),
+                        StudentUpdate.gpa("Bob", 4.5),
+                        StudentUpdate.advisor("Charlie", "Dr. Who"),
+                        StudentUpdate.age("Nobody", 30))));
+        assertTrue(e.getMessage().startsWith("3 invalid update(s)"));
+        assertEquals(3.8, alice.getGpa());
+        assertThrows(IllegalArgumentException.class, () -> StudentUpdate.parse("Alice", "height", "2"));
+    }
+
     // INTENTIONALLY FAILING TEST #1
     // Bug: Case sensitivity in findByName
     @Test